@@ -0,0 +1,8 @@
+-- One-off cleanup for databases created before the keyset event queries.
+-- spring.jpa.hibernate.ddl-auto=update creates the new conjunction_events indexes but never
+-- drops one whose @Index was removed. Run once against the primary, e.g.
+--
+--   psql -d satellite_tracker -f scripts/drop-superseded-indexes.sql
+--
+-- idx_primary_tca (primary_satellite_id, tca) is covered by idx_primary_tca_event.
+DROP INDEX IF EXISTS idx_primary_tca;
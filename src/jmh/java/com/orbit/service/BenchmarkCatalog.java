@@ -0,0 +1,244 @@
+package com.orbit.service;
+
+import com.orbit.entity.Satellite;
+import com.orbit.entity.TleData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.orekit.data.DataContext;
+import org.orekit.data.ZipJarCrawler;
+import org.orekit.propagation.analytical.tle.TLE;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared fixture of the benchmarks: the bundled {@code benchmark-catalog.3le} (1000
+ * synthetic objects, all with epoch 2026-01-01T12:00, the first one an ISS-like primary
+ * with about a hundred neighbours in its shell) and the screening services wired by hand
+ * with the defaults of {@code application.properties}, so results do not depend on the
+ * database, the clock or a Spring context.
+ */
+final class BenchmarkCatalog {
+
+    static final String RESOURCE = "benchmark-catalog.3le";
+    static final LocalDateTime EPOCH = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private static boolean orekitLoaded;
+
+    private BenchmarkCatalog() {
+    }
+
+    static synchronized void initOrekit() {
+        if (!orekitLoaded) {
+            DataContext.getDefault().getDataProvidersManager()
+                    .addProvider(new ZipJarCrawler(BenchmarkCatalog.class.getClassLoader(), "orekit-data.zip"));
+            orekitLoaded = true;
+        }
+    }
+
+    static List<TleData> load() {
+        initOrekit();
+        List<TleData> tles = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(), StandardCharsets.US_ASCII))) {
+            String name;
+            while ((name = reader.readLine()) != null) {
+                tles.add(toTleData(name.trim(), reader.readLine(), reader.readLine()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tles;
+    }
+
+    /**
+     * The catalog repeated {@code copies} times; the filters never deduplicate, so this
+     * scales the work without needing distinct objects.
+     */
+    static List<TleData> load(int copies) {
+        List<TleData> tles = load();
+        List<TleData> repeated = new ArrayList<>(tles.size() * copies);
+        for (int i = 0; i < copies; i++) {
+            repeated.addAll(tles);
+        }
+        return repeated;
+    }
+
+    /** Writes the catalog repeated {@code copies} times to a temporary 3LE file. */
+    static Path writeTemporaryFile(int copies) throws IOException {
+        Path file = Files.createTempFile("benchmark-catalog", ".3le");
+        byte[] catalog;
+        try (InputStream is = open()) {
+            catalog = is.readAllBytes();
+        }
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(file))) {
+            for (int i = 0; i < copies; i++) {
+                os.write(catalog);
+            }
+        }
+        return file;
+    }
+
+    static PropagationService propagationService() {
+        return propagationService(ValidationPolicy.Mode.SAMPLED);
+    }
+
+    static PropagationService propagationService(ValidationPolicy.Mode validationMode) {
+        initOrekit();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidationPolicy validationPolicy = new ValidationPolicy(registry, new AnalysisMetrics(registry));
+        set(validationPolicy, "mode", validationMode);
+        PropagationService propagationService = new PropagationService(validationPolicy);
+        // The catalog epoch is fixed; keep the staleness checks from depending on today's date.
+        set(propagationService, "maxTleAgeDays", Integer.MAX_VALUE);
+        return propagationService;
+    }
+
+    static SatelliteFilterService filterService() {
+        return filterService(150.0, 30.0);
+    }
+
+    static SatelliteFilterService filterService(double altitudeToleranceKm, double inclinationToleranceDeg) {
+        SatelliteFilterService filterService = new SatelliteFilterService();
+        set(filterService, "altitudeToleranceKm", altitudeToleranceKm);
+        set(filterService, "inclinationToleranceDeg", inclinationToleranceDeg);
+        return filterService;
+    }
+
+    /**
+     * A screening service with the production settings except {@code predictionDays};
+     * segment lookups go to {@code segmentStore}, which may be empty.
+     */
+    static ConjunctionScreeningService screeningService(PropagationService propagationService,
+                                                        EphemerisSegmentStore segmentStore,
+                                                        int predictionDays) {
+        return screeningService(propagationService, segmentStore, predictionDays, 30);
+    }
+
+    static ConjunctionScreeningService screeningService(PropagationService propagationService,
+                                                        EphemerisSegmentStore segmentStore,
+                                                        int predictionDays, int coarseStepSeconds) {
+        ConjunctionScreeningService screeningService =
+                new ConjunctionScreeningService(propagationService, segmentStore,
+                        new AnalysisMetrics(new SimpleMeterRegistry()));
+        set(screeningService, "predictionDays", predictionDays);
+        set(screeningService, "coarseTimeStepSeconds", coarseStepSeconds);
+        set(screeningService, "minApproachDistanceKm", 50.0);
+        set(screeningService, "fineTimeStepSeconds", 1);
+        set(screeningService, "polishTimeStepSeconds", 0.1);
+        set(screeningService, "refinementThresholdKm", 100.0);
+        return screeningService;
+    }
+
+    static EphemerisSegmentStore emptySegmentStore(PropagationService propagationService,
+                                                   SatelliteFilterService filterService) {
+        return new EphemerisSegmentStore(null, propagationService, filterService);
+    }
+
+    /**
+     * A store holding 60 s segments of {@code tles} from {@link #EPOCH} over
+     * {@code days}, written to {@code directory} the way a refresh would.
+     */
+    @SuppressWarnings("unchecked")
+    static EphemerisSegmentStore segmentStore(PropagationService propagationService,
+                                              SatelliteFilterService filterService,
+                                              List<TleData> tles, int days, Path directory) throws IOException {
+        EphemerisSegmentStore store = emptySegmentStore(propagationService, filterService);
+        set(store, "enabled", true);
+        set(store, "directory", directory);
+        Map<Integer, EphemerisSegment> segments = (Map<Integer, EphemerisSegment>) get(store, "segments");
+
+        int stepSeconds = 60;
+        int count = days * 86_400 / stepSeconds + 1;
+        long startMillis = EPOCH.toInstant(ZoneOffset.UTC).toEpochMilli();
+        for (TleData tle : tles) {
+            int key = EphemerisSegment.elementSetKey(tle.getLine1(), tle.getLine2());
+            Path file = directory.resolve(tle.getSatellite().getNoradId() + EphemerisSegment.EXTENSION);
+            EphemerisSegment.write(file, tle.getSatellite().getNoradId(), key,
+                    propagationService.createPropagator(new TLE(tle.getLine1(), tle.getLine2())),
+                    propagationService.toAbsoluteDate(EPOCH), startMillis, stepSeconds, count);
+            segments.put(tle.getSatellite().getNoradId(), EphemerisSegment.open(file, propagationService));
+        }
+        return store;
+    }
+
+    /**
+     * The candidates a real analysis of {@code primary} would screen: coarse filter,
+     * RAAN refinement at the default 45 degrees and co-location removal.
+     */
+    static List<TleData> candidates(SatelliteFilterService filterService, TleData primary, List<TleData> catalog) {
+        return candidates(filterService, primary, catalog, 45.0);
+    }
+
+    /** As {@link #candidates(SatelliteFilterService, TleData, List)}; a NaN tolerance skips the RAAN step. */
+    static List<TleData> candidates(SatelliteFilterService filterService, TleData primary, List<TleData> catalog,
+                                    double raanToleranceDeg) {
+        List<TleData> candidates = filterService.filterCandidates(primary, catalog);
+        if (!Double.isNaN(raanToleranceDeg)) {
+            candidates = filterService.refineByRaan(primary, candidates, raanToleranceDeg);
+        }
+        return Collections.unmodifiableList(filterService.filterOutCoLocated(primary, candidates));
+    }
+
+    private static InputStream open() {
+        InputStream is = BenchmarkCatalog.class.getClassLoader().getResourceAsStream(RESOURCE);
+        if (is == null) {
+            throw new IllegalStateException(RESOURCE + " not found on the benchmark classpath");
+        }
+        return is;
+    }
+
+    private static TleData toTleData(String name, String line1, String line2) {
+        TLE tle = new TLE(line1, line2);
+        Satellite satellite = new Satellite();
+        satellite.setNoradId(tle.getSatelliteNumber());
+        satellite.setName(name);
+
+        TleData tleData = new TleData();
+        tleData.setSatellite(satellite);
+        tleData.setLine1(line1);
+        tleData.setLine2(line2);
+        tleData.setEpoch(EPOCH);
+        tleData.setMeanMotion(tle.getMeanMotion() * 86400.0 / (2 * Math.PI));
+        tleData.setEccentricity(tle.getE());
+        tleData.setInclination(Math.toDegrees(tle.getI()));
+        tleData.setRaan(Math.toDegrees(tle.getRaan()));
+        tleData.setArgumentOfPerigee(Math.toDegrees(tle.getPerigeeArgument()));
+        tleData.setMeanAnomaly(Math.toDegrees(tle.getMeanAnomaly()));
+        return tleData;
+    }
+
+    /** Stands in for {@code @Value} injection. */
+    private static void set(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + fieldName + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static Object get(Object target, String fieldName) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return field.get(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot read " + fieldName + " of " + target.getClass().getSimpleName(), e);
+        }
+    }
+}
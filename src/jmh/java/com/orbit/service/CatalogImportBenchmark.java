@@ -0,0 +1,75 @@
+package com.orbit.service;
+
+import com.orbit.dto.SpaceTrackTleDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * The two passes of a catalog file import over a 3LE file of {@code records} element
+ * sets: the index scan alone, and scan plus materializing every record, which is the
+ * upper bound of the read pass (a history file normally only reads the latest epochs).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogImportBenchmark {
+
+    @Param({"100000"})
+    public int records;
+
+    private final CatalogFileReader reader = new TleTextFileReader();
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = BenchmarkCatalog.writeTemporaryFile(records / 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long scan(Blackhole blackhole) throws IOException {
+        try (MappedFileReader mapped = new MappedFileReader(file)) {
+            return reader.scan(mapped, (noradId, epochMicros, offset) -> blackhole.consume(offset));
+        }
+    }
+
+    @Benchmark
+    public long scanAndReadAll(Blackhole blackhole) throws IOException {
+        try (MappedFileReader mapped = new MappedFileReader(file)) {
+            LongStream.Builder offsets = LongStream.builder();
+            reader.scan(mapped, (noradId, epochMicros, offset) -> offsets.add(offset));
+            long[] sorted = offsets.build().toArray();
+            long[] count = new long[1];
+            reader.read(mapped, sorted, (SpaceTrackTleDto dto) -> {
+                blackhole.consume(dto);
+                count[0]++;
+            });
+            return count[0];
+        }
+    }
+}
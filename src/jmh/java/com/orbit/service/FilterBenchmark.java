@@ -0,0 +1,56 @@
+package com.orbit.service;
+
+import com.orbit.entity.TleData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Candidate filtering of the bundled primary against the catalog, repeated
+ * {@code copies} times to reach the size of the real LEO catalog. {@code coarseFilter}
+ * is {@link SatelliteFilterService#filterCandidates} alone; {@code candidatePipeline}
+ * adds the RAAN and co-location passes as an analysis runs them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+
+    @Param({"1", "30"})
+    public int copies;
+
+    private SatelliteFilterService filterService;
+    private TleData primary;
+    private List<TleData> catalog;
+
+    @Setup
+    public void setUp() {
+        filterService = BenchmarkCatalog.filterService();
+        catalog = BenchmarkCatalog.load(copies);
+        primary = catalog.get(0);
+    }
+
+    @Benchmark
+    public List<TleData> coarseFilter() {
+        return filterService.filterCandidates(primary, catalog);
+    }
+
+    @Benchmark
+    public List<TleData> candidatePipeline() {
+        return BenchmarkCatalog.candidates(filterService, primary, catalog);
+    }
+}
@@ -0,0 +1,75 @@
+package com.orbit.service;
+
+import com.orbit.entity.TleData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one SGP4 step as the screening loops take it, for a LEO object and for a
+ * geostationary one under each validation mode, and of the date conversion done for
+ * every screening window. Each call advances the date by the coarse step so that
+ * nothing can be cached between invocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropagationBenchmark {
+
+    private static final double STEP_SECONDS = 30.0;
+    private static final long STEPS_PER_WEEK = 7 * 86_400 / 30;
+    /** Index of a geostationary object in the bundled catalog. */
+    private static final int GEO_INDEX = 23;
+
+    /** {@code geo} is outside the LEO speed band that propagation validates against. */
+    @Param({"leo", "geo"})
+    public String orbit;
+
+    @Param({"OFF", "SAMPLED", "STRICT"})
+    public ValidationPolicy.Mode validation;
+
+    private PropagationService propagationService;
+    private final ValidationPolicy.Tally tally = new ValidationPolicy.Tally();
+    private TLEPropagator propagator;
+    private AbsoluteDate start;
+    private long step;
+
+    @Setup
+    public void setUp() {
+        propagationService = BenchmarkCatalog.propagationService(validation);
+        TleData tle = BenchmarkCatalog.load().get("geo".equals(orbit) ? GEO_INDEX : 0);
+        propagator = propagationService.createPropagator(new TLE(tle.getLine1(), tle.getLine2()));
+        start = propagationService.toAbsoluteDate(BenchmarkCatalog.EPOCH);
+    }
+
+    @Benchmark
+    public PVCoordinates propagateToPV() {
+        step = (step + 1) % STEPS_PER_WEEK;
+        return propagationService.propagateToPV(propagator, start.shiftedBy(step * STEP_SECONDS), tally);
+    }
+
+    @Benchmark
+    public AbsoluteDate toAbsoluteDate() {
+        step = (step + 1) % STEPS_PER_WEEK;
+        LocalDateTime dateTime = BenchmarkCatalog.EPOCH.plusSeconds(step * (long) STEP_SECONDS);
+        return propagationService.toAbsoluteDate(dateTime);
+    }
+}
@@ -0,0 +1,134 @@
+package com.orbit.service;
+
+import com.orbit.dto.ConjunctionResult;
+import com.orbit.entity.TleData;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ground truth for {@link ScreeningAccuracyHarness}: screens a pair by propagating both
+ * objects with SGP4 at a small fixed step over the whole window, with no candidate
+ * filtering and no coarse-to-fine shortcuts, then narrows every sampled local minimum of
+ * the separation down to a millisecond by golden-section search. The closest of those
+ * minima is the pair's conjunction, judged by the same rules as
+ * {@link ConjunctionScreeningService}: a miss distance within
+ * {@code conjunction.min.distance.km} and a relative velocity of at least 0.5 m/s.
+ */
+final class ReferenceScreener {
+
+    private static final double TCA_TOLERANCE_SECONDS = 1e-3;
+    private static final double INVERSE_GOLDEN_RATIO = (Math.sqrt(5) - 1) / 2;
+    private static final double MIN_RELATIVE_VELOCITY_MS = 0.5;
+    private static final double EARTH_RADIUS_KM = 6378.137;
+
+    private final PropagationService propagationService;
+    private final double stepSeconds;
+    private final double minDistanceKm;
+    private final int predictionDays;
+    private long propagations;
+
+    ReferenceScreener(PropagationService propagationService, double stepSeconds, double minDistanceKm,
+                      int predictionDays) {
+        this.propagationService = propagationService;
+        this.stepSeconds = stepSeconds;
+        this.minDistanceKm = minDistanceKm;
+        this.predictionDays = predictionDays;
+    }
+
+    long propagations() {
+        return propagations;
+    }
+
+    /** The pair's conjunction, or null if it has none (or cannot be propagated). */
+    ConjunctionResult screen(TleData primary, TleData secondary, LocalDateTime epoch) {
+        TLEPropagator primaryProp = propagationService.createPropagator(new TLE(primary.getLine1(), primary.getLine2()));
+        TLEPropagator secondaryProp = propagationService.createPropagator(new TLE(secondary.getLine1(), secondary.getLine2()));
+        AbsoluteDate start = propagationService.toAbsoluteDate(epoch);
+        double span = predictionDays * 86_400.0;
+        int steps = (int) Math.ceil(span / stepSeconds);
+
+        double closestDistance = Double.POSITIVE_INFINITY;
+        double closestOffset = Double.NaN;
+        try {
+            double previous = Double.POSITIVE_INFINITY;
+            double current = distance(primaryProp, secondaryProp, start, 0);
+            for (int i = 1; i <= steps + 1; i++) {
+                double next = i <= steps
+                        ? distance(primaryProp, secondaryProp, start, Math.min(i * stepSeconds, span))
+                        : Double.POSITIVE_INFINITY;
+                if (current <= previous && current <= next) {
+                    double[] minimum = goldenSection(primaryProp, secondaryProp, start,
+                            Math.max(0, (i - 2) * stepSeconds), Math.min(span, i * stepSeconds));
+                    if (minimum[1] < closestDistance) {
+                        closestOffset = minimum[0];
+                        closestDistance = minimum[1];
+                    }
+                }
+                previous = current;
+                current = next;
+            }
+        } catch (RuntimeException e) {
+            return null;
+        }
+
+        if (closestDistance > minDistanceKm * 1000) {
+            return null;
+        }
+        AbsoluteDate tca = start.shiftedBy(closestOffset);
+        PVCoordinates primaryPv = primaryProp.propagate(tca).getPVCoordinates(propagationService.getFrame());
+        PVCoordinates secondaryPv = secondaryProp.propagate(tca).getPVCoordinates(propagationService.getFrame());
+        double relativeVelocity = Vector3D.distance(primaryPv.getVelocity(), secondaryPv.getVelocity());
+        if (relativeVelocity < MIN_RELATIVE_VELOCITY_MS) {
+            return null;
+        }
+        return new ConjunctionResult(
+                primary.getSatellite().getNoradId(),
+                secondary.getSatellite().getNoradId(),
+                propagationService.toLocalDateTime(tca),
+                closestDistance,
+                relativeVelocity,
+                primaryPv.getPosition().getNorm() / 1000.0 - EARTH_RADIUS_KM,
+                secondaryPv.getPosition().getNorm() / 1000.0 - EARTH_RADIUS_KM);
+    }
+
+    /** Offset and distance of the minimum in {@code [from, to]}, which must bracket a single one. */
+    private double[] goldenSection(TLEPropagator primaryProp, TLEPropagator secondaryProp, AbsoluteDate start,
+                                   double from, double to) {
+        double a = from;
+        double b = to;
+        double c = b - INVERSE_GOLDEN_RATIO * (b - a);
+        double d = a + INVERSE_GOLDEN_RATIO * (b - a);
+        double fc = distance(primaryProp, secondaryProp, start, c);
+        double fd = distance(primaryProp, secondaryProp, start, d);
+        while (b - a > TCA_TOLERANCE_SECONDS) {
+            if (fc < fd) {
+                b = d;
+                d = c;
+                fd = fc;
+                c = b - INVERSE_GOLDEN_RATIO * (b - a);
+                fc = distance(primaryProp, secondaryProp, start, c);
+            } else {
+                a = c;
+                c = d;
+                fc = fd;
+                d = a + INVERSE_GOLDEN_RATIO * (b - a);
+                fd = distance(primaryProp, secondaryProp, start, d);
+            }
+        }
+        double offset = (a + b) / 2;
+        return new double[] {offset, distance(primaryProp, secondaryProp, start, offset)};
+    }
+
+    private double distance(TLEPropagator primaryProp, TLEPropagator secondaryProp, AbsoluteDate start, double offset) {
+        AbsoluteDate date = start.shiftedBy(offset);
+        propagations += 2;
+        return Vector3D.distance(
+                primaryProp.propagate(date).getPVCoordinates(propagationService.getFrame()).getPosition(),
+                secondaryProp.propagate(date).getPVCoordinates(propagationService.getFrame()).getPosition());
+    }
+}
@@ -0,0 +1,276 @@
+package com.orbit.service;
+
+import com.orbit.dto.ConjunctionResult;
+import com.orbit.entity.TleData;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Safety gate for screening performance work: screens primaries of the bundled benchmark
+ * catalog with the {@link ReferenceScreener} and then with each configuration below, and
+ * reports per configuration the speedup over the reference next to the conjunctions it
+ * missed (dropped by a filter or not found by the screening), the ones it reported that
+ * the reference does not have, and its TCA and miss-distance errors on the rest.
+ *
+ * <pre>
+ * gradle screeningAccuracy [-Paccuracy.args="--days 1 --primaries 0,1 --reference-step 5
+ *     --max-missed 0 --max-tca-error 0.5 --max-miss-error 100"]
+ * </pre>
+ *
+ * Gated configurations (the ones production runs) that exceed a limit fail the run with
+ * exit status 1; the others are reported only. Results also go to
+ * build/results/accuracy/results.json. Timings are single runs after the reference has
+ * warmed up SGP4, not JMH measurements.
+ */
+public final class ScreeningAccuracyHarness {
+
+    private static final double MIN_DISTANCE_KM = 50.0;
+    /** A TCA further than this from the reference's is another close approach of the pair. */
+    private static final double OTHER_MINIMUM_SECONDS = 60.0;
+
+    record Configuration(String name, int coarseStepSeconds, boolean filtered, double altitudeToleranceKm,
+                         double inclinationToleranceDeg, double raanToleranceDeg, boolean segments,
+                         boolean gated) {
+    }
+
+    private static final List<Configuration> CONFIGURATIONS = List.of(
+            new Configuration("production", 30, true, 150.0, 30.0, 45.0, false, true),
+            new Configuration("production-segments", 30, true, 150.0, 30.0, 45.0, true, true),
+            new Configuration("unfiltered", 30, false, 0, 0, Double.NaN, false, false),
+            new Configuration("no-raan-filter", 30, true, 150.0, 30.0, Double.NaN, false, false),
+            new Configuration("coarse-60s", 60, true, 150.0, 30.0, 45.0, false, false),
+            new Configuration("coarse-120s", 120, true, 150.0, 30.0, 45.0, false, false),
+            new Configuration("tight-filters", 30, true, 50.0, 10.0, 20.0, false, false)
+    );
+
+    private ScreeningAccuracyHarness() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int days = 1;
+        int[] primaries = {0};
+        double referenceStep = 5.0;
+        int maxMissed = 0;
+        double maxTcaError = 0.5;
+        double maxMissError = 100.0;
+        Path results = Path.of("build", "results", "accuracy", "results.json");
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--days" -> days = Integer.parseInt(args[++i]);
+                case "--primaries" -> primaries = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+                case "--reference-step" -> referenceStep = Double.parseDouble(args[++i]);
+                case "--max-missed" -> maxMissed = Integer.parseInt(args[++i]);
+                case "--max-tca-error" -> maxTcaError = Double.parseDouble(args[++i]);
+                case "--max-miss-error" -> maxMissError = Double.parseDouble(args[++i]);
+                case "--results" -> results = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        PropagationService propagationService = BenchmarkCatalog.propagationService(ValidationPolicy.Mode.OFF);
+        List<TleData> catalog = BenchmarkCatalog.load();
+        List<TleData> primaryTles = Arrays.stream(primaries).mapToObj(catalog::get).toList();
+
+        ReferenceScreener reference = new ReferenceScreener(propagationService, referenceStep, MIN_DISTANCE_KM, days);
+        Map<String, ConjunctionResult> expected = new HashMap<>();
+        long referenceStarted = System.nanoTime();
+        for (TleData primary : primaryTles) {
+            for (TleData secondary : catalog) {
+                if (secondary != primary) {
+                    ConjunctionResult result = reference.screen(primary, secondary, BenchmarkCatalog.EPOCH);
+                    if (result != null) {
+                        expected.put(pairKey(result), result);
+                    }
+                }
+            }
+        }
+        long referenceMs = (System.nanoTime() - referenceStarted) / 1_000_000;
+        System.out.printf("Reference: %d primaries x %d objects over %d day(s) at %.1f s: %d conjunctions, "
+                        + "%d propagations in %d ms%n",
+                primaryTles.size(), catalog.size() - 1, days, referenceStep, expected.size(),
+                reference.propagations(), referenceMs);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode report = objectMapper.createObjectNode();
+        ObjectNode referenceNode = report.putObject("reference");
+        referenceNode.put("days", days);
+        referenceNode.put("stepSeconds", referenceStep);
+        referenceNode.put("primaries", primaryTles.size());
+        referenceNode.put("pairs", (long) primaryTles.size() * (catalog.size() - 1));
+        referenceNode.put("conjunctions", expected.size());
+        referenceNode.put("wallMs", referenceMs);
+        ArrayNode configurations = report.putArray("configurations");
+
+        System.out.printf("%n%-20s %6s %9s %8s %7s %15s %9s %17s %18s %5s%n", "configuration", "pairs", "time ms",
+                "speedup", "events", "missed filt/scr", "spurious", "TCA err max/mean", "miss err max/mean", "gate");
+        boolean failed = false;
+        for (Configuration configuration : CONFIGURATIONS) {
+            ObjectNode node = run(configuration, propagationService, catalog, primaryTles, days, expected, referenceMs,
+                    objectMapper);
+            configurations.add(node);
+            long missed = node.get("missedFiltered").asLong() + node.get("missedScreened").asLong();
+            boolean passed = missed <= maxMissed
+                    && !(node.get("maxTcaErrorSeconds").asDouble() > maxTcaError)
+                    && !(node.get("maxMissErrorMeters").asDouble() > maxMissError);
+            node.put("passed", passed);
+            failed |= configuration.gated() && !passed;
+            System.out.printf("%-20s %6d %9d %7.1fx %7d %7d/%-7d %9d %8.3f/%-8.3f %8.1f/%-9.1f %5s%n",
+                    configuration.name(), node.get("pairs").asLong(), node.get("wallMs").asLong(),
+                    node.get("speedup").asDouble(), node.get("conjunctions").asLong(),
+                    node.get("missedFiltered").asLong(), node.get("missedScreened").asLong(),
+                    node.get("spurious").asLong(),
+                    node.get("maxTcaErrorSeconds").asDouble(), node.get("meanTcaErrorSeconds").asDouble(),
+                    node.get("maxMissErrorMeters").asDouble(), node.get("meanMissErrorMeters").asDouble(),
+                    configuration.gated() ? (passed ? "pass" : "FAIL") : (passed ? "-" : "(fail)"));
+        }
+
+        Files.createDirectories(results.toAbsolutePath().getParent());
+        Files.writeString(results, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        System.out.printf("%nLimits: %d missed, %.3f s TCA error, %.1f m miss-distance error. Results written to %s%n",
+                maxMissed, maxTcaError, maxMissError, results.toAbsolutePath());
+        if (failed) {
+            System.out.println("A gated configuration exceeds the limits.");
+            System.exit(1);
+        }
+    }
+
+    private static ObjectNode run(Configuration configuration, PropagationService propagationService,
+                                  List<TleData> catalog, List<TleData> primaries, int days,
+                                  Map<String, ConjunctionResult> expected, long referenceMs,
+                                  ObjectMapper objectMapper) throws IOException {
+        SatelliteFilterService filterService = BenchmarkCatalog.filterService(
+                configuration.altitudeToleranceKm(), configuration.inclinationToleranceDeg());
+        Path segmentDirectory = null;
+        Map<String, ConjunctionResult> found = new HashMap<>();
+        Set<String> screenedPairs = new HashSet<>();
+        long pairs = 0;
+        long wallNanos = 0;
+        try {
+            EphemerisSegmentStore segmentStore = BenchmarkCatalog.emptySegmentStore(propagationService, filterService);
+            if (configuration.segments()) {
+                // Segments are written after each ingest, ahead of any analysis, so this is not timed
+                segmentDirectory = Files.createTempDirectory("accuracy-ephemeris");
+                segmentStore = BenchmarkCatalog.segmentStore(propagationService, filterService, catalog, days + 1,
+                        segmentDirectory);
+            }
+            ConjunctionScreeningService screeningService = BenchmarkCatalog.screeningService(
+                    propagationService, segmentStore, days, configuration.coarseStepSeconds());
+
+            for (TleData primary : primaries) {
+                long started = System.nanoTime();
+                List<TleData> candidates = configuration.filtered()
+                        ? BenchmarkCatalog.candidates(filterService, primary, catalog, configuration.raanToleranceDeg())
+                        : catalog.stream().filter(tle -> tle != primary).toList();
+                List<ConjunctionResult> results = screeningService.screenMultiplePairs(
+                        primary, candidates, BenchmarkCatalog.EPOCH, new ScreeningStats());
+                wallNanos += System.nanoTime() - started;
+                pairs += candidates.size();
+                for (TleData candidate : candidates) {
+                    screenedPairs.add(pairKey(primary.getSatellite().getNoradId(), candidate.getSatellite().getNoradId()));
+                }
+                for (ConjunctionResult result : results) {
+                    found.put(pairKey(result), result);
+                }
+            }
+        } finally {
+            deleteRecursively(segmentDirectory);
+        }
+
+        long missedFiltered = 0;
+        long missedScreened = 0;
+        long otherMinimum = 0;
+        double maxTcaError = 0;
+        double sumTcaError = 0;
+        double maxMissError = 0;
+        double sumMissError = 0;
+        long matched = 0;
+        ArrayNode missed = objectMapper.createArrayNode();
+        for (Map.Entry<String, ConjunctionResult> entry : expected.entrySet()) {
+            ConjunctionResult actual = found.get(entry.getKey());
+            if (actual == null) {
+                boolean filtered = !screenedPairs.contains(entry.getKey());
+                if (filtered) {
+                    missedFiltered++;
+                } else {
+                    missedScreened++;
+                }
+                ObjectNode miss = missed.addObject();
+                miss.put("pair", entry.getKey());
+                miss.put("reason", filtered ? "filtered" : "screened");
+                miss.put("tca", entry.getValue().getTca().toString());
+                miss.put("missDistanceMeters", entry.getValue().getMissDistance());
+                continue;
+            }
+            double tcaError = Math.abs(Duration.between(entry.getValue().getTca(), actual.getTca()).toNanos()) / 1e9;
+            if (tcaError > OTHER_MINIMUM_SECONDS) {
+                otherMinimum++;
+            }
+            double missError = Math.abs(entry.getValue().getMissDistance() - actual.getMissDistance());
+            matched++;
+            maxTcaError = Math.max(maxTcaError, tcaError);
+            sumTcaError += tcaError;
+            maxMissError = Math.max(maxMissError, missError);
+            sumMissError += missError;
+        }
+        long spurious = found.keySet().stream().filter(key -> !expected.containsKey(key)).count();
+
+        long wallMs = Math.max(1, wallNanos / 1_000_000);
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("name", configuration.name());
+        node.put("coarseStepSeconds", configuration.coarseStepSeconds());
+        node.put("filtered", configuration.filtered());
+        node.put("altitudeToleranceKm", configuration.altitudeToleranceKm());
+        node.put("inclinationToleranceDeg", configuration.inclinationToleranceDeg());
+        node.put("raanToleranceDeg", Double.isNaN(configuration.raanToleranceDeg()) ? null : configuration.raanToleranceDeg());
+        node.put("segments", configuration.segments());
+        node.put("gated", configuration.gated());
+        node.put("pairs", pairs);
+        node.put("wallMs", wallMs);
+        node.put("speedup", (double) referenceMs / wallMs);
+        node.put("conjunctions", found.size());
+        node.put("matched", matched);
+        node.put("missedFiltered", missedFiltered);
+        node.put("missedScreened", missedScreened);
+        node.put("spurious", spurious);
+        node.put("otherMinimum", otherMinimum);
+        node.put("maxTcaErrorSeconds", maxTcaError);
+        node.put("meanTcaErrorSeconds", matched > 0 ? sumTcaError / matched : 0);
+        node.put("maxMissErrorMeters", maxMissError);
+        node.put("meanMissErrorMeters", matched > 0 ? sumMissError / matched : 0);
+        node.set("missed", missed);
+        return node;
+    }
+
+    private static String pairKey(ConjunctionResult result) {
+        return pairKey(result.getPrimaryNoradId(), result.getSecondaryNoradId());
+    }
+
+    private static String pairKey(Integer primaryNoradId, Integer secondaryNoradId) {
+        return primaryNoradId + "-" + secondaryNoradId;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
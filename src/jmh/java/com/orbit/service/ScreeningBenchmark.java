@@ -0,0 +1,111 @@
+package com.orbit.service;
+
+import com.orbit.dto.ConjunctionResult;
+import com.orbit.entity.TleData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.orekit.propagation.analytical.tle.TLE;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Screening of the bundled catalog's primary: one pair (coarse scan plus fine and
+ * polish refinement, the closest pair of the catalog so refinement always runs) and
+ * the full candidate list a real analysis would screen. {@code coarse=segments}
+ * screens against precomputed ephemeris segments as after an ingest, {@code sgp4}
+ * propagates every coarse step as when no segment covers the window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ScreeningBenchmark {
+
+    @Param({"sgp4", "segments"})
+    public String coarse;
+
+    @Param({"1"})
+    public int predictionDays;
+
+    private ConjunctionScreeningService screeningService;
+    private TleData primary;
+    private TleData closestSecondary;
+    private List<TleData> candidates;
+    private Path segmentDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        PropagationService propagationService = BenchmarkCatalog.propagationService();
+        SatelliteFilterService filterService = BenchmarkCatalog.filterService();
+        List<TleData> catalog = BenchmarkCatalog.load();
+        primary = catalog.get(0);
+        candidates = BenchmarkCatalog.candidates(filterService, primary, catalog);
+
+        EphemerisSegmentStore segmentStore;
+        if ("segments".equals(coarse)) {
+            segmentDirectory = Files.createTempDirectory("benchmark-ephemeris");
+            List<TleData> screened = new ArrayList<>(candidates);
+            screened.add(primary);
+            segmentStore = BenchmarkCatalog.segmentStore(propagationService, filterService, screened,
+                    predictionDays + 1, segmentDirectory);
+        } else {
+            segmentStore = BenchmarkCatalog.emptySegmentStore(propagationService, filterService);
+        }
+        screeningService = BenchmarkCatalog.screeningService(propagationService, segmentStore, predictionDays);
+
+        closestSecondary = screeningService.screenMultiplePairs(primary, candidates, BenchmarkCatalog.EPOCH)
+                .stream()
+                .min(Comparator.comparingDouble(ConjunctionResult::getMissDistance))
+                .map(result -> candidates.stream()
+                        .filter(tle -> tle.getSatellite().getNoradId().equals(result.getSecondaryNoradId()))
+                        .findFirst().orElseThrow())
+                .orElseThrow(() -> new IllegalStateException("Benchmark catalog produced no conjunction"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (segmentDirectory != null) {
+            try (Stream<Path> files = Files.walk(segmentDirectory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /** Always through SGP4: the public single-pair entry point does not use segments. */
+    @Benchmark
+    public ConjunctionResult singlePair() {
+        return screeningService.screenPair(
+                new TLE(primary.getLine1(), primary.getLine2()),
+                new TLE(closestSecondary.getLine1(), closestSecondary.getLine2()),
+                primary.getSatellite().getNoradId(),
+                closestSecondary.getSatellite().getNoradId(),
+                BenchmarkCatalog.EPOCH);
+    }
+
+    @Benchmark
+    public List<ConjunctionResult> allCandidates() {
+        return screeningService.screenMultiplePairs(primary, candidates, BenchmarkCatalog.EPOCH);
+    }
+}
@@ -0,0 +1,349 @@
+package com.orbit.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test against a {@link SpaceTrackStub}. For each catalog size it
+ * generates a {@link SyntheticCatalog}, starts the boot jar pointed at the stub, runs a
+ * full ingest ({@code POST /api/tle/fetch/all?full=true}) and one conjunction analysis of
+ * the synthetic primary, and samples the application's heap (actuator
+ * {@code jvm.memory.used}, {@code jvm.gc.live.data.size}) and resident set size
+ * throughout. Results go to stdout as a table and to a JSON file.
+ *
+ * <pre>
+ * LoadTestHarness &lt;boot jar&gt; [--sizes 30000,100000,300000] [--port 8080]
+ *     [--results file.json] [--jvm-args "-Xmx4g ..."] [-- application args...]
+ * </pre>
+ *
+ * The sizes share NORAD IDs from 1 upwards, so the application must use a scratch
+ * database ({@code -- --spring.datasource.url=...}); each size then updates the element
+ * sets the previous one wrote and adds the rest. Unless overridden after {@code --}, the
+ * application runs with one prediction day, without ephemeris segments (8 days of them
+ * for 300k objects do not fit on a normal disk) and without its schedulers.
+ */
+public final class LoadTestHarness {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(5);
+    private static final long SAMPLE_INTERVAL_MS = 250;
+    private static final double MB = 1024.0 * 1024.0;
+
+    private final Path bootJar;
+    private final int port;
+    private final List<String> jvmArgs;
+    private final List<String> applicationArgs;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private LoadTestHarness(Path bootJar, int port, List<String> jvmArgs, List<String> applicationArgs) {
+        this.bootJar = bootJar;
+        this.port = port;
+        this.jvmArgs = jvmArgs;
+        this.applicationArgs = applicationArgs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: LoadTestHarness <boot jar> [--sizes 30000,100000,300000] [--port 8080] "
+                    + "[--results file.json] [--jvm-args \"...\"] [-- application args...]");
+            System.exit(2);
+        }
+        Path bootJar = Path.of(args[0]);
+        int[] sizes = {30_000, 100_000, 300_000};
+        int port = 8080;
+        Path results = Path.of("build", "results", "loadtest", "results.json");
+        List<String> jvmArgs = new ArrayList<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sizes" -> sizes = Arrays.stream(args[++i].split(","))
+                        .map(String::trim).filter(size -> !size.isEmpty()).mapToInt(Integer::parseInt).toArray();
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--results" -> results = Path.of(args[++i]);
+                case "--jvm-args" -> Arrays.stream(args[++i].trim().split("\\s+"))
+                        .filter(arg -> !arg.isEmpty()).forEach(jvmArgs::add);
+                case "--" -> {
+                    applicationArgs.addAll(Arrays.asList(args).subList(i + 1, args.length));
+                    i = args.length;
+                }
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        LoadTestHarness harness = new LoadTestHarness(bootJar, port, jvmArgs, applicationArgs);
+        ObjectMapper objectMapper = harness.objectMapper;
+        ArrayNode runs = objectMapper.createArrayNode();
+        for (int size : sizes) {
+            ObjectNode run = harness.run(size);
+            runs.add(run);
+            Files.createDirectories(results.toAbsolutePath().getParent());
+            Files.writeString(results, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(runs));
+        }
+        printTable(runs);
+        System.out.println("Results written to " + results.toAbsolutePath());
+    }
+
+    private ObjectNode run(int objects) throws Exception {
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("objects", objects);
+
+        long generationStarted = System.nanoTime();
+        List<SyntheticCatalog.Entry> catalog = SyntheticCatalog.generate(objects, 1, SyntheticCatalog.DEFAULT_SEED,
+                LocalDateTime.now(ZoneOffset.UTC));
+        int primaryNoradId = catalog.get(0).noradId();
+        log("%d objects generated in %d ms", objects, elapsedMs(generationStarted));
+
+        Path logFile = Files.createTempFile("orbit-loadtest-" + objects + "-", ".log");
+        try (SpaceTrackStub stub = SpaceTrackStub.start(catalog, 0)) {
+            Process application = startApplication(stub.baseUrl(), logFile);
+            try {
+                long startupMs = awaitStartup(application, logFile);
+                result.put("startupMs", startupMs);
+                log("application up in %d ms (log: %s)", startupMs, logFile);
+
+                try (ResourceSampler sampler = new ResourceSampler(application.pid())) {
+                    sampler.phase("ingest");
+                    long ingestStarted = System.nanoTime();
+                    JsonNode ingest = post("/api/tle/fetch/all?full=true");
+                    long ingestMs = elapsedMs(ingestStarted);
+                    JsonNode report = ingest.path("report");
+                    ObjectNode ingestResult = result.putObject("ingest");
+                    ingestResult.put("wallMs", ingestMs);
+                    ingestResult.put("recordsRead", report.path("recordsRead").asLong());
+                    ingestResult.put("rowsWritten", report.path("satellitesCreated").asLong()
+                            + report.path("tlesCreated").asLong() + report.path("tlesUpdated").asLong());
+                    ingestResult.put("recordsPerSecond", report.path("recordsRead").asLong() * 1000.0 / Math.max(1, ingestMs));
+                    ingestResult.set("report", report);
+                    ingestResult.put("stubQueries", stub.queries());
+                    log("ingest: %s", report);
+
+                    sampler.phase("analysis");
+                    long analysisStarted = System.nanoTime();
+                    JsonNode analysis = post("/api/conjunction/analyze/" + primaryNoradId);
+                    long analysisMs = elapsedMs(analysisStarted);
+                    ObjectNode analysisResult = result.putObject("analysis");
+                    analysisResult.put("wallMs", analysisMs);
+                    analysisResult.put("events", analysis.path("totalEvents").asLong());
+                    JsonNode runs = get("/api/conjunction/runs?noradId=" + primaryNoradId + "&limit=1").path("runs");
+                    analysisResult.set("run", runs.isEmpty() ? null : runs.get(0));
+                    log("analysis: %s in %d ms", analysis.path("message").asString(), analysisMs);
+
+                    sampler.phase("done");
+                    result.set("resources", sampler.summary(objectMapper));
+                    result.put("liveHeapMb", metric("jvm.gc.live.data.size", null) / MB);
+                }
+            } finally {
+                stopApplication(application);
+            }
+        }
+        return result;
+    }
+
+    private Process startApplication(String stubUrl, Path logFile) throws IOException {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("server.port", String.valueOf(port));
+        defaults.put("spacetrack.username", "loadtest");
+        defaults.put("spacetrack.password", "loadtest");
+        defaults.put("tle.update.enabled", "false");
+        defaults.put("conjunction.analysis.enabled", "false");
+        defaults.put("warmup.screening.enabled", "false");
+        defaults.put("ephemeris.enabled", "false");
+        defaults.put("conjunction.prediction.days", "1");
+        defaults.put("management.endpoints.web.exposure.include", "health,metrics");
+        for (String arg : applicationArgs) {
+            int equals = arg.indexOf('=');
+            if (arg.startsWith("--") && equals > 2) {
+                defaults.remove(arg.substring(2, equals));
+            }
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(bootJar.toAbsolutePath().toString());
+        command.add("--spacetrack.base-url=" + stubUrl);
+        defaults.forEach((name, value) -> command.add("--" + name + "=" + value));
+        command.addAll(applicationArgs);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+    }
+
+    private static long awaitStartup(Process application, Path logFile) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        while (System.nanoTime() - started < STARTUP_TIMEOUT.toNanos()) {
+            String log = Files.readString(logFile);
+            if (log.contains("Started OrbitApplication")) {
+                return elapsedMs(started);
+            }
+            if (log.contains("APPLICATION FAILED") || !application.isAlive()) {
+                throw new IllegalStateException("Application failed to start, see " + logFile);
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Application did not start within " + STARTUP_TIMEOUT + ", see " + logFile);
+    }
+
+    private static void stopApplication(Process application) throws InterruptedException {
+        application.destroy();
+        if (!application.waitFor(60, TimeUnit.SECONDS)) {
+            application.destroyForcibly().waitFor();
+        }
+    }
+
+    private JsonNode post(String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.noBody()).build());
+    }
+
+    private JsonNode get(String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri(path)).GET().build());
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + port + path);
+    }
+
+    /** Sum of an actuator metric's VALUE measurement, optionally narrowed by one tag. */
+    private double metric(String name, String tag) throws IOException, InterruptedException {
+        String path = "/actuator/metrics/" + name + (tag != null ? "?tag=" + tag : "");
+        for (JsonNode measurement : get(path).path("measurements")) {
+            if ("VALUE".equals(measurement.path("statistic").asString())) {
+                return measurement.path("value").asDouble();
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Polls heap use over the actuator and VmRSS from {@code /proc} (Linux only) on a
+     * background thread, keeping the peak of each phase.
+     */
+    private final class ResourceSampler implements AutoCloseable {
+        private final long pid;
+        private final Map<String, double[]> peaks = new LinkedHashMap<>();
+        private final Thread thread;
+        private volatile String phase = "idle";
+        private volatile boolean running = true;
+
+        ResourceSampler(long pid) {
+            this.pid = pid;
+            this.thread = new Thread(this::sample, "loadtest-sampler");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void phase(String phase) {
+            this.phase = phase;
+        }
+
+        private void sample() {
+            while (running) {
+                try {
+                    double heap = metric("jvm.memory.used", "area:heap");
+                    double rss = residentSetSize();
+                    synchronized (peaks) {
+                        double[] peak = peaks.computeIfAbsent(phase, p -> new double[2]);
+                        peak[0] = Math.max(peak[0], heap);
+                        peak[1] = Math.max(peak[1], rss);
+                    }
+                    Thread.sleep(SAMPLE_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                } catch (Exception e) {
+                    // The application is busy or shutting down; try again on the next tick
+                }
+            }
+        }
+
+        private double residentSetSize() throws IOException {
+            Path status = Path.of("/proc", String.valueOf(pid), "status");
+            if (!Files.exists(status)) {
+                return Double.NaN;
+            }
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024.0;
+                }
+            }
+            return Double.NaN;
+        }
+
+        JsonNode summary(ObjectMapper objectMapper) {
+            ObjectNode summary = objectMapper.createObjectNode();
+            synchronized (peaks) {
+                peaks.forEach((phase, peak) -> {
+                    ObjectNode node = summary.putObject(phase);
+                    node.put("peakHeapMb", peak[0] / MB);
+                    node.put("peakRssMb", peak[1] / MB);
+                });
+            }
+            return summary;
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            running = false;
+            thread.interrupt();
+            thread.join();
+        }
+    }
+
+    private static void printTable(ArrayNode runs) {
+        System.out.printf("%n%9s %10s %10s %11s %10s %8s %11s %13s %13s %9s%n",
+                "objects", "ingest s", "records/s", "analysis s", "candidates", "pairs",
+                "screening s", "heap ingest", "heap analysis", "peak RSS");
+        for (JsonNode run : runs) {
+            JsonNode analysisRun = run.path("analysis").path("run");
+            JsonNode resources = run.path("resources");
+            System.out.printf("%9d %10.1f %10.0f %11.1f %10d %8d %11.1f %10.0f MB %10.0f MB %6.0f MB%n",
+                    run.path("objects").asInt(),
+                    run.path("ingest").path("wallMs").asLong() / 1000.0,
+                    run.path("ingest").path("recordsPerSecond").asDouble(),
+                    run.path("analysis").path("wallMs").asLong() / 1000.0,
+                    analysisRun.path("afterCoLocationFilter").asInt(),
+                    analysisRun.path("pairsScreened").asInt(),
+                    analysisRun.path("screeningMs").asLong() / 1000.0,
+                    resources.path("ingest").path("peakHeapMb").asDouble(),
+                    resources.path("analysis").path("peakHeapMb").asDouble(),
+                    Math.max(resources.path("ingest").path("peakRssMb").asDouble(),
+                            resources.path("analysis").path("peakRssMb").asDouble()));
+        }
+    }
+
+    private static long elapsedMs(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[loadtest] " + format + "%n", args);
+    }
+}
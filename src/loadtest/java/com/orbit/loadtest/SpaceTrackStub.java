@@ -0,0 +1,237 @@
+package com.orbit.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local stand-in for Space-Track serving a {@link SyntheticCatalog} on the two routes
+ * {@code SpaceTrackClient} uses: {@code POST /ajaxauth/login}, which hands out a session
+ * cookie, and {@code GET /basicspacedata/query/class/gp/...}, which answers with the GP
+ * JSON of the matching objects, gzip-compressed when asked to. The {@code NORAD_CAT_ID}
+ * (single ID, comma list, {@code a--b}, {@code >a}, {@code <a}), {@code EPOCH}
+ * ({@code >now-N}, {@code >timestamp}) and {@code GP_ID} ({@code >n}) predicates are
+ * honoured; the others are ignored. Entries are published in catalog order, so the
+ * GP_ID of an entry is its position plus one.
+ * Queries without the session cookie get a 401, like the real service.
+ *
+ * <p>{@code java com.orbit.loadtest.SpaceTrackStub [objects] [port]} serves until killed;
+ * point the application at it with {@code --spacetrack.base-url=http://localhost:port}.
+ */
+public final class SpaceTrackStub implements AutoCloseable {
+
+    private static final String SESSION_COOKIE = "chocolatechip=synthetic-session";
+    private static final String GP_PATH = "/basicspacedata/query/class/gp/";
+    private static final DateTimeFormatter GP_EPOCH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+
+    private final List<SyntheticCatalog.Entry> catalog;
+    /** GP JSON of each catalog entry, rendered once so serving costs no more than copying bytes. */
+    private final byte[][] records;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong logins = new AtomicLong();
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong recordsServed = new AtomicLong();
+
+    private SpaceTrackStub(List<SyntheticCatalog.Entry> catalog, int port) throws IOException {
+        this.catalog = catalog;
+        this.records = new byte[catalog.size()][];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = toJson(catalog.get(i), i + 1).getBytes(StandardCharsets.US_ASCII);
+        }
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.createContext("/ajaxauth/login", this::login);
+        server.createContext(GP_PATH, this::queryGp);
+    }
+
+    /** Starts serving {@code catalog}, which must be ordered by NORAD ID; port 0 picks a free one. */
+    public static SpaceTrackStub start(List<SyntheticCatalog.Entry> catalog, int port) throws IOException {
+        SpaceTrackStub stub = new SpaceTrackStub(catalog, port);
+        stub.server.start();
+        return stub;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long logins() {
+        return logins.get();
+    }
+
+    public long queries() {
+        return queries.get();
+    }
+
+    public long recordsServed() {
+        return recordsServed.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        logins.incrementAndGet();
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "; path=/");
+        byte[] body = "\"\"".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void queryGp(HttpExchange exchange) throws IOException {
+        String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+        if (cookie == null || !cookie.contains(SESSION_COOKIE)) {
+            exchange.sendResponseHeaders(401, -1);
+            exchange.close();
+            return;
+        }
+        queries.incrementAndGet();
+        IntPredicate selected;
+        try {
+            selected = parsePredicates(URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8)
+                    .substring(GP_PATH.length()));
+        } catch (RuntimeException e) {
+            exchange.sendResponseHeaders(400, -1);
+            exchange.close();
+            return;
+        }
+
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        if (gzip) {
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream wire = gzip ? new GZIPOutputStream(exchange.getResponseBody(), 64 * 1024) : exchange.getResponseBody();
+        long served = 0;
+        try (OutputStream body = new BufferedOutputStream(wire, 64 * 1024)) {
+            body.write('[');
+            for (int i = 0; i < records.length; i++) {
+                if (selected.test(i)) {
+                    if (served++ > 0) {
+                        body.write(',');
+                    }
+                    body.write(records[i]);
+                }
+            }
+            body.write(']');
+        }
+        recordsServed.addAndGet(served);
+    }
+
+    /** Selects the catalog positions matching the query predicates. */
+    private IntPredicate parsePredicates(String predicates) {
+        Predicate<SyntheticCatalog.Entry> selected = entry -> true;
+        long gpIdAbove = 0;
+        String[] parts = predicates.split("/");
+        for (int i = 0; i + 1 < parts.length; i += 2) {
+            String value = parts[i + 1];
+            switch (parts[i].toUpperCase(Locale.ROOT)) {
+                case "NORAD_CAT_ID" -> {
+                    IntPredicate ids = noradFilter(value);
+                    selected = selected.and(entry -> ids.test(entry.noradId()));
+                }
+                case "EPOCH" -> {
+                    LocalDateTime after = epochBound(value);
+                    selected = selected.and(entry -> entry.epoch().isAfter(after));
+                }
+                case "GP_ID" -> {
+                    if (!value.startsWith(">")) {
+                        throw new IllegalArgumentException("Unsupported GP_ID predicate: " + value);
+                    }
+                    gpIdAbove = Long.parseLong(value.substring(1));
+                }
+                default -> {
+                    // orderby, format, limit: the catalog is already ordered by NORAD ID and always JSON
+                }
+            }
+        }
+        Predicate<SyntheticCatalog.Entry> entries = selected;
+        long firstGpId = gpIdAbove + 1;
+        return index -> index + 1 >= firstGpId && entries.test(catalog.get(index));
+    }
+
+    private static IntPredicate noradFilter(String value) {
+        if (value.startsWith(">")) {
+            int lower = Integer.parseInt(value.substring(1));
+            return id -> id > lower;
+        }
+        if (value.startsWith("<")) {
+            int upper = Integer.parseInt(value.substring(1));
+            return id -> id < upper;
+        }
+        if (value.contains("--")) {
+            String[] bounds = value.split("--");
+            int lower = Integer.parseInt(bounds[0]);
+            int upper = Integer.parseInt(bounds[1]);
+            return id -> id >= lower && id <= upper;
+        }
+        int[] ids = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).sorted().toArray();
+        return id -> Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    private static LocalDateTime epochBound(String value) {
+        if (!value.startsWith(">")) {
+            throw new IllegalArgumentException("Unsupported EPOCH predicate: " + value);
+        }
+        String bound = value.substring(1);
+        if (bound.startsWith("now-")) {
+            double days = Double.parseDouble(bound.substring(4));
+            return LocalDateTime.now(ZoneOffset.UTC).minusSeconds((long) (days * 86_400));
+        }
+        return LocalDateTime.parse(bound);
+    }
+
+    private static String toJson(SyntheticCatalog.Entry entry, long gpId) {
+        return String.format(Locale.ROOT,
+                "{\"GP_ID\":\"%d\",\"NORAD_CAT_ID\":\"%d\",\"OBJECT_NAME\":\"%s\",\"OBJECT_TYPE\":\"%s\",\"CLASSIFICATION_TYPE\":\"U\","
+                        + "\"INTLDES\":\"%s\",\"EPOCH\":\"%s\",\"MEAN_MOTION\":\"%.8f\",\"ECCENTRICITY\":\"%.7f\","
+                        + "\"INCLINATION\":\"%.4f\",\"RA_OF_ASC_NODE\":\"%.4f\",\"ARG_OF_PERICENTER\":\"%.4f\","
+                        + "\"MEAN_ANOMALY\":\"%.4f\",\"ELEMENT_SET_NO\":\"999\",\"TLE_LINE1\":\"%s\",\"TLE_LINE2\":\"%s\","
+                        + "\"COUNTRY_CODE\":\"TBD\"}",
+                gpId, entry.noradId(), entry.objectName(), entry.objectType(), entry.intldes(),
+                entry.epoch().format(GP_EPOCH_FORMAT), entry.meanMotion(), entry.eccentricity(),
+                entry.inclination(), entry.raOfAscNode(), entry.argOfPericenter(), entry.meanAnomaly(),
+                entry.tleLine1(), entry.tleLine2());
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int objects = args.length > 0 ? Integer.parseInt(args[0]) : 30_000;
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 18080;
+        long started = System.nanoTime();
+        List<SyntheticCatalog.Entry> catalog = SyntheticCatalog.generate(objects, 1, SyntheticCatalog.DEFAULT_SEED,
+                LocalDateTime.now(ZoneOffset.UTC));
+        SpaceTrackStub stub = start(catalog, port);
+        System.out.printf("Serving %d synthetic objects (primary NORAD %d) on %s, generated in %d ms%n",
+                objects, catalog.get(0).noradId(), stub.baseUrl(), (System.nanoTime() - started) / 1_000_000);
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        Thread.currentThread().join();
+    }
+}
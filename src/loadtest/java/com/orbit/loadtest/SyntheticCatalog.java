@@ -0,0 +1,259 @@
+package com.orbit.loadtest;
+
+import org.hipparchus.util.FastMath;
+import org.orekit.data.DataContext;
+import org.orekit.data.ZipJarCrawler;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic GP catalog with the make-up of today's catalog scaled to any
+ * size: mega-constellation shells, sun-synchronous payloads, fragmentation clouds and a
+ * LEO background, GNSS orbits in MEO, transfer and Molniya orbits, and the GEO belt.
+ * Objects get consecutive NORAD IDs from {@code firstNoradId} (Alpha-5 above 99999) and
+ * the first one is an ISS-like primary in a well populated shell. The same seed always
+ * gives the same orbits, so a larger catalog contains the smaller ones; epochs are
+ * spread over the three days before {@code reference}.
+ *
+ * <p>{@code java com.orbit.loadtest.SyntheticCatalog <objects> <file.3le> [seed]} writes
+ * the catalog as a 3LE file for {@code POST /api/tle/import}.
+ */
+public final class SyntheticCatalog {
+
+    public static final long DEFAULT_SEED = 20260101L;
+
+    private static final double MU_KM3_S2 = 398_600.4418;
+    private static final double EARTH_RADIUS_KM = 6_378.137;
+    private static final double GEO_ALTITUDE_KM = 35_786.0;
+    private static final int EPOCH_SPREAD_MINUTES = 3 * 24 * 60;
+    private static final String PIECE_LETTERS = "ABCDEFGHJKLMNPQRSTUVWXYZ";
+
+    /** Shells of the large LEO constellations: altitude (km), inclination (deg). */
+    private static final double[][] CONSTELLATION_SHELLS = {
+            {550, 53.0}, {540, 53.2}, {570, 70.0}, {560, 97.6}, {530, 43.0},
+            {1200, 87.9}, {630, 51.9}, {610, 42.0}, {590, 33.0}
+    };
+    /** Parent orbits of large fragmentation events: altitude (km), inclination (deg). */
+    private static final double[][] FRAGMENTATION_PARENTS = {
+            {850, 98.8}, {790, 86.4}, {480, 82.6}, {780, 74.0}
+    };
+    /** GNSS constellations: altitude (km), inclination (deg). */
+    private static final double[][] NAVIGATION_ORBITS = {
+            {20_180, 55.0}, {19_130, 64.8}, {23_222, 56.0}, {21_528, 55.0}
+    };
+
+    private enum Population {
+        CONSTELLATION(0.35, "PAYLOAD"),
+        SUN_SYNCHRONOUS(0.15, "PAYLOAD"),
+        FRAGMENTATION_DEBRIS(0.15, "DEBRIS"),
+        OTHER_CONSTELLATION(0.08, "PAYLOAD"),
+        LEO_BACKGROUND(0.12, "ROCKET BODY"),
+        NAVIGATION(0.04, "PAYLOAD"),
+        TRANSFER(0.04, "ROCKET BODY"),
+        GEOSTATIONARY(0.07, "PAYLOAD");
+
+        private final double share;
+        private final String objectType;
+
+        Population(double share, String objectType) {
+            this.share = share;
+            this.objectType = objectType;
+        }
+    }
+
+    /** One element set, in the units of the GP class. */
+    public record Entry(
+            int noradId,
+            String objectName,
+            String objectType,
+            String intldes,
+            LocalDateTime epoch,
+            double meanMotion,
+            double eccentricity,
+            double inclination,
+            double raOfAscNode,
+            double argOfPericenter,
+            double meanAnomaly,
+            String tleLine1,
+            String tleLine2
+    ) {
+    }
+
+    private static boolean orekitLoaded;
+
+    private SyntheticCatalog() {
+    }
+
+    /** Registers the orekit-data.zip bundled with the application, once. */
+    public static synchronized void initOrekit() {
+        if (!orekitLoaded) {
+            DataContext.getDefault().getDataProvidersManager()
+                    .addProvider(new ZipJarCrawler(SyntheticCatalog.class.getClassLoader(), "orekit-data.zip"));
+            orekitLoaded = true;
+        }
+    }
+
+    public static List<Entry> generate(int objects, int firstNoradId, long seed, LocalDateTime reference) {
+        if (objects < 1 || firstNoradId < 1 || (long) firstNoradId + objects - 1 > 339_999) {
+            throw new IllegalArgumentException("NORAD IDs " + firstNoradId + ".." + ((long) firstNoradId + objects - 1)
+                    + " do not fit the TLE format (1..339999)");
+        }
+        initOrekit();
+        TimeScale utc = TimeScalesFactory.getUTC();
+        Random random = new Random(seed);
+        List<Entry> entries = new ArrayList<>(objects);
+        LocalDateTime latestEpoch = reference.truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < objects; i++) {
+            int noradId = firstNoradId + i;
+            Population population = i == 0 ? Population.CONSTELLATION : pick(random);
+            double[] orbit = i == 0 ? new double[] {415, 425, 51.64} : orbit(population, random);
+            LocalDateTime epoch = latestEpoch.minusMinutes(random.nextInt(EPOCH_SPREAD_MINUTES))
+                    .minusSeconds(random.nextInt(60));
+            entries.add(entry(noradId, i == 0 ? "SYNTHETIC PRIMARY" : population.name().replace('_', ' ') + " " + noradId,
+                    population, orbit, epoch, random, utc));
+        }
+        return entries;
+    }
+
+    private static Population pick(Random random) {
+        double draw = random.nextDouble();
+        for (Population population : Population.values()) {
+            draw -= population.share;
+            if (draw < 0) {
+                return population;
+            }
+        }
+        return Population.GEOSTATIONARY;
+    }
+
+    /** Perigee altitude (km), apogee altitude (km) and inclination (deg) of one object. */
+    private static double[] orbit(Population population, Random random) {
+        switch (population) {
+            case CONSTELLATION -> {
+                double[] shell = CONSTELLATION_SHELLS[random.nextInt(5)];
+                return circular(shell[0] + uniform(random, -3, 3), shell[1] + uniform(random, -0.1, 0.1), random);
+            }
+            case OTHER_CONSTELLATION -> {
+                double[] shell = CONSTELLATION_SHELLS[5 + random.nextInt(CONSTELLATION_SHELLS.length - 5)];
+                return circular(shell[0] + uniform(random, -5, 5), shell[1] + uniform(random, -0.1, 0.1), random);
+            }
+            case SUN_SYNCHRONOUS -> {
+                double altitude = uniform(random, 450, 850);
+                return circular(altitude, sunSynchronousInclination(altitude), random);
+            }
+            case FRAGMENTATION_DEBRIS -> {
+                double[] parent = FRAGMENTATION_PARENTS[random.nextInt(FRAGMENTATION_PARENTS.length)];
+                double perigee = parent[0] - FastMath.abs(random.nextGaussian()) * 60;
+                double apogee = parent[0] + FastMath.abs(random.nextGaussian()) * 120;
+                return new double[] {perigee, apogee, parent[1] + random.nextGaussian() * 0.4};
+            }
+            case LEO_BACKGROUND -> {
+                double perigee = uniform(random, 300, 1_800);
+                return new double[] {perigee, perigee + uniform(random, 0, 300), uniform(random, 0, 100)};
+            }
+            case NAVIGATION -> {
+                double[] constellation = NAVIGATION_ORBITS[random.nextInt(NAVIGATION_ORBITS.length)];
+                return circular(constellation[0] + uniform(random, -50, 50), constellation[1] + uniform(random, -1, 1), random);
+            }
+            case TRANSFER -> {
+                if (random.nextInt(4) == 0) {
+                    // Molniya: 12 h period, critical inclination
+                    return new double[] {uniform(random, 500, 1_500), uniform(random, 38_500, 39_900), 63.4 + uniform(random, -0.5, 0.5)};
+                }
+                return new double[] {uniform(random, 180, 650), uniform(random, 35_200, 36_200), uniform(random, 0, 28.5)};
+            }
+            default -> {
+                // The active belt plus drifting, uncontrolled objects up to 15 degrees
+                double inclination = random.nextInt(3) == 0 ? uniform(random, 0, 15) : uniform(random, 0, 0.1);
+                return circular(GEO_ALTITUDE_KM + uniform(random, -75, 75), inclination, random);
+            }
+        }
+    }
+
+    private static double[] circular(double altitude, double inclination, Random random) {
+        double spread = uniform(random, 0, 2);
+        return new double[] {altitude - spread, altitude + spread, inclination};
+    }
+
+    private static double sunSynchronousInclination(double altitude) {
+        // cos i = -(a / 12352 km)^3.5 for a nodal drift of 360 degrees per year
+        return FastMath.toDegrees(FastMath.acos(-FastMath.pow((EARTH_RADIUS_KM + altitude) / 12_352.0, 3.5)));
+    }
+
+    private static Entry entry(int noradId, String name, Population population, double[] orbit,
+                               LocalDateTime epoch, Random random, TimeScale utc) {
+        double perigee = FastMath.min(orbit[0], orbit[1]);
+        double apogee = FastMath.max(orbit[0], orbit[1]);
+        double semiMajorAxis = EARTH_RADIUS_KM + (perigee + apogee) / 2;
+        double eccentricity = (apogee - perigee) / (2 * semiMajorAxis);
+        double meanMotion = 86_400 / (2 * FastMath.PI) * FastMath.sqrt(MU_KM3_S2 / FastMath.pow(semiMajorAxis, 3));
+        double inclination = FastMath.max(0, FastMath.min(180, orbit[2]));
+        double raan = uniform(random, 0, 360);
+        double argOfPericenter = uniform(random, 0, 360);
+        double meanAnomaly = uniform(random, 0, 360);
+        // Drag term shrinks with altitude; nothing above LEO sees any
+        double bStar = perigee < 2_000 ? 1e-4 * FastMath.exp(-(perigee - 400) / 150) : 0;
+
+        int launchYear = 1990 + random.nextInt(36);
+        int launchNumber = 1 + random.nextInt(150);
+        String piece = String.valueOf(PIECE_LETTERS.charAt(random.nextInt(PIECE_LETTERS.length())));
+        if (population == Population.FRAGMENTATION_DEBRIS) {
+            piece = piece + PIECE_LETTERS.charAt(random.nextInt(PIECE_LETTERS.length()));
+        }
+
+        AbsoluteDate date = new AbsoluteDate(epoch.getYear(), epoch.getMonthValue(), epoch.getDayOfMonth(),
+                epoch.getHour(), epoch.getMinute(), epoch.getSecond(), utc);
+        TLE tle = new TLE(noradId, 'U', launchYear, launchNumber, piece, TLE.DEFAULT, 999, date,
+                meanMotion * 2 * FastMath.PI / 86_400, 0.0, 0.0, eccentricity,
+                FastMath.toRadians(inclination), FastMath.toRadians(argOfPericenter), FastMath.toRadians(raan),
+                FastMath.toRadians(meanAnomaly), 1, bStar, utc);
+        String intldes = String.format("%02d%03d%s", launchYear % 100, launchNumber, piece);
+        return new Entry(noradId, name, population.objectType, intldes, epoch, meanMotion, eccentricity,
+                inclination, raan, argOfPericenter, meanAnomaly, tle.getLine1(), tle.getLine2());
+    }
+
+    private static double uniform(Random random, double from, double to) {
+        return from + random.nextDouble() * (to - from);
+    }
+
+    public static void write3le(List<Entry> entries, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (Entry entry : entries) {
+                writer.write("0 ");
+                writer.write(entry.objectName());
+                writer.newLine();
+                writer.write(entry.tleLine1());
+                writer.newLine();
+                writer.write(entry.tleLine2());
+                writer.newLine();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticCatalog <objects> <file.3le> [seed]");
+            System.exit(2);
+        }
+        int objects = Integer.parseInt(args[0]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        List<Entry> entries = generate(objects, 1, seed, LocalDateTime.now(ZoneOffset.UTC));
+        Path file = Path.of(args[1]);
+        write3le(entries, file);
+        System.out.printf("Wrote %d objects to %s%n", entries.size(), file.toAbsolutePath());
+    }
+}
@@ -4,58 +4,251 @@ import lombok.extern.slf4j.Slf4j;
 import org.orekit.data.DataContext;
 import org.orekit.data.DataProvidersManager;
 import org.orekit.data.DirectoryCrawler;
+import org.orekit.data.ZipJarCrawler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
+/**
+ * Registers the bundled {@code orekit-data.zip}. By default it is extracted once into
+ * {@code orekit.data.cache-directory}, under a subdirectory named after the archive's
+ * SHA-256, and later starts reuse that copy when its recorded hash matches and it holds
+ * the recorded number of files; with {@code orekit.data.extract=false} Orekit reads the
+ * archive straight from the classpath. Instances sharing a cache directory take turns
+ * through a lock file in it, and each keeps a shared lock on the copy it uses so that
+ * an instance of another version does not remove it.
+ */
 @Configuration
 @Slf4j
 public class OrekitConfig {
 
+    private static final String DATA_RESOURCE = "orekit-data.zip";
+    private static final String MARKER_FILE = ".orekit-data.sha256";
+    private static final String IN_USE_FILE = ".in-use";
+    private static final String CACHE_LOCK_FILE = ".lock";
+    private static final String STAGING_PREFIX = "extract-";
+
+    @Value("${orekit.data.cache-directory:orekit-data-cache}")
+    private Path cacheDirectory;
+
+    @Value("${orekit.data.extract:true}")
+    private boolean extract;
+
+    private String dataSource;
+    private long dataMs;
+    private FileChannel inUse;
+
     @PostConstruct
     public void initOrekit() {
         try {
+            long startTime = System.currentTimeMillis();
             log.info("Initializing Orekit...");
-            Path orekitDataDir = Files.createTempDirectory("orekit-data");
-            try (InputStream is = getClass().getClassLoader()
-                    .getResourceAsStream("orekit-data.zip")) {
-                if (is != null) {
-                    extractZip(is, orekitDataDir);
-                    log.info("Extracted Orekit data to: {}", orekitDataDir);
-                } else {
-                    log.warn("orekit-data.zip not found in classpath, trying alternative initialization");
-                }
-            }
             DataProvidersManager manager = DataContext.getDefault().getDataProvidersManager();
-            manager.addProvider(new DirectoryCrawler(orekitDataDir.toFile()));
-            log.info("Orekit initialized successfully");
+            if (getClass().getClassLoader().getResource(DATA_RESOURCE) == null) {
+                log.warn("{} not found in classpath, relying on Orekit's default data configuration", DATA_RESOURCE);
+                dataSource = "default";
+            } else if (extract) {
+                Path dataDirectory = cachedDataDirectory();
+                manager.addProvider(new DirectoryCrawler(dataDirectory.toFile()));
+            } else {
+                manager.addProvider(new ZipJarCrawler(getClass().getClassLoader(), DATA_RESOURCE));
+                dataSource = "classpath " + DATA_RESOURCE;
+            }
+            dataMs = System.currentTimeMillis() - startTime;
+            log.info("Orekit data registered from {} in {} ms", dataSource, dataMs);
         } catch (Exception e) {
             log.error("Failed to initialize Orekit", e);
             throw new RuntimeException("Orekit initialization failed", e);
         }
     }
 
-    private void extractZip(InputStream zipInputStream, Path targetDir) throws IOException {
+    @PreDestroy
+    void releaseCache() throws IOException {
+        if (inUse != null) {
+            inUse.close();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportReady() {
+        log.info("Ready {} ms after JVM start (Orekit data from {} in {} ms)",
+                ManagementFactory.getRuntimeMXBean().getUptime(), dataSource, dataMs);
+    }
+
+    /**
+     * Returns the cache subdirectory for the bundled archive, extracting it first unless
+     * a complete copy is already there. Holds the cache lock throughout, so a concurrent
+     * start waits and then finds the copy this one extracted.
+     */
+    private Path cachedDataDirectory() throws IOException {
+        String sha256 = resourceSha256();
+        Path target = cacheDirectory.resolve(sha256.substring(0, 16)).toAbsolutePath();
+        Files.createDirectories(cacheDirectory);
+
+        try (FileChannel channel = FileChannel.open(cacheDirectory.resolve(CACHE_LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            if (isComplete(target, sha256)) {
+                dataSource = "cache " + target;
+            } else {
+                extractInto(target, sha256);
+                dataSource = "freshly extracted cache " + target;
+            }
+            inUse = FileChannel.open(target.resolve(IN_USE_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            inUse.lock(0, Long.MAX_VALUE, true);
+            removeOtherVersions(target);
+        }
+        return target;
+    }
+
+    /** Whether {@code target} holds a copy of the archive with the recorded hash and file count. */
+    private static boolean isComplete(Path target, String sha256) throws IOException {
+        Path marker = target.resolve(MARKER_FILE);
+        if (!Files.isRegularFile(marker)) {
+            return false;
+        }
+        String[] recorded = Files.readString(marker).trim().split(" ");
+        if (recorded.length == 2 && recorded[0].equals(sha256)
+                && Long.parseLong(recorded[1]) == countFiles(target)) {
+            return true;
+        }
+        log.warn("Orekit data cache {} does not match {}, extracting again", target, DATA_RESOURCE);
+        return false;
+    }
+
+    private void extractInto(Path target, String sha256) throws IOException {
+        Path staging = Files.createTempDirectory(cacheDirectory, STAGING_PREFIX);
+        try {
+            long files;
+            try (InputStream is = getClass().getClassLoader().getResourceAsStream(DATA_RESOURCE)) {
+                files = extractZip(is, staging);
+            }
+            Files.writeString(staging.resolve(MARKER_FILE), sha256 + " " + files);
+            deleteRecursively(target);
+            try {
+                Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // A start that ignores the lock (e.g. on a file system without locking) got there first.
+                if (!isComplete(target, sha256)) {
+                    throw e;
+                }
+                log.info("Orekit data cache {} was completed by another instance", target);
+            }
+        } finally {
+            deleteRecursively(staging);
+        }
+    }
+
+    private String resourceSha256() throws IOException {
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream(DATA_RESOURCE);
+             DigestInputStream digest = new DigestInputStream(is, MessageDigest.getInstance("SHA-256"))) {
+            digest.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(digest.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long extractZip(InputStream zipInputStream, Path targetDir) throws IOException {
+        long files = 0;
         try (ZipInputStream zis = new ZipInputStream(zipInputStream)) {
             ZipEntry entry;
             while ((entry = zis.getNextEntry()) != null) {
-                Path filePath = targetDir.resolve(entry.getName());
+                Path filePath = targetDir.resolve(entry.getName()).normalize();
+                if (!filePath.startsWith(targetDir)) {
+                    throw new IOException("Zip entry outside target directory: " + entry.getName());
+                }
 
                 if (entry.isDirectory()) {
                     Files.createDirectories(filePath);
                 } else {
                     Files.createDirectories(filePath.getParent());
                     Files.copy(zis, filePath, StandardCopyOption.REPLACE_EXISTING);
+                    files++;
                 }
                 zis.closeEntry();
             }
         }
+        return files;
+    }
+
+    private static long countFiles(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().equals(MARKER_FILE))
+                    .filter(path -> !path.getFileName().toString().equals(IN_USE_FILE))
+                    .count();
+        }
+    }
+
+    /**
+     * Removes older extracted versions from the cache directory, unless an instance still
+     * holds its in-use lock, and staging directories, which with the cache lock held can
+     * only be left over from an extraction that crashed. Only directories carrying
+     * {@link #MARKER_FILE} or the staging prefix were written by this class; anything
+     * else is left alone.
+     */
+    private void removeOtherVersions(Path current) throws IOException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(cacheDirectory, Files::isDirectory)) {
+            for (Path entry : entries) {
+                if (entry.toAbsolutePath().equals(current)) {
+                    continue;
+                }
+                boolean staging = entry.getFileName().toString().startsWith(STAGING_PREFIX);
+                boolean unused = Files.isRegularFile(entry.resolve(MARKER_FILE)) && !isInUse(entry);
+                if (staging || unused) {
+                    deleteRecursively(entry);
+                }
+            }
+        }
+    }
+
+    private static boolean isInUse(Path directory) throws IOException {
+        Path lockFile = directory.resolve(IN_USE_FILE);
+        if (!Files.exists(lockFile)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE);
+             FileLock lock = channel.tryLock()) {
+            return lock == null;
+        } catch (OverlappingFileLockException e) {
+            return true;
+        }
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path p : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
     }
-}
\ No newline at end of file
+}
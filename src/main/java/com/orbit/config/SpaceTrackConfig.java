@@ -1,9 +1,13 @@
 package com.orbit.config;
 
+import com.orbit.dto.IngestReport;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "spacetrack")
 @Data
@@ -11,4 +15,54 @@ public class SpaceTrackConfig {
     private String username;
     private String password;
     private String baseUrl = "https://www.space-track.org";
+    /** Re-login once the session cookie is older than this; Space-Track expires idle sessions after about two hours. */
+    private int sessionTtlMinutes = 90;
+    /** Maximum NORAD IDs folded into one comma-list GP query. */
+    private int maxIdsPerQuery = 500;
+    private Timeout timeout = new Timeout();
+    private RateLimit rateLimit = new RateLimit();
+    private Retry retry = new Retry();
+    private Ingest ingest = new Ingest();
+
+    @Data
+    public static class Timeout {
+        /** HTTP connection timeout (seconds). */
+        private int connect = 30;
+        /** Time to wait for response headers (seconds). */
+        private int read = 60;
+    }
+
+    @Data
+    public static class RateLimit {
+        /** Space-Track allows 30 requests per minute. */
+        private int requestsPerMinute = 30;
+        /** Space-Track allows 300 requests per hour. */
+        private int requestsPerHour = 300;
+    }
+
+    @Data
+    public static class Retry {
+        /** Attempts per request, including the first one. */
+        private int maxAttempts = 3;
+        private long initialBackoffMs = 1000;
+        private long maxBackoffMs = 30000;
+    }
+
+    @Data
+    public static class Ingest {
+        /** Number of reduced GP records persisted and flushed per chunk. */
+        private int chunkSize = 1000;
+        /** Scheduled ingest mode; a delta run falls back to a full resync while no TLEs are stored. */
+        private IngestReport.Mode mode = IngestReport.Mode.DELTA;
+        /** Request gzip-compressed responses. */
+        private boolean compression = true;
+        /**
+         * Upper NORAD_CAT_ID bounds that split catalog queries into ranges downloaded
+         * concurrently, e.g. 20000,40000 gives 0--20000, 20001--40000 and >40000.
+         * Empty means one request for the whole catalog.
+         */
+        private List<Integer> partitionBoundaries = new ArrayList<>();
+        /** Maximum number of range downloads in flight at once. */
+        private int downloadConcurrency = 4;
+    }
 }
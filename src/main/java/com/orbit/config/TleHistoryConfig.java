@@ -0,0 +1,20 @@
+package com.orbit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "tle.history")
+@Data
+public class TleHistoryConfig {
+    /**
+     * Append every ingested element set to the tle_history table and keep all epochs
+     * returned by Space-Track and catalog imports.
+     */
+    private boolean enabled = true;
+    /** Element sets older than this many days before the requested instant are left out of catalog-as-of queries. */
+    private int lookbackDays = 30;
+    /** Monthly tle_history partitions kept created ahead of the current month. */
+    private int partitionMonthsAhead = 3;
+}
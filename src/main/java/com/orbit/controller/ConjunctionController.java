@@ -1,14 +1,24 @@
 package com.orbit.controller;
 
+import com.orbit.dto.EventCursor;
+import com.orbit.dto.EventPage;
+import com.orbit.dto.EventQuery;
+import com.orbit.dto.ScreeningRunTrend;
 import com.orbit.entity.ConjunctionEvent;
+import com.orbit.entity.ScreeningRun;
 import com.orbit.service.ConjunctionAnalysisService;
+import com.orbit.service.ScreeningRunLedger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/conjunction")
@@ -16,6 +26,8 @@ import java.util.Map;
 @Slf4j
 public class ConjunctionController {
     private final ConjunctionAnalysisService conjunctionAnalysisService;
+    private final ScreeningRunLedger screeningRunLedger;
+
     @PostMapping("/analyze/{noradId}")
     public ResponseEntity<?> analyzeConjunctions(@PathVariable Integer noradId) {
         try {
@@ -49,18 +61,33 @@ public class ConjunctionController {
     }
 
     @GetMapping("/upcoming/{noradId}")
-    public ResponseEntity<?> getUpcomingEvents(@PathVariable Integer noradId, @RequestParam(defaultValue = "7") int days) {
+    public ResponseEntity<?> getUpcomingEvents(
+            @PathVariable Integer noradId,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "MISS_DISTANCE") EventQuery.EventSort sort,
+            @RequestParam(required = false) Set<ConjunctionEvent.RiskLevel> riskLevel,
+            @RequestParam(required = false) Double maxMissDistance,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
         try {
             log.info("Fetching upcoming events for NORAD {} (next {} days)", noradId, days);
-            List<ConjunctionEvent> events = conjunctionAnalysisService.getUpcomingEvents(noradId, days);
+            EventQuery query = new EventQuery(sort, from, to, days, riskLevel, maxMissDistance,
+                    cursor == null ? null : EventCursor.decode(cursor), limit);
+            EventPage page = conjunctionAnalysisService.queryEvents(noradId, query);
 
-            return ResponseEntity.ok(Map.of(
-                    "status", "success",
-                    "noradId", noradId,
-                    "daysAhead", days,
-                    "eventCount", events.size(),
-                    "events", events
-            ));
+            Map<String, Object> body = pageBody(noradId, page);
+            body.put("daysAhead", days);
+            body.put("eventCount", page.events().size());
+            return ResponseEntity.ok(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of(
+                            "status", "error",
+                            "message", e.getMessage()
+                    ));
         } catch (Exception e) {
             log.error("Error fetching upcoming events for NORAD {}: ",  noradId, e);
             return ResponseEntity.internalServerError()
@@ -72,17 +99,31 @@ public class ConjunctionController {
     }
 
     @GetMapping("/high-risk/{noradId}")
-    public ResponseEntity<?> getHighRiskEvents(@PathVariable Integer noradId) {
+    public ResponseEntity<?> getHighRiskEvents(
+            @PathVariable Integer noradId,
+            @RequestParam(defaultValue = "TCA") EventQuery.EventSort sort,
+            @RequestParam(defaultValue = "CRITICAL,HIGH") Set<ConjunctionEvent.RiskLevel> riskLevel,
+            @RequestParam(required = false) Double maxMissDistance,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
         try {
             log.info("Fetching high risk events for NORAD {}", noradId);
-            List<ConjunctionEvent> events = conjunctionAnalysisService.getHighRiskEvents(noradId);
+            EventQuery query = new EventQuery(sort, from, to, null, riskLevel, maxMissDistance,
+                    cursor == null ? null : EventCursor.decode(cursor), limit);
+            EventPage page = conjunctionAnalysisService.queryEvents(noradId, query);
 
-            return ResponseEntity.ok(Map.of(
-                    "status", "success",
-                    "noradId", noradId,
-                    "highRiskEventCount", events.size(),
-                    "events", events
-            ));
+            Map<String, Object> body = pageBody(noradId, page);
+            body.put("highRiskEventCount", page.events().size());
+            return ResponseEntity.ok(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of(
+                            "status", "error",
+                            "message", e.getMessage()
+                    ));
         } catch (Exception e) {
             log.error("Error fetching high-risk events for NORAD {}: ", noradId, e);
             return ResponseEntity.internalServerError()
@@ -93,6 +134,87 @@ public class ConjunctionController {
         }
     }
 
+    private Map<String, Object> pageBody(Integer noradId, EventPage page) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "success");
+        body.put("noradId", noradId);
+        body.put("events", page.events());
+        body.put("hasMore", page.hasMore());
+        body.put("nextCursor", page.nextCursor());
+        return body;
+    }
+
+    /**
+     * Recorded analyses, newest first, optionally of one primary; {@code from}
+     * defaults to 30 days ago.
+     */
+    @GetMapping("/runs")
+    public ResponseEntity<?> getScreeningRuns(
+            @RequestParam(required = false) Integer noradId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        try {
+            if (limit < 1 || limit > 500) {
+                throw new IllegalArgumentException("limit must be between 1 and 500");
+            }
+            LocalDateTime end = to != null ? to : LocalDateTime.now();
+            LocalDateTime start = from != null ? from : end.minusDays(30);
+            List<ScreeningRun> runs = screeningRunLedger.findRuns(noradId, start, end, limit);
+
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("status", "success");
+            body.put("noradId", noradId);
+            body.put("from", start);
+            body.put("to", end);
+            body.put("count", runs.size());
+            body.put("runs", runs);
+            return ResponseEntity.ok(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of(
+                            "status", "error",
+                            "message", e.getMessage()
+                    ));
+        }
+    }
+
+    /**
+     * Succeeded runs averaged per day and configuration fingerprint, to compare
+     * throughput as the catalog grows and across configuration changes.
+     */
+    @GetMapping("/runs/trend")
+    public ResponseEntity<?> getScreeningRunTrend(
+            @RequestParam(required = false) Integer noradId,
+            @RequestParam(defaultValue = "30") int days
+    ) {
+        if (days < 1) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of(
+                            "status", "error",
+                            "message", "days must be positive"
+                    ));
+        }
+        LocalDateTime end = LocalDateTime.now();
+        List<ScreeningRunTrend> trend = screeningRunLedger.findDailyTrend(noradId, end.minusDays(days), end);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "success");
+        body.put("noradId", noradId);
+        body.put("days", days);
+        body.put("trend", trend);
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getCacheStats() {
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "cache", conjunctionAnalysisService.getCacheStats()
+        ));
+    }
+
     @DeleteMapping("/cleanup")
     public  ResponseEntity<?> cleanupOldEvents(@RequestParam(defaultValue = "30") int daysToKeep) {
         try {
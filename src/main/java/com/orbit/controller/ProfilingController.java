@@ -0,0 +1,111 @@
+package com.orbit.controller;
+
+import com.orbit.service.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/profiling/jfr")
+@RequiredArgsConstructor
+@Slf4j
+public class ProfilingController {
+    private final FlightRecordingService flightRecordingService;
+
+    @GetMapping
+    public ResponseEntity<?> getRecordingStatus() {
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "recording", flightRecordingService.status()
+        ));
+    }
+
+    /**
+     * Starts a recording, for {@code durationMinutes} if given and otherwise until
+     * stopped; the last {@code profiling.jfr.max-age-minutes} are kept for a dump.
+     */
+    @PostMapping("/start")
+    public ResponseEntity<?> startRecording(@RequestParam(required = false) Long durationMinutes) {
+        try {
+            if (durationMinutes != null && durationMinutes <= 0) {
+                throw new IllegalArgumentException("durationMinutes must be positive");
+            }
+            FlightRecordingService.Status status = flightRecordingService.start(
+                    durationMinutes != null ? Duration.ofMinutes(durationMinutes) : null);
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "message", "Flight recording started",
+                    "recording", status
+            ));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of(
+                            "status", "error",
+                            "message", e.getMessage()
+                    ));
+        } catch (Exception e) {
+            log.error("Error starting flight recording: ", e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of(
+                            "status", "error",
+                            "message", "Failed to start flight recording: " + e.getMessage()
+                    ));
+        }
+    }
+
+    /**
+     * Writes the recorded events to a file under {@code profiling.jfr.directory}, to be
+     * opened in JDK Mission Control or with {@code jfr print --events com.orbit.ScreenPair}.
+     */
+    @PostMapping("/dump")
+    public ResponseEntity<?> dumpRecording() {
+        try {
+            Path file = flightRecordingService.dump();
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "file", file.toString(),
+                    "sizeBytes", Files.size(file)
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of(
+                            "status", "error",
+                            "message", e.getMessage()
+                    ));
+        } catch (Exception e) {
+            log.error("Error dumping flight recording: ", e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of(
+                            "status", "error",
+                            "message", "Failed to dump flight recording: " + e.getMessage()
+                    ));
+        }
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<?> stopRecording() {
+        try {
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "message", "Flight recording stopped",
+                    "recording", flightRecordingService.stop()
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of(
+                            "status", "error",
+                            "message", e.getMessage()
+                    ));
+        }
+    }
+}
@@ -1,31 +1,53 @@
 package com.orbit.controller;
 
+import com.orbit.dto.HistoricalTle;
+import com.orbit.dto.IngestReport;
 import com.orbit.service.SpaceTrackService;
+import com.orbit.service.TleHistoryService;
+import com.orbit.service.TleImportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/tle")
 @RequiredArgsConstructor
 @Slf4j
 public class TleController {
     private final SpaceTrackService spaceTrackService;
+    private final TleImportService tleImportService;
+    private final TleHistoryService tleHistoryService;
 
     @PostMapping("/fetch/all")
-    public ResponseEntity<String> fetchAllTles() {
+    public ResponseEntity<?> fetchAllTles(@RequestParam(defaultValue = "false") boolean full) {
         try{
-            log.info("Received request to fetch all TLE data");
-            spaceTrackService.fetchAndSaveLatestTles();
-            return ResponseEntity.ok().body("Successfully fetched and saved TLE data");
+            log.info("Received request to fetch all TLE data (full resync: {})", full);
+            IngestReport report = full
+                    ? spaceTrackService.fetchAndSaveLatestTles(IngestReport.Mode.FULL)
+                    : spaceTrackService.fetchAndSaveLatestTles();
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "message", "Successfully fetched and saved TLE data",
+                    "report", report
+            ));
         } catch (Exception e){
             log.error("Error fetching TLE data: ", e);
             return ResponseEntity.internalServerError()
-                    .body("Failed to fetch TLE data: " + e.getMessage());
+                    .body(Map.of(
+                            "status", "error",
+                            "message", "Failed to fetch TLE data: " + e.getMessage()
+                    ));
         }
     }
 
@@ -41,4 +63,82 @@ public class TleController {
                     .body("Failed to fetch TLE data: " + e.getMessage());
         }
     }
+
+    /**
+     * Imports a catalog dump from {@code tle.import.directory}; the format is inferred
+     * from the extension (.tle/.3le/.txt, .json, .csv) unless given.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importCatalogFile(@RequestParam String file,
+                                               @RequestParam(required = false) TleImportService.Format format) {
+        try {
+            log.info("Received request to import catalog file {} (format: {})", file, format);
+            IngestReport report = tleImportService.importFile(tleImportService.resolveImportFile(file), format);
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "message", "Successfully imported catalog file " + file,
+                    "report", report
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of(
+                            "status", "error",
+                            "message", e.getMessage()
+                    ));
+        } catch (Exception e) {
+            log.error("Error importing catalog file {}: ", file, e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of(
+                            "status", "error",
+                            "message", "Failed to import catalog file: " + e.getMessage()
+                    ));
+        }
+    }
+
+    /**
+     * The catalog as it was known at {@code asOf} (UTC), rebuilt from the TLE history.
+     */
+    @GetMapping("/history/catalog")
+    public ResponseEntity<?> getCatalogAsOf(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        try {
+            long startTime = System.currentTimeMillis();
+            List<HistoricalTle> catalog = tleHistoryService.catalogAsOf(asOf);
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "asOf", asOf,
+                    "count", catalog.size(),
+                    "loadMs", System.currentTimeMillis() - startTime,
+                    "tles", catalog
+            ));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of(
+                            "status", "error",
+                            "message", e.getMessage()
+                    ));
+        }
+    }
+
+    @GetMapping("/history/{noradId}")
+    public ResponseEntity<?> getTleHistory(
+            @PathVariable Integer noradId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            List<HistoricalTle> history = tleHistoryService.history(noradId, from, to);
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "noradId", noradId,
+                    "count", history.size(),
+                    "tles", history
+            ));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of(
+                            "status", "error",
+                            "message", e.getMessage()
+                    ));
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package com.orbit.dto;
+
+import com.orbit.entity.ConjunctionEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model for conjunction event queries. Populated directly by JPQL
+ * constructor expressions so that no satellite association is loaded lazily.
+ * Immutable, since cached pages are shared between callers.
+ */
+public record ConjunctionEventView(
+        Long eventId,
+        Integer primaryNoradId,
+        String primaryName,
+        Integer secondaryNoradId,
+        String secondaryName,
+        LocalDateTime tca,
+        Double missDistance,
+        Double relativeVelocity,
+        ConjunctionEvent.RiskLevel riskLevel
+) {}
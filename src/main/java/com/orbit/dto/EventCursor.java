@@ -0,0 +1,47 @@
+package com.orbit.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last row on a page: the sort key plus {@code event_id}
+ * as tie-breaker. Serialised as an opaque URL-safe token.
+ */
+public record EventCursor(
+        EventQuery.EventSort sort,
+        LocalDateTime tca,
+        Double missDistance,
+        Long eventId
+) {
+    private static final String SEPARATOR = "|";
+
+    public static EventCursor after(ConjunctionEventView last, EventQuery.EventSort sort) {
+        return sort == EventQuery.EventSort.TCA
+                ? new EventCursor(sort, last.tca(), null, last.eventId())
+                : new EventCursor(sort, null, last.missDistance(), last.eventId());
+    }
+
+    public String encode() {
+        String key = sort == EventQuery.EventSort.TCA ? tca.toString() : Double.toString(missDistance);
+        String raw = sort.name() + SEPARATOR + key + SEPARATOR + eventId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            EventQuery.EventSort sort = EventQuery.EventSort.valueOf(parts[0]);
+            long eventId = Long.parseLong(parts[2]);
+            return sort == EventQuery.EventSort.TCA
+                    ? new EventCursor(sort, LocalDateTime.parse(parts[1]), null, eventId)
+                    : new EventCursor(sort, null, Double.parseDouble(parts[1]), eventId);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
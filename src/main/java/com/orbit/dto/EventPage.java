@@ -0,0 +1,12 @@
+package com.orbit.dto;
+
+import java.util.List;
+
+public record EventPage(
+        List<ConjunctionEventView> events,
+        String nextCursor
+) {
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.orbit.dto;
+
+import com.orbit.entity.ConjunctionEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * One page of an event query. Window bounds left null are resolved against the
+ * current time when the query runs ({@code from} defaults to now, {@code to} to
+ * now + {@code daysAhead}), which keeps equal requests equal for caching. An
+ * explicit window must not be inverted or span more than {@value #MAX_WINDOW_DAYS} days.
+ */
+public record EventQuery(
+        EventSort sort,
+        LocalDateTime from,
+        LocalDateTime to,
+        Integer daysAhead,
+        Set<ConjunctionEvent.RiskLevel> riskLevels,
+        Double maxMissDistance,
+        EventCursor after,
+        int limit
+) {
+    public static final int MAX_LIMIT = 1000;
+    public static final int MAX_WINDOW_DAYS = 366;
+
+    public enum EventSort {
+        TCA,
+        MISS_DISTANCE
+    }
+
+    public EventQuery {
+        if (sort == null) {
+            throw new IllegalArgumentException("Sort order is required");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ": " + limit);
+        }
+        if (from != null && to != null) {
+            if (from.isAfter(to)) {
+                throw new IllegalArgumentException("'from' must not be after 'to'");
+            }
+            if (Duration.between(from, to).compareTo(Duration.ofDays(MAX_WINDOW_DAYS)) > 0) {
+                throw new IllegalArgumentException("Window must not exceed " + MAX_WINDOW_DAYS + " days");
+            }
+        }
+        if (daysAhead != null && (daysAhead < 0 || daysAhead > MAX_WINDOW_DAYS)) {
+            throw new IllegalArgumentException("Days must be between 0 and " + MAX_WINDOW_DAYS + ": " + daysAhead);
+        }
+        if (after != null && after.sort() != sort) {
+            throw new IllegalArgumentException("Cursor was issued for sort " + after.sort() + ", not " + sort);
+        }
+        riskLevels = riskLevels == null ? Set.of() : Set.copyOf(riskLevels);
+    }
+}
@@ -0,0 +1,10 @@
+package com.orbit.dto;
+
+import java.time.LocalDateTime;
+
+public record HistoricalTle(
+        Integer noradId,
+        LocalDateTime epoch,
+        String line1,
+        String line2
+) {}
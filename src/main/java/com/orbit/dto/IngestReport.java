@@ -0,0 +1,38 @@
+package com.orbit.dto;
+
+public record IngestReport(
+        Mode mode,
+        Long gpIdWatermark,
+        long bytesTransferred,
+        long recordsRead,
+        int satellitesCreated,
+        int tlesCreated,
+        int tlesUpdated,
+        int tlesUnchanged,
+        int historyAppended,
+        long durationMs
+) {
+    public enum Mode {
+        /** Only element sets published after the stored GP_ID watermark. */
+        DELTA,
+        /** Every element set from the last 30 days. */
+        FULL,
+        /** The current element set of an explicit list of NORAD IDs. */
+        TARGETED,
+        /** Element sets read from a catalog dump on disk. */
+        IMPORT
+    }
+
+    public int rowsWritten() {
+        return satellitesCreated + tlesCreated + tlesUpdated;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Ingest[mode=%s, watermark=%s, bytes=%d, read=%d, newSatellites=%d, created=%d, updated=%d, unchanged=%d, history=%d, %dms]",
+                mode, gpIdWatermark, bytesTransferred, recordsRead,
+                satellitesCreated, tlesCreated, tlesUpdated, tlesUnchanged, historyAppended, durationMs
+        );
+    }
+}
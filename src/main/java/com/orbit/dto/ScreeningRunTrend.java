@@ -0,0 +1,19 @@
+package com.orbit.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Succeeded runs of one day and configuration, averaged.
+ */
+public record ScreeningRunTrend(
+        LocalDate day,
+        String configFingerprint,
+        long runs,
+        Double avgCatalogSize,
+        Double avgPairsScreened,
+        Double avgPairsPerSecond,
+        Double avgScreeningMs,
+        Double avgTotalMs,
+        Long maxTotalMs
+) {
+}
@@ -5,6 +5,9 @@ import lombok.Data;
 
 @Data
 public class SpaceTrackTleDto {
+    @JsonProperty("GP_ID")
+    private Long gpId;
+
     @JsonProperty("NORAD_CAT_ID")
     private Integer noradCatId;
 
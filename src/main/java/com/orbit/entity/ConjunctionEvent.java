@@ -1,5 +1,6 @@
 package com.orbit.entity;
 
+import com.orbit.dto.ConjunctionResult;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,9 +8,13 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+// ddl-auto=update never drops an index removed here; scripts/drop-superseded-indexes.sql does.
 @Entity
 @Table(name = "conjunction_events", indexes = {
-        @Index(name = "idx_primary_tca", columnList = "primary_satellite_id,tca"),
+        @Index(name = "idx_primary_tca_event", columnList = "primary_satellite_id,tca,event_id"),
+        @Index(name = "idx_primary_miss_event", columnList = "primary_satellite_id,miss_distance,event_id"),
+        @Index(name = "idx_primary_risk_tca_event", columnList = "primary_satellite_id,risk_level,tca,event_id"),
+        @Index(name = "idx_primary_risk_miss_event", columnList = "primary_satellite_id,risk_level,miss_distance,event_id"),
         @Index(name = "idx_risk_level", columnList = "risk_level"),
         @Index(name = "idx_tca", columnList = "tca")
 })
@@ -52,12 +57,37 @@ public class ConjunctionEvent {
     @Column(name = "screening_epoch")
     private LocalDateTime screeningEpoch;
 
+    /** When a follow-up rescreen found no approach around this TCA any more; cleared events are not listed. */
+    @Column(name = "cleared_at")
+    private LocalDateTime clearedAt;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /** A new, unsaved event for a screening result. */
+    public static ConjunctionEvent of(Satellite primarySatellite, Satellite secondarySatellite,
+                                      ConjunctionResult result, RiskLevel riskLevel, LocalDateTime screeningEpoch) {
+        ConjunctionEvent event = new ConjunctionEvent();
+        event.setPrimarySatellite(primarySatellite);
+        event.setSecondarySatellite(secondarySatellite);
+        event.update(result, riskLevel, screeningEpoch);
+        return event;
+    }
+
+    /** Replaces the screening result, e.g. with that of a follow-up rescreen of the same approach. */
+    public void update(ConjunctionResult result, RiskLevel riskLevel, LocalDateTime screeningEpoch) {
+        setTca(result.getTca());
+        setMissDistance(result.getMissDistance());
+        setRelativeVelocity(result.getRelativeVelocity());
+        setRiskLevel(riskLevel);
+        setPrimaryAltitude(result.getPrimaryAltitude());
+        setSecondaryAltitude(result.getSecondaryAltitude());
+        setScreeningEpoch(screeningEpoch);
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,35 @@
+package com.orbit.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publication-order position of a catalog feed: the highest Space-Track GP_ID seen by
+ * a catalog-wide fetch. GP_IDs grow with publication, not with epoch, so a delta query
+ * above this value also returns element sets published late with an older epoch.
+ * Targeted fetches do not move it, since they only see part of the catalog.
+ */
+@Entity
+@Table(name = "ingest_watermarks")
+@Data
+@NoArgsConstructor
+public class IngestWatermark {
+    public static final String SPACETRACK_GP = "spacetrack-gp";
+
+    @Id
+    @Column(name = "feed", length = 50)
+    private String feed;
+
+    @Column(name = "gp_id", nullable = false)
+    private Long gpId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public IngestWatermark(String feed) {
+        this.feed = feed;
+    }
+}
@@ -0,0 +1,136 @@
+package com.orbit.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One conjunction analysis: how many objects survived each filter, what screening
+ * cost, and the settings it ran with. Counts of stages an analysis never reached are
+ * left null. {@code configFingerprint} is the same for runs with identical settings,
+ * so throughput can be compared within and across configurations.
+ */
+@Entity
+@Table(name = "screening_runs", indexes = {
+        @Index(name = "idx_screening_run_primary_started", columnList = "primary_norad_id,started_at"),
+        @Index(name = "idx_screening_run_started", columnList = "started_at")
+})
+@Data
+@NoArgsConstructor
+public class ScreeningRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "run_id")
+    private Long runId;
+
+    @Column(name = "primary_norad_id", nullable = false)
+    private Integer primaryNoradId;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    // Filter funnel
+    @Column(name = "catalog_size")
+    private Integer catalogSize;
+
+    @Column(name = "after_coarse_filter")
+    private Integer afterCoarseFilter;
+
+    @Column(name = "after_raan_filter")
+    private Integer afterRaanFilter;
+
+    @Column(name = "after_co_location_filter")
+    private Integer afterCoLocationFilter;
+
+    // Screening
+    @Column(name = "stale_tles")
+    private Integer staleTles;
+
+    @Column(name = "failed_tles")
+    private Integer failedTles;
+
+    @Column(name = "pairs_screened")
+    private Integer pairsScreened;
+
+    @Column(name = "segment_pairs")
+    private Integer segmentPairs;
+
+    @Column(name = "conjunctions_found")
+    private Integer conjunctionsFound;
+
+    @Column(name = "events_saved")
+    private Integer eventsSaved;
+
+    @Column(name = "pairs_per_second")
+    private Double pairsPerSecond;
+
+    // Timings
+    @Column(name = "catalog_load_ms")
+    private Long catalogLoadMs;
+
+    @Column(name = "filter_ms")
+    private Long filterMs;
+
+    @Column(name = "screening_ms")
+    private Long screeningMs;
+
+    @Column(name = "persistence_ms")
+    private Long persistenceMs;
+
+    @Column(name = "total_ms")
+    private Long totalMs;
+
+    // Configuration
+    @Column(name = "config_fingerprint", nullable = false, length = 16)
+    private String configFingerprint;
+
+    @Column(name = "prediction_days", nullable = false)
+    private Integer predictionDays;
+
+    @Column(name = "coarse_step_seconds", nullable = false)
+    private Integer coarseStepSeconds;
+
+    @Column(name = "min_distance_km", nullable = false)
+    private Double minDistanceKm;
+
+    @Column(name = "fine_step_seconds", nullable = false)
+    private Integer fineStepSeconds;
+
+    @Column(name = "polish_step_seconds", nullable = false)
+    private Double polishStepSeconds;
+
+    @Column(name = "refinement_threshold_km", nullable = false)
+    private Double refinementThresholdKm;
+
+    @Column(name = "altitude_tolerance_km", nullable = false)
+    private Double altitudeToleranceKm;
+
+    @Column(name = "inclination_tolerance_deg", nullable = false)
+    private Double inclinationToleranceDeg;
+
+    @Column(name = "raan_filter_enabled", nullable = false)
+    private Boolean raanFilterEnabled;
+
+    @Column(name = "raan_tolerance_deg", nullable = false)
+    private Double raanToleranceDeg;
+
+    @Column(name = "ephemeris_enabled", nullable = false)
+    private Boolean ephemerisEnabled;
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED
+    }
+}
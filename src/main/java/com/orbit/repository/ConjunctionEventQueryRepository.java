@@ -0,0 +1,16 @@
+package com.orbit.repository;
+
+import com.orbit.dto.ConjunctionEventView;
+import com.orbit.dto.EventQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ConjunctionEventQueryRepository {
+
+    /**
+     * Returns up to {@code query.limit() + 1} rows after the query's cursor; the
+     * extra row only signals that another page exists.
+     */
+    List<ConjunctionEventView> findEventPage(Integer primaryNoradId, EventQuery query, LocalDateTime now);
+}
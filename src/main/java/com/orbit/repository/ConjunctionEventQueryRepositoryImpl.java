@@ -0,0 +1,88 @@
+package com.orbit.repository;
+
+import com.orbit.dto.ConjunctionEventView;
+import com.orbit.dto.EventQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset pagination over conjunction events. Only the filters that are present are
+ * added to the statement. With the TCA sort, idx_primary_tca_event (or
+ * idx_primary_risk_tca_event for a single risk level) reads the window as one range in
+ * sort order, so deep pages cost the same as the first one. With the miss-distance sort,
+ * idx_primary_miss_event (or idx_primary_risk_miss_event) gives the order and bounds a
+ * maximum miss distance, but the TCA window is checked row by row along it. Several
+ * risk levels, and a maximum miss distance with the TCA sort, are checked the same way;
+ * such a page reads as many index rows as the filter skips to fill it.
+ */
+public class ConjunctionEventQueryRepositoryImpl implements ConjunctionEventQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ConjunctionEventView> findEventPage(Integer primaryNoradId, EventQuery query, LocalDateTime now) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.orbit.dto.ConjunctionEventView(" +
+                "ce.eventId, p.noradId, p.name, s.noradId, s.name, " +
+                "ce.tca, ce.missDistance, ce.relativeVelocity, ce.riskLevel) " +
+                "FROM ConjunctionEvent ce " +
+                "JOIN ce.primarySatellite p " +
+                "JOIN ce.secondarySatellite s " +
+                "WHERE p.noradId = :noradId " +
+                "AND ce.clearedAt IS NULL ");
+        Map<String, Object> params = new HashMap<>();
+        params.put("noradId", primaryNoradId);
+
+        LocalDateTime from = query.from() != null ? query.from() : now;
+        jpql.append("AND ce.tca >= :from ");
+        params.put("from", from);
+
+        LocalDateTime to = query.to();
+        if (to == null && query.daysAhead() != null) {
+            to = now.plusDays(query.daysAhead());
+        }
+        if (to != null) {
+            jpql.append("AND ce.tca <= :to ");
+            params.put("to", to);
+        }
+
+        if (!query.riskLevels().isEmpty()) {
+            jpql.append("AND ce.riskLevel IN :riskLevels ");
+            params.put("riskLevels", query.riskLevels());
+        }
+
+        if (query.maxMissDistance() != null) {
+            jpql.append("AND ce.missDistance <= :maxMissDistance ");
+            params.put("maxMissDistance", query.maxMissDistance());
+        }
+
+        if (query.sort() == EventQuery.EventSort.TCA) {
+            if (query.after() != null) {
+                jpql.append("AND (ce.tca, ce.eventId) > (:afterTca, :afterId) ");
+                params.put("afterTca", query.after().tca());
+                params.put("afterId", query.after().eventId());
+            }
+            jpql.append("ORDER BY ce.tca ASC, ce.eventId ASC");
+        } else {
+            if (query.after() != null) {
+                jpql.append("AND (ce.missDistance, ce.eventId) > (:afterMiss, :afterId) ");
+                params.put("afterMiss", query.after().missDistance());
+                params.put("afterId", query.after().eventId());
+            }
+            jpql.append("ORDER BY ce.missDistance ASC, ce.eventId ASC");
+        }
+
+        TypedQuery<ConjunctionEventView> typedQuery =
+                entityManager.createQuery(jpql.toString(), ConjunctionEventView.class);
+        params.forEach(typedQuery::setParameter);
+        typedQuery.setMaxResults(query.limit() + 1);
+        return typedQuery.getResultList();
+    }
+}
@@ -12,27 +12,19 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ConjunctionEventRepository extends JpaRepository<ConjunctionEvent, Long> {
+public interface ConjunctionEventRepository extends JpaRepository<ConjunctionEvent, Long>,
+        ConjunctionEventQueryRepository {
 
     List<ConjunctionEvent> findByPrimarySatelliteAndTcaAfter(
             Satellite primarySatellite,
             LocalDateTime afterTime
     );
 
-    @Query("SELECT ce FROM ConjunctionEvent ce " +
-            "WHERE ce.primarySatellite = :primary " +
-            "AND ce.tca BETWEEN :startTime AND :endTime " +
-            "ORDER BY ce.missDistance ASC")
-    List<ConjunctionEvent> findUpcomingEventsForPrimary(
-            @Param("primary") Satellite primary,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime
-    );
-
     @Query("SELECT ce FROM ConjunctionEvent ce " +
             "WHERE ce.primarySatellite = :primary " +
             "AND ce.riskLevel IN :riskLevels " +
             "AND ce.tca > :now " +
+            "AND ce.clearedAt IS NULL " +
             "ORDER BY ce.tca ASC")
     List<ConjunctionEvent> findByPrimaryAndRiskLevels(
             @Param("primary") Satellite primary,
@@ -40,6 +32,29 @@ public interface ConjunctionEventRepository extends JpaRepository<ConjunctionEve
             @Param("now") LocalDateTime now
     );
 
+    /**
+     * Marks the events of a pair with a TCA in {@code [start, end]} as cleared, except
+     * those screened after {@code clearedAt}, which a newer analysis has just saved.
+     */
+    @Modifying
+    @Query("UPDATE ConjunctionEvent ce SET ce.clearedAt = :clearedAt, ce.updatedAt = :clearedAt " +
+            "WHERE ce.primarySatellite = :primary " +
+            "AND ce.secondarySatellite = :secondary " +
+            "AND ce.tca BETWEEN :start AND :end " +
+            "AND ce.clearedAt IS NULL " +
+            "AND (ce.screeningEpoch IS NULL OR ce.screeningEpoch <= :clearedAt)")
+    int markCleared(
+            @Param("primary") Satellite primary,
+            @Param("secondary") Satellite secondary,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("clearedAt") LocalDateTime clearedAt
+    );
+
+    @Query("SELECT DISTINCT ce.primarySatellite.noradId FROM ConjunctionEvent ce " +
+            "WHERE ce.tca < :cutoffDate")
+    List<Integer> findPrimaryNoradIdsWithEventsBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
+
     @Modifying
     @Query("DELETE FROM ConjunctionEvent ce WHERE ce.tca < :cutoffDate")
     void deleteOldEvents(@Param("cutoffDate") LocalDateTime cutoffDate);
@@ -0,0 +1,9 @@
+package com.orbit.repository;
+
+import com.orbit.entity.IngestWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IngestWatermarkRepository extends JpaRepository<IngestWatermark, String> {
+}
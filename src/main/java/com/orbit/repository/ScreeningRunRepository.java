@@ -0,0 +1,43 @@
+package com.orbit.repository;
+
+import com.orbit.dto.ScreeningRunTrend;
+import com.orbit.entity.ScreeningRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScreeningRunRepository extends JpaRepository<ScreeningRun, Long> {
+
+    @Query("SELECT r FROM ScreeningRun r " +
+            "WHERE (:noradId IS NULL OR r.primaryNoradId = :noradId) " +
+            "AND r.startedAt >= :from AND r.startedAt < :to " +
+            "ORDER BY r.startedAt DESC")
+    List<ScreeningRun> findRuns(
+            @Param("noradId") Integer noradId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable
+    );
+
+    @Query("SELECT new com.orbit.dto.ScreeningRunTrend(" +
+            "cast(r.startedAt as LocalDate), r.configFingerprint, count(r), " +
+            "avg(r.catalogSize), avg(r.pairsScreened), avg(r.pairsPerSecond), " +
+            "avg(r.screeningMs), avg(r.totalMs), max(r.totalMs)) " +
+            "FROM ScreeningRun r " +
+            "WHERE r.status = com.orbit.entity.ScreeningRun.Status.SUCCEEDED " +
+            "AND (:noradId IS NULL OR r.primaryNoradId = :noradId) " +
+            "AND r.startedAt >= :from AND r.startedAt < :to " +
+            "GROUP BY cast(r.startedAt as LocalDate), r.configFingerprint " +
+            "ORDER BY cast(r.startedAt as LocalDate), r.configFingerprint")
+    List<ScreeningRunTrend> findDailyTrend(
+            @Param("noradId") Integer noradId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+}
@@ -0,0 +1,272 @@
+package com.orbit.repository;
+
+import com.orbit.dto.SpaceTrackTleDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Set-based ingest path for GP records. A chunk is staged with {@code COPY} into a
+ * transaction-scoped temp table and merged into {@code satellites} and
+ * {@code tle_data} with one {@code INSERT ... ON CONFLICT} each, so no entities are
+ * loaded or dirty-checked and rows whose stored epoch is already current are left
+ * untouched. When the history store is enabled, every staged element set is also
+ * appended to {@code tle_history}. Must run inside the caller's transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class TleBulkUpsertRepository {
+
+    /**
+     * Row counts of one or more merges; {@code changedNoradIds} lists the objects whose
+     * current element set was created or replaced, in merge order.
+     */
+    public record UpsertResult(int satellitesCreated, int tlesCreated, int tlesUpdated, int tlesUnchanged,
+                               int historyAppended, int[] changedNoradIds) {
+        public static final UpsertResult EMPTY = new UpsertResult(0, 0, 0, 0, 0, new int[0]);
+
+        public UpsertResult plus(UpsertResult other) {
+            int[] changed = Arrays.copyOf(changedNoradIds, changedNoradIds.length + other.changedNoradIds.length);
+            System.arraycopy(other.changedNoradIds, 0, changed, changedNoradIds.length, other.changedNoradIds.length);
+            return new UpsertResult(
+                    satellitesCreated + other.satellitesCreated,
+                    tlesCreated + other.tlesCreated,
+                    tlesUpdated + other.tlesUpdated,
+                    tlesUnchanged + other.tlesUnchanged,
+                    historyAppended + other.historyAppended,
+                    changed
+            );
+        }
+
+        public int written() {
+            return satellitesCreated + tlesCreated + tlesUpdated;
+        }
+
+        public int processed() {
+            return tlesCreated + tlesUpdated + tlesUnchanged;
+        }
+    }
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private static final DateTimeFormatter GP_EPOCH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+
+    private static final String CREATE_STAGING =
+            "CREATE TEMP TABLE IF NOT EXISTS tle_staging (" +
+            "norad_id integer NOT NULL, " +
+            "object_name varchar(100), " +
+            "object_type varchar(50), " +
+            "intldes varchar(20), " +
+            "country_code varchar(50), " +
+            "classification varchar(1), " +
+            "line1 varchar(69) NOT NULL, " +
+            "line2 varchar(69) NOT NULL, " +
+            "epoch timestamp NOT NULL, " +
+            "mean_motion double precision, " +
+            "eccentricity double precision, " +
+            "inclination double precision, " +
+            "raan double precision, " +
+            "argument_of_perigee double precision, " +
+            "mean_anomaly double precision, " +
+            "element_set_number integer, " +
+            "tle_epoch timestamp, " +
+            "elements bytea" +
+            ") ON COMMIT DROP";
+
+    private static final String COPY_STAGING =
+            "COPY tle_staging (norad_id, object_name, object_type, intldes, country_code, classification, " +
+            "line1, line2, epoch, mean_motion, eccentricity, inclination, raan, argument_of_perigee, " +
+            "mean_anomaly, element_set_number, tle_epoch, elements) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_SATELLITES =
+            "INSERT INTO satellites (name, norad_id, international_designator, object_type, country, " +
+            "is_active, created_at, updated_at) " +
+            "SELECT DISTINCT ON (norad_id) COALESCE(object_name, 'NORAD ' || norad_id), norad_id, intldes, " +
+            "object_type, country_code, TRUE, LOCALTIMESTAMP, LOCALTIMESTAMP " +
+            "FROM tle_staging " +
+            "ORDER BY norad_id, epoch DESC " +
+            "ON CONFLICT (norad_id) DO NOTHING";
+
+    private static final String MERGE_TLES =
+            "WITH merged AS (" +
+            "INSERT INTO tle_data (satellite_id, line1, line2, epoch, mean_motion, eccentricity, inclination, " +
+            "raan, argument_of_perigee, mean_anomaly, classification, element_set_number, created_at, updated_at) " +
+            "SELECT s.satellite_id, st.line1, st.line2, st.epoch, st.mean_motion, st.eccentricity, " +
+            "st.inclination, st.raan, st.argument_of_perigee, st.mean_anomaly, st.classification, " +
+            "st.element_set_number, LOCALTIMESTAMP, LOCALTIMESTAMP " +
+            "FROM (SELECT DISTINCT ON (norad_id) * FROM tle_staging ORDER BY norad_id, epoch DESC) st " +
+            "JOIN satellites s ON s.norad_id = st.norad_id " +
+            "ON CONFLICT (satellite_id) DO UPDATE SET " +
+            "line1 = EXCLUDED.line1, " +
+            "line2 = EXCLUDED.line2, " +
+            "epoch = EXCLUDED.epoch, " +
+            "mean_motion = EXCLUDED.mean_motion, " +
+            "eccentricity = EXCLUDED.eccentricity, " +
+            "inclination = EXCLUDED.inclination, " +
+            "raan = EXCLUDED.raan, " +
+            "argument_of_perigee = EXCLUDED.argument_of_perigee, " +
+            "mean_anomaly = EXCLUDED.mean_anomaly, " +
+            "classification = EXCLUDED.classification, " +
+            "element_set_number = EXCLUDED.element_set_number, " +
+            "updated_at = EXCLUDED.updated_at " +
+            "WHERE tle_data.epoch < EXCLUDED.epoch " +
+            "RETURNING satellite_id, (xmax = 0) AS inserted) " +
+            "SELECT m.inserted, s.norad_id FROM merged m JOIN satellites s ON s.satellite_id = m.satellite_id";
+
+    private final DataSource dataSource;
+    private final TleHistoryRepository tleHistoryRepository;
+
+    public UpsertResult upsert(List<SpaceTrackTleDto> records) {
+        if (records.isEmpty()) {
+            return UpsertResult.EMPTY;
+        }
+        requireTransaction();
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement statement = connection.createStatement()) {
+            long staged = stage(connection, statement, records);
+
+            int satellitesCreated = statement.executeUpdate(MERGE_SATELLITES);
+
+            int created = 0;
+            int updated = 0;
+            int[] changed = new int[records.size()];
+            try (ResultSet rs = statement.executeQuery(MERGE_TLES)) {
+                while (rs.next()) {
+                    if (rs.getBoolean(1)) {
+                        created++;
+                    } else {
+                        updated++;
+                    }
+                    changed[created + updated - 1] = rs.getInt(2);
+                }
+            }
+
+            int distinctObjects;
+            try (ResultSet rs = statement.executeQuery("SELECT COUNT(DISTINCT norad_id) FROM tle_staging")) {
+                rs.next();
+                distinctObjects = rs.getInt(1);
+            }
+
+            int historyAppended = tleHistoryRepository.isEnabled()
+                    ? tleHistoryRepository.appendFromStaging(statement)
+                    : 0;
+
+            log.debug("Staged {} GP rows: {} new satellites, {} TLEs created, {} updated, {} history rows",
+                    staged, satellitesCreated, created, updated, historyAppended);
+            return new UpsertResult(satellitesCreated, created, updated, distinctObjects - created - updated,
+                    historyAppended, Arrays.copyOf(changed, created + updated));
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("TLE bulk upsert failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Appends element sets to the history store only, leaving {@code satellites} and
+     * {@code tle_data} alone; for superseded records of a backfill.
+     */
+    public int appendHistory(List<SpaceTrackTleDto> records) {
+        if (records.isEmpty() || !tleHistoryRepository.isEnabled()) {
+            return 0;
+        }
+        requireTransaction();
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement statement = connection.createStatement()) {
+            stage(connection, statement, records);
+            return tleHistoryRepository.appendFromStaging(statement);
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("TLE history append failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("TLE bulk upsert requires an active transaction");
+        }
+    }
+
+    private long stage(Connection connection, Statement statement, List<SpaceTrackTleDto> records)
+            throws SQLException, IOException {
+        statement.execute(CREATE_STAGING);
+        statement.execute("TRUNCATE tle_staging");
+        return connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn(COPY_STAGING, new StringReader(toCsv(records)));
+    }
+
+    private String toCsv(List<SpaceTrackTleDto> records) {
+        boolean history = tleHistoryRepository.isEnabled();
+        StringBuilder csv = new StringBuilder(records.size() * 256);
+        for (SpaceTrackTleDto dto : records) {
+            csv.append(dto.getNoradCatId()).append(',');
+            appendText(csv, dto.getObjectName(), 100).append(',');
+            appendText(csv, dto.getObjectType(), 50).append(',');
+            appendText(csv, dto.getIntldes(), 20).append(',');
+            appendText(csv, dto.getCountryCode(), 50).append(',');
+            appendText(csv, dto.getClassificationType(), 1).append(',');
+            appendText(csv, dto.getTleLine1(), 69).append(',');
+            appendText(csv, dto.getTleLine2(), 69).append(',');
+            csv.append(LocalDateTime.parse(dto.getEpoch(), GP_EPOCH_FORMAT)).append(',');
+            appendNumber(csv, dto.getMeanMotion()).append(',');
+            appendNumber(csv, dto.getEccentricity()).append(',');
+            appendNumber(csv, dto.getInclination()).append(',');
+            appendNumber(csv, dto.getRaOfAscNode()).append(',');
+            appendNumber(csv, dto.getArgOfPericenter()).append(',');
+            appendNumber(csv, dto.getMeanAnomaly()).append(',');
+            appendNumber(csv, dto.getElementSetNo()).append(',');
+            if (history) {
+                appendHistoryRecord(csv, dto);
+            } else {
+                csv.append(',');
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    /** Line epoch and {@link TleRecordCodec} record as hex bytea, or two NULLs if the lines are malformed. */
+    private static void appendHistoryRecord(StringBuilder csv, SpaceTrackTleDto dto) {
+        try {
+            byte[] encoded = TleRecordCodec.encode(dto.getTleLine1(), dto.getTleLine2());
+            LocalDateTime lineEpoch = TleRecordCodec.lineEpoch(dto.getTleLine1());
+            csv.append(lineEpoch).append(",\\x").append(HEX.formatHex(encoded));
+        } catch (IllegalArgumentException e) {
+            log.debug("Not recording history for NORAD {}: {}", dto.getNoradCatId(), e.getMessage());
+            csv.append(',');
+        }
+    }
+
+    /** Unquoted empty fields are NULL in CSV COPY; text is always quoted. */
+    private static StringBuilder appendText(StringBuilder csv, String value, int maxLength) {
+        if (value == null) {
+            return csv;
+        }
+        String text = value.length() > maxLength ? value.substring(0, maxLength) : value;
+        return csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+    private static StringBuilder appendNumber(StringBuilder csv, Number value) {
+        return value == null ? csv : csv.append(value);
+    }
+}
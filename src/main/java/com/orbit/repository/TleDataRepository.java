@@ -3,7 +3,9 @@ package com.orbit.repository;
 import com.orbit.entity.Satellite;
 import com.orbit.entity.TleData;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -13,4 +15,10 @@ public interface TleDataRepository extends JpaRepository<TleData, Long> {
     Optional<TleData> findBySatellite(Satellite satellite);
 
     List<TleData> findAllBySatelliteIn(Set<Satellite> satellites);
+
+    @Query("SELECT t FROM TleData t JOIN FETCH t.satellite")
+    List<TleData> findAllWithSatellite();
+
+    @Query("SELECT MAX(t.epoch) FROM TleData t")
+    LocalDateTime findLatestEpoch();
 }
\ No newline at end of file
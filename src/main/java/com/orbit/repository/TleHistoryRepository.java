@@ -0,0 +1,201 @@
+package com.orbit.repository;
+
+import com.orbit.config.TleHistoryConfig;
+import com.orbit.dto.HistoricalTle;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import jakarta.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only store of every ingested element set, one {@link TleRecordCodec} record per
+ * (NORAD ID, epoch). The table is range-partitioned by epoch month. Monthly partitions
+ * are created ahead of time on their own connection, never inside an ingest transaction;
+ * epochs outside them (old catalog dumps) go to a default partition. Time-travel queries
+ * only touch the partitions inside their lookback window and read the latest epoch of
+ * each object from the covering (norad_id, epoch DESC) INCLUDE (elements) index.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class TleHistoryRepository {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    /** Partitions created at startup for months before the current one, for recent late-published sets. */
+    private static final int PARTITION_MONTHS_BEHIND = 2;
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS tle_history (" +
+            "norad_id integer NOT NULL, " +
+            "epoch timestamp NOT NULL, " +
+            "elements bytea NOT NULL, " +
+            "ingested_at timestamp NOT NULL, " +
+            "PRIMARY KEY (norad_id, epoch)" +
+            ") PARTITION BY RANGE (epoch)";
+
+    private static final String CREATE_DEFAULT_PARTITION =
+            "CREATE TABLE IF NOT EXISTS tle_history_default PARTITION OF tle_history DEFAULT";
+
+    /** Lets the as-of lookup read epoch and record without visiting the heap. */
+    private static final String CREATE_LATEST_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_tle_history_latest ON tle_history (norad_id, epoch DESC) INCLUDE (elements)";
+
+    private static final String PARTITION_EXISTS = "SELECT to_regclass(?) IS NOT NULL";
+
+    private static final String APPEND_FROM_STAGING =
+            "INSERT INTO tle_history (norad_id, epoch, elements, ingested_at) " +
+            "SELECT norad_id, tle_epoch, elements, LOCALTIMESTAMP FROM tle_staging " +
+            "WHERE elements IS NOT NULL " +
+            "ON CONFLICT (norad_id, epoch) DO NOTHING";
+
+    private static final String CATALOG_AS_OF =
+            "SELECT s.norad_id, h.epoch, h.elements FROM satellites s " +
+            "CROSS JOIN LATERAL (" +
+            "SELECT epoch, elements FROM tle_history " +
+            "WHERE norad_id = s.norad_id AND epoch <= ? AND epoch > ? " +
+            "ORDER BY epoch DESC LIMIT 1) h " +
+            "ORDER BY s.norad_id";
+
+    private static final String HISTORY_FOR_NORAD =
+            "SELECT norad_id, epoch, elements FROM tle_history " +
+            "WHERE norad_id = ? AND epoch >= ? AND epoch <= ? " +
+            "ORDER BY epoch";
+
+    private final DataSource dataSource;
+    private final TleHistoryConfig config;
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    @PostConstruct
+    void createTable() throws SQLException {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+            statement.execute(CREATE_DEFAULT_PARTITION);
+            statement.execute(CREATE_LATEST_INDEX);
+        }
+        YearMonth now = YearMonth.now();
+        createPartitions(now.minusMonths(PARTITION_MONTHS_BEHIND), now.plusMonths(config.getPartitionMonthsAhead()));
+    }
+
+    /**
+     * Creates the monthly partitions from the current month to
+     * {@code tle.history.partition-months-ahead} months ahead that do not exist yet.
+     * Called by the TLE update schedule before each fetch.
+     */
+    public void createUpcomingPartitions() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        YearMonth now = YearMonth.now();
+        createPartitions(now, now.plusMonths(config.getPartitionMonthsAhead()));
+    }
+
+    /**
+     * Runs on a connection of its own in auto-commit mode, so the DDL never joins (or
+     * waits on locks held by) the caller's transaction. A month that cannot be created,
+     * e.g. because the default partition already holds rows for it, is left to the
+     * default partition.
+     */
+    private void createPartitions(YearMonth from, YearMonth to) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement exists = connection.prepareStatement(PARTITION_EXISTS);
+             Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                LocalDate start = month.atDay(1);
+                String partition = "tle_history_" + start.format(PARTITION_SUFFIX);
+                exists.setString(1, partition);
+                try (ResultSet rs = exists.executeQuery()) {
+                    rs.next();
+                    if (rs.getBoolean(1)) {
+                        continue;
+                    }
+                }
+                try {
+                    statement.execute(String.format(
+                            "CREATE TABLE IF NOT EXISTS %s PARTITION OF tle_history FOR VALUES FROM ('%s') TO ('%s')",
+                            partition, start, start.plusMonths(1)));
+                    log.info("Created TLE history partition {}", partition);
+                } catch (SQLException e) {
+                    log.warn("Could not create TLE history partition {}: {}", partition, e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("TLE history partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Appends the staged rows that carry an encoded record. Runs on the bulk upsert's
+     * connection and transaction; partitions are never created here.
+     *
+     * @return number of element sets not already in the history
+     */
+    int appendFromStaging(Statement statement) throws SQLException {
+        return statement.executeUpdate(APPEND_FROM_STAGING);
+    }
+
+    /**
+     * The latest element set of every known object with an epoch in
+     * {@code (asOf - lookbackDays, asOf]}.
+     */
+    public List<HistoricalTle> findCatalogAsOf(LocalDateTime asOf, int lookbackDays) {
+        return query(CATALOG_AS_OF, asOf, asOf.minusDays(lookbackDays));
+    }
+
+    public List<HistoricalTle> findByNoradId(int noradId, LocalDateTime from, LocalDateTime to) {
+        return query(HISTORY_FOR_NORAD, noradId, from, to);
+    }
+
+    private List<HistoricalTle> query(String sql, Object... parameters) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                Object parameter = parameters[i];
+                if (parameter instanceof LocalDateTime time) {
+                    statement.setTimestamp(i + 1, Timestamp.valueOf(time));
+                } else {
+                    statement.setObject(i + 1, parameter);
+                }
+            }
+            statement.setFetchSize(5000);
+
+            List<HistoricalTle> result = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    int noradId = rs.getInt(1);
+                    LocalDateTime epoch = rs.getTimestamp(2).toLocalDateTime();
+                    String[] lines = TleRecordCodec.decode(noradId, epoch, rs.getBytes(3));
+                    result.add(new HistoricalTle(noradId, epoch, lines[0], lines[1]));
+                }
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new IllegalStateException("TLE history query failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
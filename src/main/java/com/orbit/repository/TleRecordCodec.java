@@ -0,0 +1,236 @@
+package com.orbit.repository;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Fixed-width binary form of a two-line element set for the history store. Every TLE
+ * field is kept as the scaled integer it is printed from (e.g. inclination in 1e-4
+ * degrees), so a record is {@value #RECORD_SIZE} bytes instead of two 69-character
+ * lines plus parsed doubles, and {@link #decode} rebuilds the original lines exactly.
+ * The catalog number and epoch are not part of the record; they are the table key.
+ */
+public final class TleRecordCodec {
+
+    public static final int RECORD_SIZE = 59;
+
+    private static final byte VERSION = 1;
+    private static final String ALPHA5_LETTERS = "ABCDEFGHJKLMNPQRSTUVWXYZ";
+    private static final long MICROS_PER_DAY = 86_400_000_000L;
+
+    private TleRecordCodec() {
+    }
+
+    /**
+     * Exact instant of the line 1 epoch field ({@code YYDDD.DDDDDDDD}); used as the
+     * history key so that {@link #decode} can print the field back unchanged.
+     */
+    public static LocalDateTime lineEpoch(String line1) {
+        int yy = Integer.parseInt(line1.substring(18, 20));
+        int year = yy < 57 ? 2000 + yy : 1900 + yy;
+        int dayOfYear = Integer.parseInt(line1.substring(20, 23).trim());
+        long fraction = Long.parseLong(line1.substring(24, 32));
+        long micros = (dayOfYear - 1) * MICROS_PER_DAY + fraction * 864;
+        return LocalDate.ofYearDay(year, 1).atStartOfDay().plus(micros, ChronoUnit.MICROS);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the lines are not well-formed TLE lines
+     */
+    public static byte[] encode(String line1, String line2) {
+        if (line1 == null || line2 == null || line1.length() < 68 || line2.length() < 68
+                || line1.charAt(0) != '1' || line2.charAt(0) != '2') {
+            throw new IllegalArgumentException("Not a two-line element set");
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+            buffer.put(VERSION);
+            buffer.put((byte) line1.charAt(7));
+            buffer.put((byte) line1.charAt(62));
+            for (int i = 9; i < 17; i++) {
+                buffer.put((byte) line1.charAt(i));
+            }
+            buffer.putShort((short) scaled(line1, 64, 68));
+            buffer.putInt((int) scaled(line2, 63, 68));
+            buffer.putLong(scaled(line2, 52, 63));
+            buffer.putInt((int) scaled(line1, 33, 43));
+            putExponential(buffer, line1, 44);
+            putExponential(buffer, line1, 53);
+            buffer.putInt((int) scaled(line2, 8, 16));
+            buffer.putInt((int) scaled(line2, 17, 25));
+            buffer.putInt((int) scaled(line2, 26, 33));
+            buffer.putInt((int) scaled(line2, 34, 42));
+            buffer.putInt((int) scaled(line2, 43, 51));
+            return buffer.array();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed TLE field: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Rebuilds both lines, including checksums.
+     */
+    public static String[] decode(int noradId, LocalDateTime epoch, byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        byte version = buffer.get();
+        if (version != VERSION || record.length != RECORD_SIZE) {
+            throw new IllegalArgumentException("Unsupported TLE record version " + version);
+        }
+        char classification = (char) buffer.get();
+        char ephemerisType = (char) buffer.get();
+        byte[] intldes = new byte[8];
+        buffer.get(intldes);
+        int elementSetNo = buffer.getShort();
+        int revolution = buffer.getInt();
+        long meanMotion = buffer.getLong();
+        int meanMotionDot = buffer.getInt();
+        int meanMotionDdotMantissa = buffer.getInt();
+        byte meanMotionDdotExponent = buffer.get();
+        int bstarMantissa = buffer.getInt();
+        byte bstarExponent = buffer.get();
+        int inclination = buffer.getInt();
+        int raan = buffer.getInt();
+        int eccentricity = buffer.getInt();
+        int argOfPerigee = buffer.getInt();
+        int meanAnomaly = buffer.getInt();
+
+        String catalogNumber = catalogNumber(noradId);
+
+        StringBuilder line1 = new StringBuilder(69)
+                .append("1 ").append(catalogNumber).append(classification).append(' ');
+        for (byte b : intldes) {
+            line1.append((char) b);
+        }
+        line1.append(' ');
+        appendEpoch(line1, epoch);
+        line1.append(' ').append(meanMotionDot < 0 ? '-' : ' ').append('.');
+        padLeft(line1, Math.abs(meanMotionDot), 8, '0');
+        line1.append(' ');
+        appendExponential(line1, meanMotionDdotMantissa, meanMotionDdotExponent);
+        line1.append(' ');
+        appendExponential(line1, bstarMantissa, bstarExponent);
+        line1.append(' ').append(ephemerisType).append(' ');
+        padLeft(line1, elementSetNo, 4, ' ');
+        line1.append(checksum(line1));
+
+        StringBuilder line2 = new StringBuilder(69)
+                .append("2 ").append(catalogNumber).append(' ');
+        appendFixed(line2, inclination, 8, 4);
+        line2.append(' ');
+        appendFixed(line2, raan, 8, 4);
+        line2.append(' ');
+        padLeft(line2, eccentricity, 7, '0');
+        line2.append(' ');
+        appendFixed(line2, argOfPerigee, 8, 4);
+        line2.append(' ');
+        appendFixed(line2, meanAnomaly, 8, 4);
+        line2.append(' ');
+        appendFixed(line2, meanMotion, 11, 8);
+        padLeft(line2, revolution, 5, ' ');
+        line2.append(checksum(line2));
+
+        return new String[]{line1.toString(), line2.toString()};
+    }
+
+    /** Digits of a fixed-width field as an integer, ignoring spaces and the decimal point. */
+    private static long scaled(String line, int from, int to) {
+        long value = 0;
+        boolean negative = false;
+        for (int i = from; i < to; i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+            } else if (c == '-') {
+                negative = true;
+            } else if (c != ' ' && c != '.' && c != '+') {
+                throw new NumberFormatException("'" + line.substring(from, to) + "'");
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Stores an assumed-decimal field such as {@code " 12345-3"} as a signed mantissa and
+     * the exponent as ±(digit + 1), which keeps the sign of a zero exponent.
+     */
+    private static void putExponential(ByteBuffer buffer, String line, int from) {
+        int mantissa = (int) scaled(line, from, from + 6);
+        char exponentSign = line.charAt(from + 6);
+        int exponent = line.charAt(from + 7) - '0';
+        if (exponent < 0 || exponent > 9 || (exponentSign != '-' && exponentSign != '+' && exponentSign != ' ')) {
+            throw new NumberFormatException("'" + line.substring(from, from + 8) + "'");
+        }
+        buffer.putInt(mantissa);
+        buffer.put((byte) (exponentSign == '-' ? -(exponent + 1) : exponent + 1));
+    }
+
+    private static void appendExponential(StringBuilder line, int mantissa, byte exponent) {
+        line.append(mantissa < 0 ? '-' : ' ');
+        padLeft(line, Math.abs(mantissa), 5, '0');
+        line.append(exponent < 0 ? '-' : '+').append(Math.abs(exponent) - 1);
+    }
+
+    private static void appendEpoch(StringBuilder line, LocalDateTime epoch) {
+        LocalDateTime yearStart = LocalDate.ofYearDay(epoch.getYear(), 1).atStartOfDay();
+        long micros = ChronoUnit.MICROS.between(yearStart, epoch);
+        long day = micros / MICROS_PER_DAY + 1;
+        long fraction = Math.round((micros % MICROS_PER_DAY) / 864.0);
+        if (fraction == 100_000_000L) {
+            day++;
+            fraction = 0;
+        }
+        padLeft(line, epoch.getYear() % 100, 2, '0');
+        padLeft(line, day, 3, '0');
+        line.append('.');
+        padLeft(line, fraction, 8, '0');
+    }
+
+    /** Right-aligned fixed-point number with {@code decimals} digits after the point. */
+    private static void appendFixed(StringBuilder line, long scaled, int width, int decimals) {
+        long divisor = 1;
+        for (int i = 0; i < decimals; i++) {
+            divisor *= 10;
+        }
+        long integral = scaled / divisor;
+        String integer = (scaled < 0 ? "-" : "") + Math.abs(integral);
+        for (int i = integer.length() + 1 + decimals; i < width; i++) {
+            line.append(' ');
+        }
+        line.append(integer).append('.');
+        padLeft(line, Math.abs(scaled % divisor), decimals, '0');
+    }
+
+    private static void padLeft(StringBuilder line, long value, int width, char pad) {
+        String digits = Long.toString(value);
+        for (int i = digits.length(); i < width; i++) {
+            line.append(pad);
+        }
+        line.append(digits);
+    }
+
+    private static String catalogNumber(int noradId) {
+        if (noradId < 100_000) {
+            StringBuilder number = new StringBuilder(5);
+            padLeft(number, noradId, 5, '0');
+            return number.toString();
+        }
+        StringBuilder number = new StringBuilder(5).append(ALPHA5_LETTERS.charAt(noradId / 10_000 - 10));
+        padLeft(number, noradId % 10_000, 4, '0');
+        return number.toString();
+    }
+
+    private static int checksum(CharSequence line) {
+        int sum = 0;
+        for (int i = 0; i < 68; i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9') {
+                sum += c - '0';
+            } else if (c == '-') {
+                sum++;
+            }
+        }
+        return sum % 10;
+    }
+}
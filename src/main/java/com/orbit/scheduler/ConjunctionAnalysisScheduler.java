@@ -1,52 +1,197 @@
 package com.orbit.scheduler;
 
 import com.orbit.service.ConjunctionAnalysisService;
+import com.orbit.service.SpaceTrackService;
+import com.orbit.service.TleIngestCompletedEvent;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Runs the conjunction analysis of the configured primaries. By default it is driven by
+ * {@link TleIngestCompletedEvent}: every ingest that changed at least one element set
+ * queues the primaries, and the queue is drained once no further ingest has committed for
+ * {@code conjunction.analysis.debounce-seconds} and none is still writing, so screening
+ * always reads a freshly committed catalog. A steady stream of ingests cannot hold the
+ * queue back for longer than {@code conjunction.analysis.max-delay-seconds} from the oldest
+ * queued primary, except while an ingest is still writing. That check is catalog-wide
+ * rather than per primary: every analysis screens its primary against the whole catalog,
+ * so any running ingest would leave it reading a partly updated one. With {@code conjunction.analysis.trigger=CRON}
+ * it runs on {@code conjunction.analysis.cron} instead, whatever the state of the catalog.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(name = "conjunction.analysis.enabled", havingValue = "true")
 public class ConjunctionAnalysisScheduler {
     private final ConjunctionAnalysisService  conjunctionAnalysisService;
+    private final SpaceTrackService spaceTrackService;
+
+    public enum Trigger {
+        /** Analyse after each TLE ingest that changed the catalog. */
+        INGEST,
+        /** Analyse on {@code conjunction.analysis.cron}. */
+        CRON
+    }
 
     @Value("${conjunction.analysis.primary.norad.ids:}")
     private String primaryNoradIdsStr;
 
+    @Value("${conjunction.analysis.trigger:INGEST}")
+    private Trigger trigger;
+
+    @Value("${conjunction.analysis.debounce-seconds:60}")
+    private long debounceSeconds;
+
+    @Value("${conjunction.analysis.max-delay-seconds:600}")
+    private long maxDelaySeconds;
+
+    @Value("${conjunction.analysis.queue-capacity:64}")
+    private int queueCapacity;
+
+    /** Primaries waiting for analysis, in arrival order; guarded by {@code this}. */
+    private final Set<Integer> pending = new LinkedHashSet<>();
+    /** {@link System#nanoTime()} when {@code pending} last went from empty to not; guarded by {@code this}. */
+    private long pendingSinceNanos;
+    private ScheduledFuture<?> scheduledDrain;
+    private final ScheduledExecutorService analysisExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "conjunction-analysis");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    void shutdown() {
+        analysisExecutor.shutdownNow();
+    }
+
+    @EventListener
+    public void onTleIngestCompleted(TleIngestCompletedEvent event) {
+        if (trigger != Trigger.INGEST) {
+            return;
+        }
+        if (!event.hasChanges()) {
+            log.debug("TLE ingest changed no element sets, not queueing conjunction analysis");
+            return;
+        }
+        List<Integer> primaryNoradIds = primaryNoradIds();
+        if (primaryNoradIds.isEmpty()) {
+            log.warn("No primary NORAD IDs configured for conjunction analysis");
+            return;
+        }
+
+        int dropped = 0;
+        long delaySeconds;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                pendingSinceNanos = System.nanoTime();
+            }
+            for (Integer noradId : primaryNoradIds) {
+                if (!pending.contains(noradId) && pending.size() >= queueCapacity) {
+                    dropped++;
+                } else {
+                    pending.add(noradId);
+                }
+            }
+            delaySeconds = scheduleDrain(debounceDelaySeconds());
+        }
+        if (dropped > 0) {
+            log.warn("Conjunction analysis queue is full ({} primaries), dropped {}", queueCapacity, dropped);
+        }
+        log.info("TLE ingest changed {} element sets, conjunction analysis of {} primaries starts in {} s",
+                event.changedNoradIds().length, primaryNoradIds.size(), delaySeconds);
+    }
+
+    /** The debounce delay, cut short once the oldest queued primary nears the maximum delay. */
+    private synchronized long debounceDelaySeconds() {
+        long waitedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - pendingSinceNanos);
+        return Math.max(0, Math.min(debounceSeconds, maxDelaySeconds - waitedSeconds));
+    }
+
+    /** (Re)starts the delay; a drain that is already analysing is left to finish. */
+    private synchronized long scheduleDrain(long delaySeconds) {
+        if (scheduledDrain != null) {
+            scheduledDrain.cancel(false);
+        }
+        scheduledDrain = analysisExecutor.schedule(this::drain, delaySeconds, TimeUnit.SECONDS);
+        return delaySeconds;
+    }
+
+    private void drain() {
+        while (true) {
+            Integer noradId;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                if (spaceTrackService.isIngestInProgress()) {
+                    log.info("TLE ingest in progress, postponing conjunction analysis of {} primaries by {} s",
+                            pending.size(), debounceSeconds);
+                    scheduleDrain(debounceSeconds);
+                    return;
+                }
+                Iterator<Integer> next = pending.iterator();
+                noradId = next.next();
+                next.remove();
+            }
+            analyze(noradId);
+        }
+    }
+
     @Scheduled(cron = "${conjunction.analysis.cron:0 0 */6 * * *}")
     public void scheduledConjunctionAnalysis() {
-        if(primaryNoradIdsStr == null || primaryNoradIdsStr.trim().isEmpty()) {
+        if (trigger != Trigger.CRON) {
+            return;
+        }
+        List<Integer> primaryNoradIds = primaryNoradIds();
+        if (primaryNoradIds.isEmpty()) {
             log.warn("No primary NORAD IDs configured for conjunction analysis");
             return;
         }
 
-        List<Integer> primaryNoradIds = Arrays.stream(primaryNoradIdsStr.split(","))
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .map(Integer::parseInt)
-                .toList();
-
         log.info("Starting scheduled conjunction analysis for {} primary satellites",  primaryNoradIds.size());
 
         for(Integer noradId : primaryNoradIds) {
-            try {
-                log.info("Analyzing conjunctions for NORAD ID: {}", noradId);
-                conjunctionAnalysisService.analyzeConjunctions(noradId);
-            } catch (Exception e) {
-                log.error("Failed to analyze conjunctions for NORAD {}: {}", noradId, e.getMessage(),e);
-            }
+            analyze(noradId);
         }
         log.info("Scheduled conjunction analysis completed");
     }
 
+    private void analyze(Integer noradId) {
+        try {
+            log.info("Analyzing conjunctions for NORAD ID: {}", noradId);
+            conjunctionAnalysisService.analyzeConjunctions(noradId);
+        } catch (Exception e) {
+            log.error("Failed to analyze conjunctions for NORAD {}: {}", noradId, e.getMessage(),e);
+        }
+    }
+
+    private List<Integer> primaryNoradIds() {
+        if(primaryNoradIdsStr == null || primaryNoradIdsStr.trim().isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(primaryNoradIdsStr.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(Integer::parseInt)
+                .toList();
+    }
+
     @Scheduled(cron = "${conjunction.cleanup.cron:0 0 2 * * SUN}")
     public void scheduledCleanup() {
         int daysToKeep = 30;
@@ -0,0 +1,150 @@
+package com.orbit.scheduler;
+
+import com.orbit.entity.ConjunctionEvent;
+import com.orbit.service.ConjunctionWatchlistService;
+import com.orbit.service.ConjunctionWatchlistService.Outcome;
+import com.orbit.service.ConjunctionWatchlistService.WatchedPair;
+import com.orbit.service.SpaceTrackService;
+import com.orbit.service.TleIngestCompletedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rescreens known conjunctions of the configured primaries between full analyses, each at
+ * its own cadence: CRITICAL and HIGH pairs every few minutes, LOW pairs about once a day,
+ * all of them more often as their TCA approaches (see
+ * {@link ConjunctionWatchlistService#rescreenInterval}). A pair is also due as soon as an
+ * ingest has committed a new element set for either object, so follow-ups always use the
+ * freshest TLEs on hand. A pair whose approach has cleared has its events marked cleared,
+ * so it drops out of the watchlist until a newer analysis saves an event for it again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "conjunction.watchlist.enabled", havingValue = "true")
+public class ConjunctionWatchlistScheduler {
+
+    private final ConjunctionWatchlistService watchlistService;
+    private final SpaceTrackService spaceTrackService;
+
+    private record PairKey(int primaryNoradId, int secondaryNoradId) {}
+
+    @Value("${conjunction.analysis.primary.norad.ids:}")
+    private String primaryNoradIdsStr;
+
+    @Value("${conjunction.watchlist.risk-levels:CRITICAL,HIGH,MEDIUM,LOW}")
+    private List<ConjunctionEvent.RiskLevel> riskLevels;
+
+    /** Last rescreen of each watched pair, whatever its outcome; only touched by the scheduler thread. */
+    private final Map<PairKey, LocalDateTime> rescreenedAt = new HashMap<>();
+    /** NORAD IDs with a new element set since the last tick; guarded by {@code this}. */
+    private BitSet changedSinceTick = new BitSet();
+
+    @EventListener
+    public synchronized void onTleIngestCompleted(TleIngestCompletedEvent event) {
+        for (int noradId : event.changedNoradIds()) {
+            changedSinceTick.set(noradId);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${conjunction.watchlist.tick-seconds:60}",
+            fixedDelayString = "${conjunction.watchlist.tick-seconds:60}",
+            timeUnit = TimeUnit.SECONDS)
+    public void rescreenDuePairs() {
+        if (spaceTrackService.isIngestInProgress()) {
+            log.debug("TLE ingest in progress, skipping watchlist tick");
+            return;
+        }
+        BitSet changed;
+        synchronized (this) {
+            changed = changedSinceTick;
+            changedSinceTick = new BitSet();
+        }
+
+        long startTime = System.currentTimeMillis();
+        Set<PairKey> watched = new HashSet<>();
+        Map<Outcome, Integer> outcomes = new EnumMap<>(Outcome.class);
+        for (Integer primaryNoradId : primaryNoradIds()) {
+            List<WatchedPair> pairs;
+            try {
+                pairs = watchlistService.loadWatchlist(primaryNoradId, riskLevels);
+            } catch (Exception e) {
+                log.error("Failed to load the watchlist of NORAD {}: {}", primaryNoradId, e.getMessage(), e);
+                continue;
+            }
+            for (WatchedPair pair : pairs) {
+                PairKey key = new PairKey(pair.primaryNoradId(), pair.secondaryNoradId());
+                watched.add(key);
+                boolean tleChanged = changed.get(pair.primaryNoradId()) || changed.get(pair.secondaryNoradId());
+                if (tleChanged || isDue(key, pair)) {
+                    rescreen(key, pair, outcomes);
+                }
+            }
+        }
+        rescreenedAt.keySet().retainAll(watched);
+
+        if (!outcomes.isEmpty()) {
+            log.info("Watchlist: {} pairs watched, rescreened {} in {} ms",
+                    watched.size(), outcomes, System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private boolean isDue(PairKey key, WatchedPair pair) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime last = pair.screeningEpoch();
+        LocalDateTime rescreened = rescreenedAt.get(key);
+        if (last == null || (rescreened != null && rescreened.isAfter(last))) {
+            last = rescreened;
+        }
+        if (last == null) {
+            return true;
+        }
+        Duration interval = watchlistService.rescreenInterval(pair.riskLevel(), Duration.between(now, pair.tca()));
+        return !last.plus(interval).isAfter(now);
+    }
+
+    private void rescreen(PairKey key, WatchedPair pair, Map<Outcome, Integer> outcomes) {
+        Outcome outcome;
+        try {
+            ConjunctionWatchlistService.Rescreen rescreen = watchlistService.rescreen(pair);
+            outcome = rescreen.outcome();
+            if (outcome == Outcome.CONFIRMED && rescreen.pair().riskLevel() != pair.riskLevel()) {
+                log.info("Pair {}-{} rescreened from {} to {}: TCA {}", pair.primaryNoradId(),
+                        pair.secondaryNoradId(), pair.riskLevel(), rescreen.pair().riskLevel(), rescreen.pair().tca());
+            }
+        } catch (Exception e) {
+            log.error("Failed to rescreen {}-{}: {}", pair.primaryNoradId(), pair.secondaryNoradId(), e.getMessage(), e);
+            outcome = Outcome.FAILED;
+        }
+        rescreenedAt.put(key, LocalDateTime.now());
+        outcomes.merge(outcome, 1, Integer::sum);
+    }
+
+    private List<Integer> primaryNoradIds() {
+        if (primaryNoradIdsStr == null || primaryNoradIdsStr.trim().isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(primaryNoradIdsStr.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(Integer::parseInt)
+                .toList();
+    }
+}
@@ -0,0 +1,171 @@
+package com.orbit.scheduler;
+
+import com.orbit.dto.ConjunctionResult;
+import com.orbit.entity.Satellite;
+import com.orbit.entity.TleData;
+import com.orbit.repository.SatelliteRepository;
+import com.orbit.repository.TleDataRepository;
+import com.orbit.service.AnalysisMetrics;
+import com.orbit.service.ConjunctionScreeningService;
+import com.orbit.service.PropagationService;
+import com.orbit.service.RiskAssessmentService;
+import com.orbit.service.SatelliteFilterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.time.TimeScalesFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Screens a bundled synthetic catalog through the same filter, screening and risk
+ * code as a real analysis, plus a few read queries, before the application reports
+ * ready, so the first real analysis after a deploy runs compiled rather than
+ * interpreted code. Nothing is persisted, and the screening is kept out of the
+ * {@link AnalysisMetrics} counters. Also serves as the training run for the
+ * {@code cdsArchive} Gradle task ({@code warmup.screening.exit=true} stops the JVM
+ * once it is done).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "warmup.screening.enabled", havingValue = "true")
+public class ScreeningWarmupRunner implements ApplicationRunner {
+
+    private final ConjunctionScreeningService screeningService;
+    private final SatelliteFilterService filterService;
+    private final RiskAssessmentService riskAssessmentService;
+    private final PropagationService propagationService;
+    private final AnalysisMetrics metrics;
+    private final SatelliteRepository satelliteRepository;
+    private final TleDataRepository tleDataRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${warmup.screening.catalog:classpath:warmup/synthetic-catalog.3le}")
+    private Resource catalog;
+
+    @Value("${warmup.screening.rounds:1}")
+    private int rounds;
+
+    @Value("${warmup.screening.exit:false}")
+    private boolean exitWhenDone;
+
+    @Value("${conjunction.filter.raan.tolerance.deg:45.0}")
+    private double raanToleranceDeg;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long startTime = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        List<TleData> tles = loadCatalog(now);
+        TleData primary = tles.get(0);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        long firstRoundMs = 0;
+        long lastRoundMs = 0;
+        for (int round = 1; round <= rounds; round++) {
+            long roundStart = System.currentTimeMillis();
+            satelliteRepository.findByNoradId(primary.getSatellite().getNoradId());
+            tleDataRepository.findLatestEpoch();
+            // Entity loading and the lazy satellite fetches the candidate filter triggers.
+            transactionTemplate.executeWithoutResult(status -> filterService.filterCandidates(
+                    primary, tleDataRepository.findAll(PageRequest.of(0, 500)).getContent()));
+
+            List<TleData> coarse = filterService.filterCandidates(primary, tles);
+            List<TleData> candidates = filterService.filterOutCoLocated(primary,
+                    filterService.refineByRaan(primary, coarse, raanToleranceDeg));
+            List<ConjunctionResult> results = metrics.withoutRecording(
+                    () -> screeningService.screenMultiplePairs(primary, candidates, now));
+            for (ConjunctionResult result : results) {
+                riskAssessmentService.assessRisk(result, now);
+            }
+
+            lastRoundMs = System.currentTimeMillis() - roundStart;
+            if (round == 1) {
+                firstRoundMs = lastRoundMs;
+            }
+            log.info("Warm-up round {}/{}: screened {} synthetic pairs in {} ms ({} conjunctions)",
+                    round, rounds, candidates.size(), lastRoundMs, results.size());
+        }
+        log.info("Screening warm-up done in {} ms: first round {} ms, last round {} ms",
+                System.currentTimeMillis() - startTime, firstRoundMs, lastRoundMs);
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    /**
+     * Reads the bundled 3LE file and moves every element set to {@code epoch}, so
+     * that the staleness checks treat the catalog as fresh.
+     */
+    private List<TleData> loadCatalog(LocalDateTime epoch) throws IOException {
+        List<TleData> tles = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(catalog.getInputStream(), StandardCharsets.US_ASCII))) {
+            String name;
+            while ((name = reader.readLine()) != null) {
+                String line1 = reader.readLine();
+                String line2 = reader.readLine();
+                if (line1 == null || line2 == null) {
+                    break;
+                }
+                tles.add(toTleData(name.trim(), new TLE(line1, line2), epoch));
+            }
+        }
+        if (tles.size() < 2) {
+            throw new IllegalStateException("Warm-up catalog " + catalog + " needs at least two element sets");
+        }
+        return tles;
+    }
+
+    private TleData toTleData(String name, TLE source, LocalDateTime epoch) {
+        TLE tle = new TLE(source.getSatelliteNumber(), source.getClassification(), source.getLaunchYear(),
+                source.getLaunchNumber(), source.getLaunchPiece(), source.getEphemerisType(),
+                source.getElementNumber(), propagationService.toAbsoluteDate(epoch),
+                source.getMeanMotion(), source.getMeanMotionFirstDerivative(),
+                source.getMeanMotionSecondDerivative(), source.getE(), source.getI(),
+                source.getPerigeeArgument(), source.getRaan(), source.getMeanAnomaly(),
+                source.getRevolutionNumberAtEpoch(), source.getBStar(), TimeScalesFactory.getUTC());
+
+        Satellite satellite = new Satellite();
+        satellite.setNoradId(tle.getSatelliteNumber());
+        satellite.setName(name);
+
+        TleData tleData = new TleData();
+        tleData.setSatellite(satellite);
+        tleData.setLine1(tle.getLine1());
+        tleData.setLine2(tle.getLine2());
+        tleData.setEpoch(epoch);
+        tleData.setMeanMotion(tle.getMeanMotion() * 86400.0 / (2 * Math.PI));
+        tleData.setEccentricity(tle.getE());
+        tleData.setInclination(Math.toDegrees(tle.getI()));
+        tleData.setRaan(Math.toDegrees(tle.getRaan()));
+        tleData.setArgumentOfPerigee(Math.toDegrees(tle.getPerigeeArgument()));
+        tleData.setMeanAnomaly(Math.toDegrees(tle.getMeanAnomaly()));
+        return tleData;
+    }
+}
@@ -0,0 +1,56 @@
+package com.orbit.scheduler;
+
+import com.orbit.dto.IngestReport;
+import com.orbit.service.TleImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * One-shot catalog import at startup, e.g.
+ * {@code java -jar orbit.jar --tle.import.file=/data/catalog.3le --tle.update.enabled=false}.
+ * Exits once the import is done unless {@code tle.import.exit=false}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "tle.import.file")
+public class TleImportCommand implements ApplicationRunner {
+
+    private final TleImportService tleImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${tle.import.file}")
+    private String file;
+
+    @Value("${tle.import.format:#{null}}")
+    private TleImportService.Format format;
+
+    @Value("${tle.import.exit:true}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int exitCode = 0;
+        try {
+            IngestReport report = tleImportService.importFile(Path.of(file), format);
+            log.info("Command-line catalog import finished: {}", report);
+        } catch (Exception e) {
+            log.error("Command-line catalog import of {} failed: {}", file, e.getMessage(), e);
+            exitCode = 1;
+        }
+
+        if (exitWhenDone) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
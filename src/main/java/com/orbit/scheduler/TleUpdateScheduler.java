@@ -1,6 +1,7 @@
 package com.orbit.scheduler;
 
 import com.orbit.service.SpaceTrackService;
+import com.orbit.service.TleHistoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +10,8 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -17,10 +20,14 @@ import java.time.LocalDateTime;
 public class TleUpdateScheduler {
 
     private final SpaceTrackService spaceTrackService;
+    private final TleHistoryService tleHistoryService;
 
     @Value("${tle.critical.update.enabled:false}")
     private boolean criticalUpdateEnabled;
 
+    @Value("${tle.critical.norad.ids:25544,48274,43013}")
+    private String criticalNoradIdsStr;
+
     @Scheduled(initialDelay = 60000, fixedDelay = Long.MAX_VALUE)
     public void fetchOnStartup() {
         log.info("Application startup: Fetching latest TLE data");
@@ -38,6 +45,8 @@ public class TleUpdateScheduler {
         log.info("Starting scheduled TLE update at {}", LocalDateTime.now());
 
         try {
+            // Outside the ingest transaction, which must not run partition DDL itself.
+            tleHistoryService.createUpcomingPartitions();
             spaceTrackService.fetchAndSaveLatestTles();
             log.info("Scheduled TLE update completed successfully");
         } catch (Exception e) {
@@ -54,12 +63,13 @@ public class TleUpdateScheduler {
         log.info("Starting critical satellites TLE update at {}", LocalDateTime.now());
 
         try {
-            Integer[] criticalSatellites = {25544, 48274, 43013};
-
-            for (Integer noradId : criticalSatellites) {
-                spaceTrackService.fetchAndSaveTleByNoradId(noradId);
-            }
+            List<Integer> criticalSatellites = Arrays.stream(criticalNoradIdsStr.split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .map(Integer::parseInt)
+                    .toList();
 
+            spaceTrackService.fetchAndSaveTlesByNoradIds(criticalSatellites);
             log.info("Critical satellites TLE update completed successfully");
         } catch (Exception e) {
             log.error("Critical satellites TLE update failed: {}", e.getMessage(), e);
@@ -0,0 +1,175 @@
+package com.orbit.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the conjunction analysis pipeline, exported at {@code /actuator/prometheus}:
+ * <ul>
+ *   <li>{@code orbit.analysis.stage} timer, tagged {@code stage}, one per pipeline stage</li>
+ *   <li>{@code orbit.analysis} timer of whole analyses, tagged {@code outcome}</li>
+ *   <li>{@code orbit.analysis.in.flight} gauge of analyses currently running</li>
+ *   <li>{@code orbit.analysis.queued} gauge of analyses waiting for one of the
+ *       {@code conjunction.analysis.max-concurrent} slots, and {@code orbit.analysis.queue.wait}
+ *       timer of how long they waited</li>
+ *   <li>{@code orbit.analysis.coalesced} counter of requests that joined an analysis of the
+ *       same primary already in flight instead of starting one</li>
+ *   <li>{@code orbit.screening.pairs} counter, tagged {@code coarse} with {@code segments}
+ *       or {@code sgp4} depending on what the coarse scan read</li>
+ *   <li>{@code orbit.screening.propagations} and {@code orbit.screening.propagations.failed}
+ *       counters of SGP4 calls made by screening</li>
+ * </ul>
+ * Screening adds to the counters once per scan rather than per step. Screening run through
+ * {@link #withoutRecording}, such as the start-up warm-up, is not counted, here or in the
+ * {@link ValidationPolicy} anomaly counters.
+ */
+@Component
+public class AnalysisMetrics {
+
+    public enum Stage {
+        CATALOG_LOAD("catalog_load"),
+        COARSE_FILTER("coarse_filter"),
+        RAAN_FILTER("raan_filter"),
+        CO_LOCATION_FILTER("co_location_filter"),
+        SCREENING("screening"),
+        RISK_ASSESSMENT("risk_assessment"),
+        PERSISTENCE("persistence");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Counter segmentPairs;
+    private final Counter sgp4Pairs;
+    private final Counter propagations;
+    private final Counter failedPropagations;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer queueWait;
+    private final Counter coalesced;
+    private final ThreadLocal<Boolean> notRecording = new ThreadLocal<>();
+
+    public AnalysisMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("orbit.analysis.stage")
+                    .description("Time spent in one stage of a conjunction analysis")
+                    .tag("stage", stage.tag)
+                    .register(registry));
+        }
+        segmentPairs = pairsCounter("segments");
+        sgp4Pairs = pairsCounter("sgp4");
+        propagations = Counter.builder("orbit.screening.propagations")
+                .description("SGP4 propagations made while screening")
+                .register(registry);
+        failedPropagations = Counter.builder("orbit.screening.propagations.failed")
+                .description("Screening steps skipped because an SGP4 propagation threw")
+                .register(registry);
+        Gauge.builder("orbit.analysis.in.flight", inFlight, AtomicInteger::get)
+                .description("Conjunction analyses currently running")
+                .register(registry);
+        Gauge.builder("orbit.analysis.queued", queued, AtomicInteger::get)
+                .description("Conjunction analyses waiting for a free analysis slot")
+                .register(registry);
+        queueWait = Timer.builder("orbit.analysis.queue.wait")
+                .description("Time a conjunction analysis waited for a free analysis slot")
+                .register(registry);
+        coalesced = Counter.builder("orbit.analysis.coalesced")
+                .description("Analysis requests that joined an in-flight analysis of the same primary")
+                .register(registry);
+    }
+
+    private Counter pairsCounter(String coarse) {
+        return Counter.builder("orbit.screening.pairs")
+                .description("Object pairs screened")
+                .tag("coarse", coarse)
+                .register(registry);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /** @return the stage's duration in milliseconds */
+    public long record(Stage stage, Timer.Sample sample) {
+        return TimeUnit.NANOSECONDS.toMillis(sample.stop(stageTimers.get(stage)));
+    }
+
+    /** Marks an analysis as running; pass the returned sample to {@link #analysisFinished}. */
+    public Timer.Sample analysisStarted() {
+        inFlight.incrementAndGet();
+        return start();
+    }
+
+    public void analysisFinished(Timer.Sample sample, boolean success) {
+        inFlight.decrementAndGet();
+        sample.stop(Timer.builder("orbit.analysis")
+                .description("Duration of a complete conjunction analysis")
+                .tag("outcome", success ? "success" : "error")
+                .register(registry));
+    }
+
+    /** Marks an analysis as waiting for a slot; pass the returned sample to {@link #dequeued}. */
+    Timer.Sample queued() {
+        queued.incrementAndGet();
+        return start();
+    }
+
+    void dequeued(Timer.Sample sample) {
+        queued.decrementAndGet();
+        sample.stop(queueWait);
+    }
+
+    void coalesced() {
+        coalesced.increment();
+    }
+
+    /**
+     * Runs {@code work} on the calling thread without adding to the screening or validation
+     * counters.
+     */
+    public <T> T withoutRecording(Supplier<T> work) {
+        notRecording.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            notRecording.remove();
+        }
+    }
+
+    /** Whether screening on the calling thread counts towards the meters. */
+    public boolean isRecording() {
+        return notRecording.get() == null;
+    }
+
+    void pairScreened(boolean fromSegments) {
+        if (!isRecording()) {
+            return;
+        }
+        (fromSegments ? segmentPairs : sgp4Pairs).increment();
+    }
+
+    void propagated(int count, int failed) {
+        if (!isRecording()) {
+            return;
+        }
+        propagations.increment(count);
+        if (failed > 0) {
+            failedPropagations.increment(failed);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.orbit.service;
+
+import com.orbit.entity.ConjunctionEvent;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for conjunction analyses. At most one analysis per primary runs at a
+ * time: a request for a primary whose analysis is already in flight waits for that
+ * analysis and gets its result, rather than screening the same pairs again and saving a
+ * second copy of the events. Across primaries, at most
+ * {@code conjunction.analysis.max-concurrent} analyses run at once and the others wait
+ * for a slot, in arrival order. Both run on the caller's thread.
+ */
+@Component
+@Slf4j
+class AnalysisSingleFlight {
+
+    private final AnalysisMetrics metrics;
+    private final int maxConcurrent;
+    private final Semaphore slots;
+    private final ConcurrentMap<Integer, CompletableFuture<List<ConjunctionEvent>>> inFlight =
+            new ConcurrentHashMap<>();
+
+    AnalysisSingleFlight(AnalysisMetrics metrics,
+                         @Value("${conjunction.analysis.max-concurrent:2}") int maxConcurrent) {
+        this.metrics = metrics;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.slots = new Semaphore(this.maxConcurrent, true);
+    }
+
+    /**
+     * Runs {@code analysis} for {@code primaryNoradId}, or joins the run already in flight
+     * for it. Every caller sees the same (unmodifiable) result or the same exception.
+     */
+    List<ConjunctionEvent> run(Integer primaryNoradId, Supplier<List<ConjunctionEvent>> analysis) {
+        CompletableFuture<List<ConjunctionEvent>> flight = new CompletableFuture<>();
+        CompletableFuture<List<ConjunctionEvent>> running = inFlight.putIfAbsent(primaryNoradId, flight);
+        if (running != null) {
+            metrics.coalesced();
+            log.info("Analysis of NORAD {} already in flight, waiting for its result", primaryNoradId);
+            return await(running);
+        }
+
+        try {
+            flight.complete(List.copyOf(runInSlot(primaryNoradId, analysis)));
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+        } finally {
+            inFlight.remove(primaryNoradId, flight);
+        }
+        return await(flight);
+    }
+
+    private List<ConjunctionEvent> runInSlot(Integer primaryNoradId, Supplier<List<ConjunctionEvent>> analysis) {
+        Timer.Sample wait = null;
+        try {
+            // The timed form honours fairness, so a newcomer does not overtake queued analyses.
+            if (!slots.tryAcquire(0, TimeUnit.SECONDS)) {
+                wait = metrics.queued();
+                log.info("All {} analysis slots busy, NORAD {} is queued", maxConcurrent, primaryNoradId);
+                slots.acquire();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to analyze NORAD " + primaryNoradId, e);
+        } finally {
+            if (wait != null) {
+                metrics.dequeued(wait);
+            }
+        }
+        try {
+            return analysis.get();
+        } finally {
+            slots.release();
+        }
+    }
+
+    private static List<ConjunctionEvent> await(CompletableFuture<List<ConjunctionEvent>> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.orbit.service;
+
+import com.orbit.dto.SpaceTrackTleDto;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Two-pass reader for an on-disk catalog dump. The scan pass only extracts the NORAD
+ * ID, epoch and file offset of each record from the mapped bytes; the read pass
+ * revisits the file and builds DTOs for the selected offsets only, so a historical
+ * file with millions of element sets allocates objects for just one record per object.
+ */
+interface CatalogFileReader {
+
+    @FunctionalInterface
+    interface RecordIndex {
+        void record(int noradId, long epochMicros, long offset);
+    }
+
+    /**
+     * @return number of records found in the file
+     */
+    long scan(MappedFileReader file, RecordIndex index) throws IOException;
+
+    /**
+     * Materializes the records starting at {@code offsets}, which must be sorted
+     * ascending and taken from a {@link #scan} of the same file.
+     */
+    void read(MappedFileReader file, long[] offsets, Consumer<SpaceTrackTleDto> sink) throws IOException;
+}
@@ -0,0 +1,356 @@
+package com.orbit.service;
+
+import com.orbit.dto.SpaceTrackTleDto;
+import org.hipparchus.util.FastMath;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Field parsing shared by the catalog file readers. The scan-pass helpers read
+ * straight from a {@link CharSequence} view of the mapped bytes and return
+ * primitives; the DTO builders are only used for the records that are kept.
+ */
+final class CatalogRecords {
+
+    static final int MAX_NORAD_ID = 339_999;
+
+    private static final DateTimeFormatter GP_EPOCH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+    private static final long MICROS_PER_DAY = 86_400_000_000L;
+    private static final String ALPHA5_LETTERS = "ABCDEFGHJKLMNPQRSTUVWXYZ";
+
+    private CatalogRecords() {
+    }
+
+    /**
+     * Reusable, allocation-free {@link CharSequence} over an ASCII range of a buffer.
+     */
+    static final class AsciiSlice implements CharSequence {
+        private ByteBuffer buffer;
+        private int start;
+        private int end;
+
+        AsciiSlice set(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(start + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new AsciiSlice().set(buffer, start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[length()];
+            buffer.get(start, bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * Parses a five-character TLE catalog number, including the Alpha-5 form where a
+     * leading letter (I and O excluded) encodes 10-33 ten-thousands. Returns -1 if invalid.
+     */
+    static int parseTleNoradId(CharSequence text, int from) {
+        char first = text.charAt(from);
+        int value;
+        if (first >= '0' && first <= '9' || first == ' ') {
+            value = first == ' ' ? 0 : first - '0';
+        } else {
+            int letter = ALPHA5_LETTERS.indexOf(first);
+            if (letter < 0) {
+                return -1;
+            }
+            value = 10 + letter;
+        }
+        for (int i = from + 1; i < from + 5; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Parses the TLE epoch field ({@code YYDDD.DDDDDDDD}) into microseconds since 1970.
+     * Returns {@link Long#MIN_VALUE} if the field is malformed.
+     */
+    static long parseTleEpochMicros(CharSequence text, int from) {
+        int yy = number(text, from, from + 2);
+        int dayOfYear = 0;
+        for (int i = from + 2; i < from + 5; i++) {
+            if (text.charAt(i) != ' ') {
+                int d = digit(text, i);
+                if (d < 0) {
+                    return Long.MIN_VALUE;
+                }
+                dayOfYear = dayOfYear * 10 + d;
+            }
+        }
+        int i = from + 5;
+        if (yy < 0 || dayOfYear < 1 || dayOfYear > 366 || text.charAt(i) != '.') {
+            return Long.MIN_VALUE;
+        }
+        long fraction = 0;
+        for (int k = i + 1; k < i + 9; k++) {
+            int d = digit(text, k);
+            if (d < 0) {
+                return Long.MIN_VALUE;
+            }
+            fraction = fraction * 10 + d;
+        }
+        int year = yy < 57 ? 2000 + yy : 1900 + yy;
+        long days = LocalDate.ofYearDay(year, 1).toEpochDay() + dayOfYear - 1;
+        // 8 fractional digits of a day: 1e-8 day = 864 microseconds exactly.
+        return days * MICROS_PER_DAY + fraction * 864;
+    }
+
+    /**
+     * Parses an ISO-8601 epoch such as {@code 2024-03-01T12:34:56.123456} (optional
+     * fraction and trailing Z) into microseconds since 1970. Returns
+     * {@link Long#MIN_VALUE} if malformed.
+     */
+    static long parseIsoEpochMicros(CharSequence text) {
+        int length = text.length();
+        if (length < 19 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(13) != ':') {
+            return Long.MIN_VALUE;
+        }
+        int year = number(text, 0, 4);
+        int month = number(text, 5, 7);
+        int day = number(text, 8, 10);
+        int hour = number(text, 11, 13);
+        int minute = number(text, 14, 16);
+        int second = number(text, 17, 19);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || minute < 0 || second < 0) {
+            return Long.MIN_VALUE;
+        }
+        long micros = 0;
+        int scale = 100_000;
+        if (length > 20 && text.charAt(19) == '.') {
+            for (int i = 20; i < length && text.charAt(i) != 'Z'; i++) {
+                int d = digit(text, i);
+                if (d < 0) {
+                    return Long.MIN_VALUE;
+                }
+                micros += d * scale;
+                scale /= 10;
+            }
+        }
+        long days = LocalDate.of(year, month, day).toEpochDay();
+        return days * MICROS_PER_DAY + ((hour * 60L + minute) * 60L + second) * 1_000_000L + micros;
+    }
+
+    static int parseInt(CharSequence text) {
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (++digits > 9) {
+                    return -1;
+                }
+            } else if (c != ' ' && c != '"') {
+                return -1;
+            }
+        }
+        return digits == 0 ? -1 : value;
+    }
+
+    static String toGpEpoch(long epochMicros) {
+        long seconds = Math.floorDiv(epochMicros, 1_000_000L);
+        int nanos = (int) Math.floorMod(epochMicros, 1_000_000L) * 1000;
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC).format(GP_EPOCH_FORMAT);
+    }
+
+    /**
+     * Builds a GP record from a two-line element set and optional name line. Catalog
+     * number and epoch have already been validated by the scan; the element set number
+     * and mean elements are optional columns and come back null when blank or malformed.
+     */
+    static SpaceTrackTleDto fromTle(String nameLine, String line1, String line2) {
+        SpaceTrackTleDto dto = new SpaceTrackTleDto();
+        dto.setNoradCatId(parseTleNoradId(line1, 2));
+        if (nameLine != null) {
+            String name = nameLine.startsWith("0 ") ? nameLine.substring(2) : nameLine;
+            dto.setObjectName(name.trim());
+        }
+        dto.setClassificationType(line1.substring(7, 8).trim());
+        dto.setIntldes(line1.substring(9, 17).trim());
+        dto.setEpoch(toGpEpoch(parseTleEpochMicros(line1, 18)));
+        int elementSetNo = parseInt(line1.subSequence(64, 68));
+        dto.setElementSetNo(elementSetNo < 0 ? null : elementSetNo);
+        dto.setInclination(doubleColumn(line2, 8, 16, ""));
+        dto.setRaOfAscNode(doubleColumn(line2, 17, 25, ""));
+        dto.setEccentricity(doubleColumn(line2, 26, 33, "0."));
+        dto.setArgOfPericenter(doubleColumn(line2, 34, 42, ""));
+        dto.setMeanAnomaly(doubleColumn(line2, 43, 51, ""));
+        dto.setMeanMotion(doubleColumn(line2, 52, 63, ""));
+        dto.setTleLine1(line1);
+        dto.setTleLine2(line2);
+        return dto;
+    }
+
+    private static Double doubleColumn(String line, int start, int end, String prefix) {
+        String text = line.substring(start, end).trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(prefix + text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Builds a GP record from OMM keyword/value pairs (Space-Track GP JSON or CSV).
+     * When the record carries no TLE lines they are generated from the mean elements.
+     */
+    static SpaceTrackTleDto fromOmm(Map<String, String> fields) {
+        SpaceTrackTleDto dto = new SpaceTrackTleDto();
+        dto.setNoradCatId(Integer.valueOf(fields.get("NORAD_CAT_ID").trim()));
+        dto.setObjectName(fields.get("OBJECT_NAME"));
+        dto.setObjectType(fields.get("OBJECT_TYPE"));
+        dto.setClassificationType(fields.getOrDefault("CLASSIFICATION_TYPE", "U"));
+        dto.setCountryCode(fields.get("COUNTRY_CODE"));
+        String intldes = fields.get("INTLDES");
+        if (intldes == null && fields.get("OBJECT_ID") != null) {
+            intldes = toIntldes(fields.get("OBJECT_ID"));
+        }
+        dto.setIntldes(intldes);
+
+        long epochMicros = parseIsoEpochMicros(fields.get("EPOCH"));
+        if (epochMicros == Long.MIN_VALUE) {
+            throw new IllegalArgumentException("Invalid EPOCH: " + fields.get("EPOCH"));
+        }
+        dto.setEpoch(toGpEpoch(epochMicros));
+        dto.setMeanMotion(doubleField(fields, "MEAN_MOTION"));
+        dto.setEccentricity(doubleField(fields, "ECCENTRICITY"));
+        dto.setInclination(doubleField(fields, "INCLINATION"));
+        dto.setRaOfAscNode(doubleField(fields, "RA_OF_ASC_NODE"));
+        dto.setArgOfPericenter(doubleField(fields, "ARG_OF_PERICENTER"));
+        dto.setMeanAnomaly(doubleField(fields, "MEAN_ANOMALY"));
+        int elementSetNo = isBlank(fields.get("ELEMENT_SET_NO")) ? -1 : parseInt(fields.get("ELEMENT_SET_NO"));
+        dto.setElementSetNo(elementSetNo < 0 ? null : elementSetNo);
+
+        String line1 = fields.get("TLE_LINE1");
+        String line2 = fields.get("TLE_LINE2");
+        if (isBlank(line1) || isBlank(line2)) {
+            TLE tle = synthesizeTle(dto, fields, epochMicros);
+            line1 = tle.getLine1();
+            line2 = tle.getLine2();
+        }
+        dto.setTleLine1(line1);
+        dto.setTleLine2(line2);
+        return dto;
+    }
+
+    private static TLE synthesizeTle(SpaceTrackTleDto dto, Map<String, String> fields, long epochMicros) {
+        if (dto.getMeanMotion() == null || dto.getEccentricity() == null || dto.getInclination() == null
+                || dto.getRaOfAscNode() == null || dto.getArgOfPericenter() == null || dto.getMeanAnomaly() == null) {
+            throw new IllegalArgumentException("OMM record for NORAD " + dto.getNoradCatId()
+                    + " has neither TLE lines nor a complete set of mean elements");
+        }
+        TimeScale utc = TimeScalesFactory.getUTC();
+        LocalDateTime epoch = LocalDateTime.parse(dto.getEpoch(), GP_EPOCH_FORMAT);
+        AbsoluteDate date = new AbsoluteDate(
+                epoch.getYear(), epoch.getMonthValue(), epoch.getDayOfMonth(),
+                epoch.getHour(), epoch.getMinute(),
+                epoch.getSecond() + Math.floorMod(epochMicros, 1_000_000L) / 1e6, utc);
+
+        String intldes = dto.getIntldes() == null ? "" : dto.getIntldes();
+        int launchYear = intldes.length() >= 2 ? 2000 + Integer.parseInt(intldes.substring(0, 2)) : 2000;
+        if (launchYear >= 2057) {
+            launchYear -= 100;
+        }
+        int launchNumber = intldes.length() >= 5 ? Integer.parseInt(intldes.substring(2, 5)) : 0;
+        String launchPiece = intldes.length() > 5 ? intldes.substring(5) : "A";
+
+        double revPerDayToRadPerSec = 2 * FastMath.PI / 86400.0;
+        return new TLE(
+                dto.getNoradCatId(),
+                dto.getClassificationType() == null || dto.getClassificationType().isEmpty()
+                        ? 'U' : dto.getClassificationType().charAt(0),
+                launchYear, launchNumber, launchPiece,
+                TLE.DEFAULT,
+                dto.getElementSetNo() == null ? 999 : dto.getElementSetNo(),
+                date,
+                dto.getMeanMotion() * revPerDayToRadPerSec,
+                // OMM carries the TLE fields n-dot/2 (rev/day^2) and n-ddot/6 (rev/day^3).
+                doubleField(fields, "MEAN_MOTION_DOT", 0.0) * FastMath.PI / 1.86624e9,
+                doubleField(fields, "MEAN_MOTION_DDOT", 0.0) * FastMath.PI / 5.3747712e13,
+                dto.getEccentricity(),
+                FastMath.toRadians(dto.getInclination()),
+                FastMath.toRadians(dto.getArgOfPericenter()),
+                FastMath.toRadians(dto.getRaOfAscNode()),
+                FastMath.toRadians(dto.getMeanAnomaly()),
+                (int) doubleField(fields, "REV_AT_EPOCH", 0.0),
+                doubleField(fields, "BSTAR", 0.0),
+                utc);
+    }
+
+    /** OMM OBJECT_ID {@code 1998-067A} to TLE designator {@code 98067A}. */
+    private static String toIntldes(String objectId) {
+        String id = objectId.trim();
+        if (id.length() >= 9 && id.charAt(4) == '-') {
+            return id.substring(2, 4) + id.substring(5);
+        }
+        return id;
+    }
+
+    private static Double doubleField(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return isBlank(value) ? null : Double.valueOf(value.trim());
+    }
+
+    private static double doubleField(Map<String, String> fields, String name, double defaultValue) {
+        Double value = doubleField(fields, name);
+        return value == null ? defaultValue : value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static int number(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int d = digit(text, i);
+            if (d < 0) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static int digit(CharSequence text, int index) {
+        char c = text.charAt(index);
+        return c >= '0' && c <= '9' ? c - '0' : -1;
+    }
+}
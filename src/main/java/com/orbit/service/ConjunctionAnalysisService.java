@@ -1,22 +1,33 @@
 package com.orbit.service;
 
+import com.orbit.dto.ConjunctionEventView;
 import com.orbit.dto.ConjunctionResult;
+import com.orbit.dto.EventCursor;
+import com.orbit.dto.EventPage;
+import com.orbit.dto.EventQuery;
 import com.orbit.entity.ConjunctionEvent;
 import com.orbit.entity.Satellite;
+import com.orbit.entity.ScreeningRun;
 import com.orbit.entity.TleData;
 import com.orbit.repository.ConjunctionEventRepository;
 import com.orbit.repository.SatelliteRepository;
 import com.orbit.repository.TleDataRepository;
+import com.orbit.service.AnalysisMetrics.Stage;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -30,6 +41,12 @@ public class ConjunctionAnalysisService {
     private final ConjunctionScreeningService screeningService;
     private final RiskAssessmentService riskAssessmentService;
     private final PropagationService propagationService;
+    private final ConjunctionEventCache eventCache;
+    private final AnalysisMetrics metrics;
+    private final ScreeningRunLedger screeningRunLedger;
+    private final ValidationPolicy validationPolicy;
+    private final PlatformTransactionManager transactionManager;
+    private final AnalysisSingleFlight singleFlight;
 
     @Value("${conjunction.filter.raan.tolerance.deg:45.0}")
     private double raanToleranceDeg;
@@ -37,22 +54,53 @@ public class ConjunctionAnalysisService {
     @Value("${conjunction.filter.raan.enabled:true}")
     private boolean useRaanFilter;
 
-    @Transactional
+    /**
+     * Screens the catalog against {@code primaryNoradId} and saves the conjunctions found.
+     * Runs as three phases so that no connection or persistence context is held while
+     * screening: a read-only transaction loads the primary and the catalog (satellites
+     * fetched with it), filtering, screening and risk assessment run on the detached
+     * snapshot without a connection, and a short transaction saves the events.
+     * Concurrent calls for the same primary share one run (see {@link AnalysisSingleFlight}).
+     */
     public List<ConjunctionEvent> analyzeConjunctions(Integer primaryNoradId) {
-        log.info("Starting conjunction analysis for primary NORAD ID: {}", primaryNoradId);
+        return singleFlight.run(primaryNoradId, () -> analyzeNow(primaryNoradId));
+    }
 
-        Optional<Satellite> primarySatOpt = satelliteRepository.findByNoradId(primaryNoradId);
-        if(primarySatOpt.isEmpty()){
-            throw new IllegalArgumentException("Primary satellite not found: " + primaryNoradId);
+    private List<ConjunctionEvent> analyzeNow(Integer primaryNoradId) {
+        Timer.Sample analysis = metrics.analysisStarted();
+        ScreeningStats screeningStats = new ScreeningStats();
+        ScreeningRun run = screeningRunLedger.begin(primaryNoradId);
+        RuntimeException failure = null;
+        try {
+            return runAnalysis(primaryNoradId, run, screeningStats);
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            metrics.analysisFinished(analysis, failure == null);
+            validationPolicy.logSummary("analysis of NORAD " + primaryNoradId, screeningStats.validation);
+            try {
+                screeningRunLedger.finish(run, failure);
+            } catch (Exception e) {
+                log.warn("Could not record screening run for NORAD {}: {}", primaryNoradId, e.getMessage());
+            }
         }
+    }
 
-        Satellite primarySat = primarySatOpt.get();
-        Optional<TleData> primaryTleOpt = tleDataRepository.findBySatellite(primarySat);
-        if(primaryTleOpt.isEmpty()){
-            throw new IllegalArgumentException("No TLE data for satellite: " + primaryNoradId);
-        }
+    /**
+     * The primary and the catalog as loaded by the read phase, detached once it commits;
+     * {@code tles} is the whole catalog, or only the candidates once filtered.
+     */
+    private record CatalogSnapshot(Satellite primarySat, TleData primaryTle, List<TleData> tles) {}
+
+    private List<ConjunctionEvent> runAnalysis(Integer primaryNoradId, ScreeningRun run,
+                                               ScreeningStats screeningStats) {
+        log.info("Starting conjunction analysis for primary NORAD ID: {}", primaryNoradId);
 
-        TleData primaryTle = primaryTleOpt.get();
+        CatalogSnapshot snapshot = selectCandidates(primaryNoradId, run);
+        Satellite primarySat = snapshot.primarySat();
+        TleData primaryTle = snapshot.primaryTle();
+        List<TleData> candidates = snapshot.tles();
         LocalDateTime screeningEpoch = LocalDateTime.now();
 
         if (primaryTle.getEpoch() != null) {
@@ -66,98 +114,63 @@ public class ConjunctionAnalysisService {
             }
         }
 
-        log.info("Fetching all TLE data for filtering...");
-        List<TleData> allTles = tleDataRepository.findAll();
-        log.info("Total satellites in database: {}", allTles.size());
-
-        List<TleData> candidates = filterService.filterCandidates(primaryTle, allTles);
-
         if(candidates.isEmpty()){
-            log.info("No conjunction candidates found after altitude/inclination filtering");
-            return new ArrayList<>();
-        }
-
-        log.info("After altitude/inclination filter: {} candidates remain", candidates.size());
-
-        if (useRaanFilter && candidates.size() > 100) {
-            log.info("Applying RAAN filter with tolerance {} degrees...", raanToleranceDeg);
-            List<TleData> raanFiltered = filterService.refineByRaan(
-                    primaryTle,
-                    candidates,
-                    raanToleranceDeg
-            );
-
-            double reductionPercent = 100.0 * (1.0 - (double) raanFiltered.size() / candidates.size());
-            log.info("RAAN filter: {} satellites remain from {} ({} % reduction)",
-                    raanFiltered.size(),
-                    candidates.size(),
-                    String.format("%.1f", reductionPercent));
-
-            candidates = raanFiltered;
-        } else if (useRaanFilter) {
-            log.info("Skipping RAAN filter - only {} candidates (threshold: 100)", candidates.size());
-        }
-
-        if(candidates.isEmpty()){
-            log.info("No conjunction candidates found after RAAN filtering");
-            return new ArrayList<>();
-        }
-
-        log.info("Filtering out co-located satellites (ISS modules, physically attached objects)...");
-        candidates = filterService.filterOutCoLocated(primaryTle, candidates);
-
-        if(candidates.isEmpty()){
-            log.info("No conjunction candidates found after co-location filtering");
             return new ArrayList<>();
         }
 
         log.info("Beginning detailed conjunction screening for {} candidates...", candidates.size());
+        Timer.Sample stage = metrics.start();
         List<ConjunctionResult> conjunctionResults = screeningService.screenMultiplePairs(
                 primaryTle,
                 candidates,
-                screeningEpoch
+                screeningEpoch,
+                screeningStats
         );
+        run.setScreeningMs(metrics.record(Stage.SCREENING, stage));
+        run.setStaleTles(screeningStats.staleTles);
+        run.setFailedTles(screeningStats.failedTles);
+        run.setPairsScreened(screeningStats.pairsScreened);
+        run.setSegmentPairs(screeningStats.segmentPairs);
+        run.setPairsPerSecond(screeningStats.pairsPerSecond());
+        run.setConjunctionsFound(conjunctionResults.size());
 
         if(conjunctionResults.isEmpty()){
             log.info("No conjunctions detected within screening parameters");
             return new ArrayList<>();
         }
 
-        List<ConjunctionEvent> events = new ArrayList<>();
-        int secondaryNotFoundCount = 0;
-
+        stage = metrics.start();
+        List<ConjunctionEvent.RiskLevel> riskLevels = new ArrayList<>(conjunctionResults.size());
         for(ConjunctionResult result : conjunctionResults){
-            ConjunctionEvent.RiskLevel riskLevel = riskAssessmentService.assessRisk(result, screeningEpoch);
-            Optional<Satellite> secondarySatOpt = satelliteRepository.findByNoradId(result.getSecondaryNoradId());
-
-            if(secondarySatOpt.isEmpty()){
-                log.warn("Secondary satellite not found: {}", result.getSecondaryNoradId());
-                secondaryNotFoundCount++;
-                continue;
-            }
+            riskLevels.add(riskAssessmentService.assessRisk(result, screeningEpoch));
+        }
+        metrics.record(Stage.RISK_ASSESSMENT, stage);
 
-            ConjunctionEvent event = new ConjunctionEvent();
-            event.setPrimarySatellite(primarySat);
-            event.setSecondarySatellite(secondarySatOpt.get());
-            event.setTca(result.getTca());
-            event.setMissDistance(result.getMissDistance());
-            event.setRelativeVelocity(result.getRelativeVelocity());
-            event.setRiskLevel(riskLevel);
-            event.setPrimaryAltitude(result.getPrimaryAltitude());
-            event.setSecondaryAltitude(result.getSecondaryAltitude());
-            event.setScreeningEpoch(screeningEpoch);
-            events.add(event);
+        Map<Integer, Satellite> secondaries = new HashMap<>();
+        for (TleData candidate : candidates) {
+            secondaries.put(candidate.getSatellite().getNoradId(), candidate.getSatellite());
+        }
+        List<ConjunctionEvent> events = new ArrayList<>(conjunctionResults.size());
+        for(int i = 0; i < conjunctionResults.size(); i++){
+            ConjunctionResult result = conjunctionResults.get(i);
+            ConjunctionEvent.RiskLevel riskLevel = riskLevels.get(i);
+            events.add(ConjunctionEvent.of(primarySat, secondaries.get(result.getSecondaryNoradId()), result,
+                    riskLevel, screeningEpoch));
 
             if(riskAssessmentService.requiresAttention(riskLevel)){
                 log.warn(riskAssessmentService.generateRiskSummary(result, riskLevel));
             }
         }
 
-        if (secondaryNotFoundCount > 0) {
-            log.warn("{} secondary satellites not found in database", secondaryNotFoundCount);
-        }
-
-        List<ConjunctionEvent> savedEvents = conjunctionEventRepository.saveAll(events);
+        stage = metrics.start();
+        List<ConjunctionEvent> savedEvents = transaction(false).execute(status -> {
+            List<ConjunctionEvent> saved = conjunctionEventRepository.saveAll(events);
+            conjunctionEventRepository.flush();
+            eventCache.invalidateAfterCommit(primaryNoradId);
+            return saved;
+        });
+        run.setPersistenceMs(metrics.record(Stage.PERSISTENCE, stage));
+        run.setEventsSaved(savedEvents.size());
         log.info("Saved {} conjunction events to database", savedEvents.size());
 
         long criticalCount = savedEvents.stream()
@@ -179,44 +192,136 @@ public class ConjunctionAnalysisService {
         return savedEvents;
     }
 
-    public List<ConjunctionEvent> getUpcomingEvents(Integer noradId, int daysAhead) {
-        Optional<Satellite> satelliteOpt = satelliteRepository.findByNoradId(noradId);
-        if(satelliteOpt.isEmpty()){
-            throw new IllegalArgumentException("Satellite not found: " + noradId);
+    private CatalogSnapshot loadSnapshot(Integer primaryNoradId, ScreeningRun run) {
+        Optional<Satellite> primarySatOpt = satelliteRepository.findByNoradId(primaryNoradId);
+        if(primarySatOpt.isEmpty()){
+            throw new IllegalArgumentException("Primary satellite not found: " + primaryNoradId);
         }
 
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime endTime = now.plusDays(daysAhead);
+        Satellite primarySat = primarySatOpt.get();
+        Optional<TleData> primaryTleOpt = tleDataRepository.findBySatellite(primarySat);
+        if(primaryTleOpt.isEmpty()){
+            throw new IllegalArgumentException("No TLE data for satellite: " + primaryNoradId);
+        }
 
-        return conjunctionEventRepository.findUpcomingEventsForPrimary(
-                satelliteOpt.get(),
-                now,
-                endTime
-        );
+        log.info("Fetching all TLE data for filtering...");
+        Timer.Sample stage = metrics.start();
+        List<TleData> allTles = tleDataRepository.findAllWithSatellite();
+        run.setCatalogLoadMs(metrics.record(Stage.CATALOG_LOAD, stage));
+        run.setCatalogSize(allTles.size());
+        log.info("Total satellites in database: {}", allTles.size());
+        return new CatalogSnapshot(primarySat, primaryTleOpt.get(), allTles);
     }
 
-    public List<ConjunctionEvent> getHighRiskEvents(Integer noradId) {
-        Optional<Satellite> satelliteOpt = satelliteRepository.findByNoradId(noradId);
-        if(satelliteOpt.isEmpty()){
-            throw new IllegalArgumentException("Satellite not found: " + noradId);
+    /**
+     * Loads the snapshot and filters it down to the candidates; the rest of the catalog is
+     * unreachable once this returns.
+     */
+    private CatalogSnapshot selectCandidates(Integer primaryNoradId, ScreeningRun run) {
+        CatalogSnapshot catalog = transaction(true).execute(status -> loadSnapshot(primaryNoradId, run));
+        TleData primaryTle = catalog.primaryTle();
+        List<TleData> allTles = catalog.tles();
+
+        Timer.Sample stage = metrics.start();
+        List<TleData> candidates = filterService.filterCandidates(primaryTle, allTles);
+        long filterMs = metrics.record(Stage.COARSE_FILTER, stage);
+        run.setFilterMs(filterMs);
+        run.setAfterCoarseFilter(candidates.size());
+
+        if(candidates.isEmpty()){
+            log.info("No conjunction candidates found after altitude/inclination filtering");
+            return new CatalogSnapshot(catalog.primarySat(), primaryTle, candidates);
         }
 
-        List<ConjunctionEvent.RiskLevel> highRiskLevels = List.of(
-                ConjunctionEvent.RiskLevel.CRITICAL,
-                ConjunctionEvent.RiskLevel.HIGH
-        );
+        log.info("After altitude/inclination filter: {} candidates remain", candidates.size());
 
-        return conjunctionEventRepository.findByPrimaryAndRiskLevels(
-                satelliteOpt.get(),
-                highRiskLevels,
-                LocalDateTime.now()
-        );
+        if (useRaanFilter && candidates.size() > 100) {
+            log.info("Applying RAAN filter with tolerance {} degrees...", raanToleranceDeg);
+            stage = metrics.start();
+            List<TleData> raanFiltered = filterService.refineByRaan(
+                    primaryTle,
+                    candidates,
+                    raanToleranceDeg
+            );
+            filterMs += metrics.record(Stage.RAAN_FILTER, stage);
+            run.setFilterMs(filterMs);
+            run.setAfterRaanFilter(raanFiltered.size());
+
+            double reductionPercent = 100.0 * (1.0 - (double) raanFiltered.size() / candidates.size());
+            log.info("RAAN filter: {} satellites remain from {} ({} % reduction)",
+                    raanFiltered.size(),
+                    candidates.size(),
+                    String.format("%.1f", reductionPercent));
+
+            candidates = raanFiltered;
+        } else if (useRaanFilter) {
+            log.info("Skipping RAAN filter - only {} candidates (threshold: 100)", candidates.size());
+        }
+
+        if(candidates.isEmpty()){
+            log.info("No conjunction candidates found after RAAN filtering");
+            return new CatalogSnapshot(catalog.primarySat(), primaryTle, candidates);
+        }
+
+        log.info("Filtering out co-located satellites (ISS modules, physically attached objects)...");
+        stage = metrics.start();
+        candidates = filterService.filterOutCoLocated(primaryTle, candidates);
+        filterMs += metrics.record(Stage.CO_LOCATION_FILTER, stage);
+        run.setFilterMs(filterMs);
+        run.setAfterCoLocationFilter(candidates.size());
+
+        if(candidates.isEmpty()){
+            log.info("No conjunction candidates found after co-location filtering");
+        }
+        return new CatalogSnapshot(catalog.primarySat(), primaryTle, candidates);
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate;
+    }
+
+    public EventPage queryEvents(Integer noradId, EventQuery query) {
+        return eventCache.getOrLoad(noradId, query, () -> {
+            List<ConjunctionEventView> rows = conjunctionEventRepository.findEventPage(
+                    noradId,
+                    query,
+                    LocalDateTime.now()
+            );
+            if(query.after() == null){
+                requireSatelliteIfEmpty(noradId, rows);
+            }
+
+            if(rows.size() <= query.limit()){
+                return new EventPage(List.copyOf(rows), null);
+            }
+            List<ConjunctionEventView> events = List.copyOf(rows.subList(0, query.limit()));
+            String nextCursor = EventCursor.after(events.get(events.size() - 1), query.sort()).encode();
+            return new EventPage(events, nextCursor);
+        });
+    }
+
+    /**
+     * The view queries join on the primary, so an unknown NORAD ID and a primary
+     * without events both come back empty; only the empty case pays for the lookup.
+     */
+    private void requireSatelliteIfEmpty(Integer noradId, List<ConjunctionEventView> events) {
+        if(events.isEmpty() && !satelliteRepository.existsByNoradId(noradId)){
+            throw new IllegalArgumentException("Satellite not found: " + noradId);
+        }
+    }
+
+    public ConjunctionEventCache.Stats getCacheStats() {
+        return eventCache.getStats();
     }
 
     @Transactional
     public void cleanupOldEvents(int daysToKeep){
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysToKeep);
+        List<Integer> affectedPrimaries = conjunctionEventRepository.findPrimaryNoradIdsWithEventsBefore(cutoffDate);
         conjunctionEventRepository.deleteOldEvents(cutoffDate);
+        eventCache.invalidateAllAfterCommit(affectedPrimaries);
         log.info("Deleted conjunction events older than {}", cutoffDate);
     }
 }
\ No newline at end of file
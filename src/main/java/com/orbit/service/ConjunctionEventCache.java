@@ -0,0 +1,182 @@
+package com.orbit.service;
+
+import com.orbit.dto.EventPage;
+import com.orbit.dto.EventQuery;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-based read-through cache for the per-primary event queries, keyed
+ * by primary NORAD ID and the full page request. Entries are grouped by primary
+ * NORAD ID so that a write for one primary only drops that primary's entries.
+ * A primary with loads in flight carries a generation number that is bumped on
+ * invalidation; a load that started before an invalidation is not stored. The
+ * generation is dropped with the primary's last in-flight load, so it is only
+ * tracked for primaries currently being loaded. The {@link Stats} are exported as
+ * {@code orbit.event.cache.gets} (tagged {@code result} hit or miss),
+ * {@code orbit.event.cache.evictions} and {@code orbit.event.cache.invalidations}
+ * counters and {@code orbit.event.cache.size} and {@code orbit.event.cache.hit.ratio}
+ * gauges.
+ */
+@Service
+@Slf4j
+public class ConjunctionEventCache {
+
+    public record Stats(
+            long hits,
+            long misses,
+            double hitRatio,
+            int size,
+            int maxEntries,
+            long evictions,
+            long invalidations
+    ) {}
+
+    private record Key(Integer noradId, EventQuery query) {}
+
+    private record Entry(EventPage page, long expiresAtNanos) {}
+
+    private static final class Loads {
+        int inFlight;
+        long generation;
+    }
+
+    @Value("${conjunction.query.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${conjunction.query.cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${conjunction.query.cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<Integer, Loads> loads = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public ConjunctionEventCache(MeterRegistry registry) {
+        FunctionCounter.builder("orbit.event.cache.gets", this, cache -> cache.getStats().hits())
+                .description("Event query cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("orbit.event.cache.gets", this, cache -> cache.getStats().misses())
+                .description("Event query cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("orbit.event.cache.evictions", this, cache -> cache.getStats().evictions())
+                .description("Event query cache entries evicted to stay within max-entries")
+                .register(registry);
+        FunctionCounter.builder("orbit.event.cache.invalidations", this, cache -> cache.getStats().invalidations())
+                .description("Per-primary invalidations of the event query cache")
+                .register(registry);
+        Gauge.builder("orbit.event.cache.size", this, cache -> cache.getStats().size())
+                .description("Event query cache entries")
+                .register(registry);
+        Gauge.builder("orbit.event.cache.hit.ratio", this, cache -> cache.getStats().hitRatio())
+                .description("Share of event query cache lookups served from the cache since start")
+                .register(registry);
+    }
+
+    public EventPage getOrLoad(Integer noradId, EventQuery query, Supplier<EventPage> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Key key = new Key(noradId, query);
+        Loads primaryLoads;
+        long generation;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAtNanos() - System.nanoTime() > 0) {
+                hits++;
+                return entry.page();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            primaryLoads = loads.computeIfAbsent(noradId, id -> new Loads());
+            primaryLoads.inFlight++;
+            generation = primaryLoads.generation;
+        }
+
+        EventPage loaded = null;
+        try {
+            loaded = loader.get();
+        } finally {
+            synchronized (this) {
+                if (loaded != null && primaryLoads.generation == generation) {
+                    long expiresAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds);
+                    entries.put(key, new Entry(loaded, expiresAt));
+                } else if (loaded != null) {
+                    log.debug("Discarding cached load for NORAD {} - invalidated while loading", noradId);
+                }
+                if (--primaryLoads.inFlight == 0) {
+                    loads.remove(noradId);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops all entries for the primary now and, when called inside a transaction,
+     * again after it commits so that a read racing the commit cannot keep stale rows.
+     */
+    public void invalidateAfterCommit(Integer noradId) {
+        invalidate(noradId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(noradId);
+                }
+            });
+        }
+    }
+
+    public void invalidateAllAfterCommit(Collection<Integer> noradIds) {
+        noradIds.forEach(this::invalidateAfterCommit);
+    }
+
+    public synchronized void invalidate(Integer noradId) {
+        Loads primaryLoads = loads.get(noradId);
+        if (primaryLoads != null) {
+            primaryLoads.generation++;
+        }
+        entries.keySet().removeIf(key -> key.noradId().equals(noradId));
+        invalidations++;
+    }
+
+    public synchronized Stats getStats() {
+        long lookups = hits + misses;
+        double hitRatio = lookups == 0 ? 0.0 : (double) hits / lookups;
+        return new Stats(hits, misses, hitRatio, entries.size(), maxEntries, evictions, invalidations);
+    }
+}
@@ -24,6 +24,8 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class ConjunctionScreeningService {
     private final PropagationService propagationService;
+    private final EphemerisSegmentStore ephemerisSegmentStore;
+    private final AnalysisMetrics metrics;
 
     @Value("${conjunction.prediction.days:7}")
     private int predictionDays;
@@ -54,21 +56,100 @@ public class ConjunctionScreeningService {
             Integer secondaryNoradId,
             LocalDateTime screeningEpoch
     ) {
+        return screenPair(primaryTLE, secondaryTLE, null, null, primaryNoradId, secondaryNoradId, screeningEpoch,
+                predictionDays * 86400.0, new ScreeningStats());
+    }
+
+    /**
+     * Screens a pair over {@code [windowStart, windowEnd]} only, e.g. around the known TCA
+     * of an event being followed up, instead of the whole prediction span.
+     */
+    public ConjunctionResult screenPairInWindow(
+            TLE primaryTLE,
+            TLE secondaryTLE,
+            Integer primaryNoradId,
+            Integer secondaryNoradId,
+            LocalDateTime windowStart,
+            LocalDateTime windowEnd
+    ) {
+        return screenPairInWindow(primaryTLE, secondaryTLE, primaryNoradId, secondaryNoradId, windowStart, windowEnd,
+                new ScreeningStats());
+    }
+
+    /**
+     * As the public overload; {@code stats} tells a pair that could not be screened or
+     * judged from one without an approach, which both come back as {@code null}.
+     */
+    ConjunctionResult screenPairInWindow(
+            TLE primaryTLE,
+            TLE secondaryTLE,
+            Integer primaryNoradId,
+            Integer secondaryNoradId,
+            LocalDateTime windowStart,
+            LocalDateTime windowEnd,
+            ScreeningStats stats
+    ) {
+        return screenPair(primaryTLE, secondaryTLE, null, null, primaryNoradId, secondaryNoradId, windowStart,
+                ChronoUnit.MILLIS.between(windowStart, windowEnd) / 1000.0, stats);
+    }
+
+    /**
+     * Like {@link #screenPair(TLE, TLE, Integer, Integer, LocalDateTime)} over
+     * {@code spanSeconds} from the screening epoch, but the coarse scan reads precomputed
+     * ephemerides when both segments cover the screening window.
+     * Refinement around the coarse minimum always propagates with SGP4.
+     */
+    private ConjunctionResult screenPair(
+            TLE primaryTLE,
+            TLE secondaryTLE,
+            EphemerisSegment primarySegment,
+            EphemerisSegment secondarySegment,
+            Integer primaryNoradId,
+            Integer secondaryNoradId,
+            LocalDateTime screeningEpoch,
+            double spanSeconds,
+            ScreeningStats stats
+    ) {
+        ScreeningEvents.ScreenPair event = new ScreeningEvents.ScreenPair();
+        event.begin();
+        String outcome = "error";
+        double missDistance = Double.NaN;
+        String coarseSource = null;
         try {
             TLEPropagator primaryProp = propagationService.createPropagator(primaryTLE);
             TLEPropagator secondaryProp = propagationService.createPropagator(secondaryTLE);
 
             AbsoluteDate startDate = propagationService.toAbsoluteDate(screeningEpoch);
-            AbsoluteDate endDate = startDate.shiftedBy(predictionDays * 86400.0);
-
-            CoarseResult coarseResult = coarseScan(
-                    primaryProp,
-                    secondaryProp,
-                    startDate,
-                    endDate
-            );
+            AbsoluteDate endDate = startDate.shiftedBy(spanSeconds);
+
+            CoarseResult coarseResult = primarySegment != null && secondarySegment != null
+                    ? coarseScan(primarySegment, secondarySegment, startDate, endDate, primaryNoradId, secondaryNoradId)
+                    : null;
+            coarseSource = coarseResult != null ? "segments" : "sgp4";
+            metrics.pairScreened(coarseResult != null);
+            stats.pairsScreened++;
+            if (coarseResult != null) {
+                stats.segmentPairs++;
+            }
+            if (coarseResult == null) {
+                coarseResult = coarseScan(
+                        primaryProp,
+                        secondaryProp,
+                        startDate,
+                        endDate,
+                        primaryNoradId,
+                        secondaryNoradId,
+                        stats.validation
+                );
+            }
 
-            if (coarseResult == null || coarseResult.minDistance > minApproachDistanceKm * 1000) {
+            if (coarseResult == null) {
+                stats.failedPairs++;
+                return null;
+            }
+            if (coarseResult.minDistance > minApproachDistanceKm * 1000) {
+                outcome = "rejected";
+                missDistance = coarseResult.minDistance;
                 return null;
             }
 
@@ -77,12 +158,16 @@ public class ConjunctionScreeningService {
                     secondaryProp,
                     coarseResult.tcaDate,
                     REFINEMENT_WINDOW_SECONDS,
-                    fineTimeStepSeconds
+                    fineTimeStepSeconds,
+                    primaryNoradId,
+                    secondaryNoradId,
+                    stats.validation
             );
 
             if (fineResult.primaryAtTCA == null || fineResult.secondaryAtTCA == null) {
                 log.warn("Fine refinement returned null PV for pair {}-{}; skipping.",
                         primaryNoradId, secondaryNoradId);
+                stats.failedPairs++;
                 return null;
             }
 
@@ -93,7 +178,10 @@ public class ConjunctionScreeningService {
                         secondaryProp,
                         fineResult.tcaDate,
                         POLISH_WINDOW_SECONDS,
-                        polishTimeStepSeconds
+                        polishTimeStepSeconds,
+                        primaryNoradId,
+                        secondaryNoradId,
+                        stats.validation
                 );
                 if (polishedResult.primaryAtTCA == null || polishedResult.secondaryAtTCA == null) {
                     log.warn("Polish refinement returned null PV for pair {}-{}; using fine result.",
@@ -109,7 +197,10 @@ public class ConjunctionScreeningService {
                     polishedResult.secondaryAtTCA.getVelocity()
             );
 
+            missDistance = polishedResult.minDistance;
             if (relativeVelocity < 0.5) {
+                outcome = "rejected";
+                stats.coLocatedPairs++;
                 log.debug("Filtering out near-zero relative velocity ({} m/s) between {} and {} - likely co-located",
                         relativeVelocity, primaryNoradId, secondaryNoradId);
                 return null;
@@ -137,6 +228,7 @@ public class ConjunctionScreeningService {
                     result.getMissDistance(),
                     result.getRelativeVelocity());
 
+            outcome = "conjunction";
             return result;
 
         } catch (Exception e) {
@@ -144,7 +236,18 @@ public class ConjunctionScreeningService {
                     primaryNoradId,
                     secondaryNoradId,
                     e.getMessage());
+            stats.failedPairs++;
             return null;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.primaryNoradId = primaryNoradId;
+                event.secondaryNoradId = secondaryNoradId;
+                event.coarseSource = coarseSource;
+                event.outcome = outcome;
+                event.missDistanceMeters = missDistance;
+                event.commit();
+            }
         }
     }
 
@@ -152,8 +255,13 @@ public class ConjunctionScreeningService {
             TLEPropagator primaryProp,
             TLEPropagator secondaryProp,
             AbsoluteDate startDate,
-            AbsoluteDate endDate
+            AbsoluteDate endDate,
+            Integer primaryNoradId,
+            Integer secondaryNoradId,
+            ValidationPolicy.Tally validation
     ) {
+        ScreeningEvents.CoarseScan event = new ScreeningEvents.CoarseScan();
+        event.begin();
         double minDistance = Double.MAX_VALUE;
         AbsoluteDate tcaDate = null;
         PVCoordinates primaryAtTCA = null;
@@ -161,11 +269,12 @@ public class ConjunctionScreeningService {
 
         AbsoluteDate currentDate = startDate;
         int stepCount = 0;
+        int failedSteps = 0;
 
         while (currentDate.compareTo(endDate) <= 0) {
             try {
-                PVCoordinates primaryPV = propagationService.propagateToPV(primaryProp, currentDate);
-                PVCoordinates secondaryPV = propagationService.propagateToPV(secondaryProp, currentDate);
+                PVCoordinates primaryPV = propagationService.propagateToPV(primaryProp, currentDate, validation);
+                PVCoordinates secondaryPV = propagationService.propagateToPV(secondaryProp, currentDate, validation);
 
                 double distance = propagationService.calculateDistance(
                         primaryPV.getPosition(),
@@ -181,11 +290,23 @@ public class ConjunctionScreeningService {
 
                 stepCount++;
             } catch (Exception e) {
+                failedSteps++;
                 log.trace("Propagation failed at step {}: {}", stepCount, e.getMessage());
             }
 
             currentDate = currentDate.shiftedBy(coarseTimeStepSeconds);
         }
+        metrics.propagated(2 * (stepCount + failedSteps), failedSteps);
+        event.end();
+        if (event.shouldCommit()) {
+            event.primaryNoradId = primaryNoradId;
+            event.secondaryNoradId = secondaryNoradId;
+            event.source = "sgp4";
+            event.steps = stepCount;
+            event.failedSteps = failedSteps;
+            event.minDistanceMeters = minDistance;
+            event.commit();
+        }
 
         if (tcaDate == null) {
             return null;
@@ -197,13 +318,75 @@ public class ConjunctionScreeningService {
         return new CoarseResult(minDistance, tcaDate, primaryAtTCA, secondaryAtTCA);
     }
 
+    /**
+     * Coarse scan over precomputed ephemerides; {@code null} if either segment does not
+     * cover the window, in which case the caller falls back to propagation.
+     */
+    private CoarseResult coarseScan(
+            EphemerisSegment primarySegment,
+            EphemerisSegment secondarySegment,
+            AbsoluteDate startDate,
+            AbsoluteDate endDate,
+            Integer primaryNoradId,
+            Integer secondaryNoradId
+    ) {
+        ScreeningEvents.CoarseScan event = new ScreeningEvents.CoarseScan();
+        event.begin();
+        double duration = endDate.durationFrom(startDate);
+        double primaryOffset = primarySegment.offsetOf(startDate);
+        double secondaryOffset = secondarySegment.offsetOf(startDate);
+        if (!primarySegment.covers(primaryOffset, primaryOffset + duration)
+                || !secondarySegment.covers(secondaryOffset, secondaryOffset + duration)) {
+            return null;
+        }
+
+        double[] primary = new double[3];
+        double[] secondary = new double[3];
+        double minDistanceSq = Double.MAX_VALUE;
+        double tcaOffset = 0;
+        int stepCount = 0;
+        for (double t = 0; t <= duration; t += coarseTimeStepSeconds) {
+            primarySegment.positionAt(primaryOffset + t, primary);
+            secondarySegment.positionAt(secondaryOffset + t, secondary);
+            double dx = primary[0] - secondary[0];
+            double dy = primary[1] - secondary[1];
+            double dz = primary[2] - secondary[2];
+            double distanceSq = dx * dx + dy * dy + dz * dz;
+            if (distanceSq < minDistanceSq) {
+                minDistanceSq = distanceSq;
+                tcaOffset = t;
+            }
+            stepCount++;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.primaryNoradId = primaryNoradId;
+            event.secondaryNoradId = secondaryNoradId;
+            event.source = "segments";
+            event.steps = stepCount;
+            event.minDistanceMeters = Math.sqrt(minDistanceSq);
+            event.commit();
+        }
+
+        log.trace("Coarse scan (precomputed): min distance = {}m at +{}s ({} steps)",
+                Math.sqrt(minDistanceSq), tcaOffset, stepCount);
+
+        return new CoarseResult(Math.sqrt(minDistanceSq), startDate.shiftedBy(tcaOffset), null, null);
+    }
+
     private FineResult fineRefinement(
             TLEPropagator primaryProp,
             TLEPropagator secondaryProp,
             AbsoluteDate approximateTCA,
             int windowSeconds,
-            double timeStepSeconds
+            double timeStepSeconds,
+            Integer primaryNoradId,
+            Integer secondaryNoradId,
+            ValidationPolicy.Tally validation
     ) {
+        ScreeningEvents.FineRefinement event = new ScreeningEvents.FineRefinement();
+        event.begin();
         AbsoluteDate startDate = approximateTCA.shiftedBy(-windowSeconds);
         AbsoluteDate endDate = approximateTCA.shiftedBy(windowSeconds);
 
@@ -214,11 +397,12 @@ public class ConjunctionScreeningService {
 
         AbsoluteDate currentDate = startDate;
         int stepCount = 0;
+        int failedSteps = 0;
 
         while (currentDate.compareTo(endDate) <= 0) {
             try {
-                PVCoordinates primaryPV = propagationService.propagateToPV(primaryProp, currentDate);
-                PVCoordinates secondaryPV = propagationService.propagateToPV(secondaryProp, currentDate);
+                PVCoordinates primaryPV = propagationService.propagateToPV(primaryProp, currentDate, validation);
+                PVCoordinates secondaryPV = propagationService.propagateToPV(secondaryProp, currentDate, validation);
 
                 double distance = propagationService.calculateDistance(
                         primaryPV.getPosition(),
@@ -234,11 +418,24 @@ public class ConjunctionScreeningService {
 
                 stepCount++;
             } catch (Exception e) {
+                failedSteps++;
                 log.trace("Refinement propagation failed at step {}: {}", stepCount, e.getMessage());
             }
 
             currentDate = currentDate.shiftedBy(timeStepSeconds);
         }
+        metrics.propagated(2 * (stepCount + failedSteps), failedSteps);
+        event.end();
+        if (event.shouldCommit()) {
+            event.primaryNoradId = primaryNoradId;
+            event.secondaryNoradId = secondaryNoradId;
+            event.windowSeconds = windowSeconds;
+            event.stepSeconds = timeStepSeconds;
+            event.steps = stepCount;
+            event.failedSteps = failedSteps;
+            event.minDistanceMeters = minDistance;
+            event.commit();
+        }
 
         log.trace("Fine refinement (step={}s): min distance = {}m at {} ({} steps)",
                 timeStepSeconds, minDistance, refinedTCA, stepCount);
@@ -250,6 +447,15 @@ public class ConjunctionScreeningService {
             TleData primaryTle,
             List<TleData> candidateTles,
             LocalDateTime screeningEpoch
+    ) {
+        return screenMultiplePairs(primaryTle, candidateTles, screeningEpoch, new ScreeningStats());
+    }
+
+    List<ConjunctionResult> screenMultiplePairs(
+            TleData primaryTle,
+            List<TleData> candidateTles,
+            LocalDateTime screeningEpoch,
+            ScreeningStats stats
     ) {
         List<ConjunctionResult> results = new ArrayList<>();
 
@@ -257,10 +463,12 @@ public class ConjunctionScreeningService {
                 primaryTle.getSatellite().getNoradId(),
                 candidateTles.size());
 
-        TLE primaryTLE = propagationService.createTLE(primaryTle);
+        TLE primaryTLE = propagationService.createTLE(primaryTle, stats.validation);
         Integer primaryNoradId = primaryTle.getSatellite().getNoradId();
+        EphemerisSegment primarySegment = ephemerisSegmentStore.find(primaryTle);
 
         Map<Integer, TLE> secondaryTLECache = new HashMap<>();
+        Map<Integer, EphemerisSegment> secondarySegments = new HashMap<>();
         int failedTLEs = 0;
         int staleTLEs = 0;
 
@@ -276,8 +484,12 @@ public class ConjunctionScreeningService {
                 }
             }
             try {
-                TLE secondaryTLE = propagationService.createTLE(secondaryTle);
+                TLE secondaryTLE = propagationService.createTLE(secondaryTle, stats.validation);
                 secondaryTLECache.put(secondaryTle.getSatellite().getNoradId(), secondaryTLE);
+                EphemerisSegment segment = primarySegment != null ? ephemerisSegmentStore.find(secondaryTle) : null;
+                if (segment != null) {
+                    secondarySegments.put(secondaryTle.getSatellite().getNoradId(), segment);
+                }
             } catch (Exception e) {
                 failedTLEs++;
                 log.warn("Failed to create TLE for NORAD {}: {}",
@@ -289,8 +501,8 @@ public class ConjunctionScreeningService {
             log.warn("Skipped {} candidates with stale TLEs (> {} days old)",
                     staleTLEs, propagationService.getMaxTleAgeDays());
         }
-        log.info("Successfully created {} TLE propagators ({} failed)",
-                secondaryTLECache.size(), failedTLEs);
+        log.info("Successfully created {} TLE propagators ({} failed), {} with precomputed ephemerides",
+                secondaryTLECache.size(), failedTLEs, secondarySegments.size());
 
         java.util.Set<Integer> screenedIds = new java.util.HashSet<>();
 
@@ -314,9 +526,13 @@ public class ConjunctionScreeningService {
             ConjunctionResult result = screenPair(
                     primaryTLE,
                     secondaryTLE,
+                    primarySegment,
+                    secondarySegments.get(secondaryNoradId),
                     primaryNoradId,
                     secondaryNoradId,
-                    screeningEpoch
+                    screeningEpoch,
+                    predictionDays * 86400.0,
+                    stats
             );
 
             if (result != null) {
@@ -342,6 +558,9 @@ public class ConjunctionScreeningService {
         }
 
         long totalTime = System.currentTimeMillis() - startTime;
+        stats.staleTles = staleTLEs;
+        stats.failedTles = failedTLEs;
+        stats.durationMs = totalTime;
         log.info("Screening complete: {} conjunctions found from {} candidates in {} seconds ({} pairs/sec)",
                 results.size(),
                 candidateTles.size(),
@@ -0,0 +1,244 @@
+package com.orbit.service;
+
+import com.orbit.dto.ConjunctionResult;
+import com.orbit.entity.ConjunctionEvent;
+import com.orbit.entity.Satellite;
+import com.orbit.entity.TleData;
+import com.orbit.repository.ConjunctionEventRepository;
+import com.orbit.repository.SatelliteRepository;
+import com.orbit.repository.TleDataRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Follow-up screening of known conjunctions. The watchlist of a primary is the latest
+ * event of each secondary among its upcoming events; a watched pair is rescreened with
+ * the element sets currently stored, over a short window around its last known TCA
+ * rather than the whole prediction span. A confirmed approach updates that event; a
+ * cleared one marks the pair's events around that TCA as cleared, which takes them out
+ * of the event queries and of the watchlist until an analysis finds the pair again.
+ * How often a pair is due depends on its risk level and on how close its TCA is.
+ */
+@Service
+@Slf4j
+public class ConjunctionWatchlistService {
+
+    public enum Outcome {
+        /** A conjunction was found in the window and the watched event updated with it. */
+        CONFIRMED,
+        /**
+         * No approach within the screening distance inside the window any more; the pair's
+         * events in the window are marked cleared and drop out of the event queries.
+         */
+        CLEARED,
+        /** The closest approach in the window is at its edge: the TCA has moved away. */
+        MOVED,
+        /**
+         * Missing satellite or element set, propagation failed, or the approach had a
+         * near-zero relative velocity and could not be judged; the pair stays watched.
+         */
+        FAILED
+    }
+
+    /** A watched pair as of its latest event, {@code eventId}. */
+    public record WatchedPair(int primaryNoradId, int secondaryNoradId, LocalDateTime tca,
+                              ConjunctionEvent.RiskLevel riskLevel, LocalDateTime screeningEpoch, Long eventId) {}
+
+    public record Rescreen(Outcome outcome, WatchedPair pair, ConjunctionEvent event) {}
+
+    private final ConjunctionEventRepository conjunctionEventRepository;
+    private final SatelliteRepository satelliteRepository;
+    private final TleDataRepository tleDataRepository;
+    private final ConjunctionScreeningService screeningService;
+    private final RiskAssessmentService riskAssessmentService;
+    private final PropagationService propagationService;
+    private final ConjunctionEventCache eventCache;
+    private final Map<Outcome, Counter> rescreens = new LinkedHashMap<>();
+
+    @Value("${conjunction.watchlist.window-minutes:20}")
+    private long windowMinutes;
+
+    @Value("${conjunction.watchlist.interval-minutes.critical:15}")
+    private long criticalIntervalMinutes;
+
+    @Value("${conjunction.watchlist.interval-minutes.high:30}")
+    private long highIntervalMinutes;
+
+    @Value("${conjunction.watchlist.interval-minutes.medium:360}")
+    private long mediumIntervalMinutes;
+
+    @Value("${conjunction.watchlist.interval-minutes.low:1440}")
+    private long lowIntervalMinutes;
+
+    @Value("${conjunction.watchlist.min-interval-minutes:10}")
+    private long minIntervalMinutes;
+
+    @Value("${conjunction.time.step.seconds:30}")
+    private int coarseTimeStepSeconds;
+
+    public ConjunctionWatchlistService(ConjunctionEventRepository conjunctionEventRepository,
+                                       SatelliteRepository satelliteRepository,
+                                       TleDataRepository tleDataRepository,
+                                       ConjunctionScreeningService screeningService,
+                                       RiskAssessmentService riskAssessmentService,
+                                       PropagationService propagationService,
+                                       ConjunctionEventCache eventCache,
+                                       MeterRegistry registry) {
+        this.conjunctionEventRepository = conjunctionEventRepository;
+        this.satelliteRepository = satelliteRepository;
+        this.tleDataRepository = tleDataRepository;
+        this.screeningService = screeningService;
+        this.riskAssessmentService = riskAssessmentService;
+        this.propagationService = propagationService;
+        this.eventCache = eventCache;
+        for (Outcome outcome : Outcome.values()) {
+            rescreens.put(outcome, Counter.builder("orbit.watchlist.rescreens")
+                    .description("Watchlist pairs rescreened around their known TCA")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(registry));
+        }
+    }
+
+    /**
+     * The latest upcoming event of each secondary of {@code primaryNoradId} whose risk is
+     * one of {@code riskLevels}, ordered by TCA; empty if the primary is unknown.
+     */
+    @Transactional
+    public List<WatchedPair> loadWatchlist(Integer primaryNoradId, List<ConjunctionEvent.RiskLevel> riskLevels) {
+        Optional<Satellite> primary = satelliteRepository.findByNoradId(primaryNoradId);
+        if (primary.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, WatchedPair> latest = new LinkedHashMap<>();
+        for (ConjunctionEvent event : conjunctionEventRepository.findByPrimaryAndRiskLevels(
+                primary.get(), riskLevels, LocalDateTime.now())) {
+            WatchedPair pair = new WatchedPair(primaryNoradId, event.getSecondarySatellite().getNoradId(),
+                    event.getTca(), event.getRiskLevel(), event.getScreeningEpoch(), event.getEventId());
+            latest.merge(pair.secondaryNoradId(), pair, (kept, candidate) ->
+                    isNewer(candidate, kept) ? candidate : kept);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    private static boolean isNewer(WatchedPair candidate, WatchedPair kept) {
+        if (kept.screeningEpoch() == null) {
+            return candidate.screeningEpoch() != null;
+        }
+        return candidate.screeningEpoch() != null && candidate.screeningEpoch().isAfter(kept.screeningEpoch());
+    }
+
+    /**
+     * How long a pair may go without rescreening: the interval of its risk level, shortened
+     * to a quarter of the time left to TCA as the encounter approaches, but never below
+     * {@code conjunction.watchlist.min-interval-minutes}.
+     */
+    public Duration rescreenInterval(ConjunctionEvent.RiskLevel riskLevel, Duration timeToTca) {
+        long levelMinutes = switch (riskLevel) {
+            case CRITICAL -> criticalIntervalMinutes;
+            case HIGH -> highIntervalMinutes;
+            case MEDIUM -> mediumIntervalMinutes;
+            case LOW -> lowIntervalMinutes;
+        };
+        long approachMinutes = Math.max(minIntervalMinutes, timeToTca.toMinutes() / 4);
+        return Duration.ofMinutes(Math.min(levelMinutes, approachMinutes));
+    }
+
+    /**
+     * Screens the pair over {@code conjunction.watchlist.window-minutes} either side of its
+     * known TCA with the stored element sets. A conjunction found there replaces the result
+     * of the watched event, so following an approach adds no rows; a new event is saved
+     * only if that one has been deleted meanwhile. If the window holds no approach any
+     * more, the pair's events in it are marked cleared.
+     */
+    @Transactional
+    public Rescreen rescreen(WatchedPair pair) {
+        LocalDateTime screeningEpoch = LocalDateTime.now();
+        Optional<Satellite> primarySat = satelliteRepository.findByNoradId(pair.primaryNoradId());
+        Optional<Satellite> secondarySat = satelliteRepository.findByNoradId(pair.secondaryNoradId());
+        Optional<TleData> primaryTle = primarySat.flatMap(tleDataRepository::findBySatellite);
+        Optional<TleData> secondaryTle = secondarySat.flatMap(tleDataRepository::findBySatellite);
+        if (primaryTle.isEmpty() || secondaryTle.isEmpty()) {
+            log.warn("Cannot rescreen {}-{}: satellite or TLE data missing",
+                    pair.primaryNoradId(), pair.secondaryNoradId());
+            return finish(new Rescreen(Outcome.FAILED, pair, null));
+        }
+
+        LocalDateTime windowStart = pair.tca().minusMinutes(windowMinutes);
+        if (windowStart.isBefore(screeningEpoch)) {
+            windowStart = screeningEpoch;
+        }
+        LocalDateTime windowEnd = pair.tca().plusMinutes(windowMinutes);
+        ConjunctionResult result;
+        ScreeningStats stats = new ScreeningStats();
+        try {
+            result = screeningService.screenPairInWindow(
+                    propagationService.createTLE(primaryTle.get()),
+                    propagationService.createTLE(secondaryTle.get()),
+                    pair.primaryNoradId(),
+                    pair.secondaryNoradId(),
+                    windowStart,
+                    windowEnd,
+                    stats);
+        } catch (RuntimeException e) {
+            log.warn("Rescreening {}-{} failed: {}", pair.primaryNoradId(), pair.secondaryNoradId(), e.getMessage());
+            return finish(new Rescreen(Outcome.FAILED, pair, null));
+        }
+        if (stats.failedPairs > 0) {
+            log.warn("Rescreening {}-{} failed: the pair could not be propagated over the window",
+                    pair.primaryNoradId(), pair.secondaryNoradId());
+            return finish(new Rescreen(Outcome.FAILED, pair, null));
+        }
+        if (stats.coLocatedPairs > 0) {
+            log.warn("Rescreening {}-{} found a near-zero relative velocity at the closest approach; "
+                    + "keeping the pair watched", pair.primaryNoradId(), pair.secondaryNoradId());
+            return finish(new Rescreen(Outcome.FAILED, pair, null));
+        }
+        if (result == null) {
+            int cleared = conjunctionEventRepository.markCleared(primarySat.get(), secondarySat.get(),
+                    windowStart, windowEnd, screeningEpoch);
+            eventCache.invalidateAfterCommit(pair.primaryNoradId());
+            log.info("Pair {}-{} ({}, TCA {}) no longer approaches within the screening distance; "
+                            + "{} events cleared",
+                    pair.primaryNoradId(), pair.secondaryNoradId(), pair.riskLevel(), pair.tca(), cleared);
+            return finish(new Rescreen(Outcome.CLEARED, pair, null));
+        }
+        if (!result.getTca().isAfter(windowStart.plusSeconds(coarseTimeStepSeconds))
+                || !result.getTca().isBefore(windowEnd.minusSeconds(coarseTimeStepSeconds))) {
+            log.info("Closest approach of {}-{} is at the edge of the {}-minute window ({}); "
+                            + "leaving it to the next full analysis",
+                    pair.primaryNoradId(), pair.secondaryNoradId(), windowMinutes, result.getTca());
+            return finish(new Rescreen(Outcome.MOVED, pair, null));
+        }
+
+        ConjunctionEvent.RiskLevel riskLevel = riskAssessmentService.assessRisk(result, screeningEpoch);
+        ConjunctionEvent event = Optional.ofNullable(pair.eventId())
+                .flatMap(conjunctionEventRepository::findById)
+                .orElseGet(() -> ConjunctionEvent.of(primarySat.get(), secondarySat.get(), result, riskLevel,
+                        screeningEpoch));
+        event.update(result, riskLevel, screeningEpoch);
+        event = conjunctionEventRepository.save(event);
+        eventCache.invalidateAfterCommit(pair.primaryNoradId());
+        if (riskAssessmentService.requiresAttention(riskLevel)) {
+            log.warn(riskAssessmentService.generateRiskSummary(result, riskLevel));
+        }
+        return finish(new Rescreen(Outcome.CONFIRMED, new WatchedPair(pair.primaryNoradId(),
+                pair.secondaryNoradId(), result.getTca(), riskLevel, screeningEpoch, event.getEventId()), event));
+    }
+
+    private Rescreen finish(Rescreen rescreen) {
+        rescreens.get(rescreen.outcome()).increment();
+        return rescreen;
+    }
+}
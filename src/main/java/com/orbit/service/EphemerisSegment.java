@@ -0,0 +1,153 @@
+package com.orbit.service;
+
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+/**
+ * A precomputed TEME ephemeris of one element set: a 64-byte header followed by
+ * fixed-stride records of position (m) and velocity (m/s) as six floats, sampled every
+ * {@code stepSeconds} from {@code startMillis}. Files are memory-mapped read-only and
+ * sampled in place; positions between samples come from cubic Hermite interpolation,
+ * which at a 60 s step stays within about a metre of SGP4 for LEO.
+ */
+final class EphemerisSegment {
+
+    static final String EXTENSION = ".eph";
+
+    private static final int MAGIC = 0x45504831; // "EPH1"
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 6 * Float.BYTES;
+
+    private final Path file;
+    private final ByteBuffer records;
+    private final int noradId;
+    private final int elementSetKey;
+    private final int stepSeconds;
+    private final long startMillis;
+    private final int count;
+    private final AbsoluteDate start;
+
+    private EphemerisSegment(Path file, ByteBuffer buffer, AbsoluteDate start) {
+        this.file = file;
+        this.noradId = buffer.getInt(4);
+        this.elementSetKey = buffer.getInt(8);
+        this.stepSeconds = buffer.getInt(12);
+        this.startMillis = buffer.getLong(16);
+        this.count = buffer.getInt(24);
+        this.records = buffer;
+        this.start = start;
+    }
+
+    /** Identifies an element set by its two lines, so a superseded TLE never matches. */
+    static int elementSetKey(String line1, String line2) {
+        CRC32 crc = new CRC32();
+        crc.update(line1.getBytes(StandardCharsets.US_ASCII));
+        crc.update(line2.getBytes(StandardCharsets.US_ASCII));
+        return (int) crc.getValue();
+    }
+
+    static EphemerisSegment open(Path file, PropagationService propagationService) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.size() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an ephemeris segment: " + file);
+            }
+            long expectedSize = HEADER_SIZE + (long) buffer.getInt(24) * RECORD_SIZE;
+            if (channel.size() != expectedSize) {
+                throw new IOException("Truncated ephemeris segment: " + file);
+            }
+            AbsoluteDate start = propagationService.toAbsoluteDate(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong(16)), ZoneOffset.UTC));
+            return new EphemerisSegment(file, buffer, start);
+        }
+    }
+
+    /**
+     * Samples {@code propagator} into {@code file}, which is created or truncated.
+     */
+    static void write(Path file, int noradId, int elementSetKey, TLEPropagator propagator,
+                      AbsoluteDate start, long startMillis, int stepSeconds, int count) throws IOException {
+        long size = HEADER_SIZE + (long) count * RECORD_SIZE;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(noradId).putInt(elementSetKey).putInt(stepSeconds)
+                    .putLong(startMillis).putInt(count);
+            buffer.position(HEADER_SIZE);
+            for (int i = 0; i < count; i++) {
+                PVCoordinates pv = propagator.getPVCoordinates(start.shiftedBy((double) i * stepSeconds));
+                buffer.putFloat((float) pv.getPosition().getX())
+                        .putFloat((float) pv.getPosition().getY())
+                        .putFloat((float) pv.getPosition().getZ())
+                        .putFloat((float) pv.getVelocity().getX())
+                        .putFloat((float) pv.getVelocity().getY())
+                        .putFloat((float) pv.getVelocity().getZ());
+            }
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int noradId() {
+        return noradId;
+    }
+
+    int elementSetKey() {
+        return elementSetKey;
+    }
+
+    long endMillis() {
+        return startMillis + (long) (count - 1) * stepSeconds * 1000;
+    }
+
+    /** Seconds from the first sample to {@code date}. */
+    double offsetOf(AbsoluteDate date) {
+        return date.durationFrom(start);
+    }
+
+    boolean covers(double fromOffset, double toOffset) {
+        return fromOffset >= 0 && toOffset <= (double) (count - 1) * stepSeconds;
+    }
+
+    /**
+     * Interpolated position at {@code offset} seconds after the first sample, written
+     * to {@code out[0..2]}; the offset must be covered by the segment.
+     */
+    void positionAt(double offset, double[] out) {
+        double steps = offset / stepSeconds;
+        int i = Math.min((int) steps, count - 2);
+        double s = steps - i;
+        double s2 = s * s;
+        double s3 = s2 * s;
+        double h00 = 2 * s3 - 3 * s2 + 1;
+        double h10 = (s3 - 2 * s2 + s) * stepSeconds;
+        double h01 = -2 * s3 + 3 * s2;
+        double h11 = (s3 - s2) * stepSeconds;
+        int a = HEADER_SIZE + i * RECORD_SIZE;
+        int b = a + RECORD_SIZE;
+        for (int axis = 0; axis < 3; axis++) {
+            int p = axis * Float.BYTES;
+            int v = p + 3 * Float.BYTES;
+            out[axis] = h00 * records.getFloat(a + p) + h10 * records.getFloat(a + v)
+                    + h01 * records.getFloat(b + p) + h11 * records.getFloat(b + v);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.orbit.service;
+
+import com.orbit.entity.TleData;
+import com.orbit.repository.TleDataRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.orekit.propagation.analytical.tle.TLE;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Precomputed ephemerides of the active LEO catalog, one {@link EphemerisSegment} file
+ * per NORAD ID and element set under {@code ephemeris.directory}. A refresh runs in the
+ * background after each TLE ingest commits: objects whose element set changed, or
+ * whose segment no longer covers the screening window, are propagated again over
+ * {@code ephemeris.horizon-days}; segments of superseded, stale or vanished element
+ * sets are deleted. Screening looks segments up by element set, so a stale file is
+ * never read, only missed. Off unless {@code ephemeris.enabled} is set: a segment takes
+ * {@code horizon-days * 86400 / step-seconds + 1} records of 24 bytes and as many SGP4
+ * calls to generate, about 276 KB per object at the defaults.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EphemerisSegmentStore {
+    private final TleDataRepository tleDataRepository;
+    private final PropagationService propagationService;
+    private final SatelliteFilterService filterService;
+
+    @Value("${ephemeris.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ephemeris.directory:ephemeris}")
+    private Path directory;
+
+    @Value("${ephemeris.horizon-days:8}")
+    private int horizonDays;
+
+    @Value("${ephemeris.step-seconds:60}")
+    private int stepSeconds;
+
+    @Value("${ephemeris.threads:0}")
+    private int threads;
+
+    @Value("${conjunction.prediction.days:7}")
+    private int predictionDays;
+
+    private final Map<Integer, EphemerisSegment> segments = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ephemeris-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public record RefreshResult(int generated, int reused, int deleted, int failed, long durationMs) {}
+
+    @PostConstruct
+    void loadSegments() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(EphemerisSegment.EXTENSION)) {
+                    if (name.endsWith(".tmp")) {
+                        Files.deleteIfExists(file);
+                    }
+                    continue;
+                }
+                try {
+                    EphemerisSegment segment = EphemerisSegment.open(file, propagationService);
+                    EphemerisSegment previous = segments.put(segment.noradId(), segment);
+                    if (previous != null) {
+                        // Keep whichever extends further; the other is a leftover of a crash.
+                        EphemerisSegment keep = previous.endMillis() > segment.endMillis() ? previous : segment;
+                        segments.put(keep.noradId(), keep);
+                        Files.deleteIfExists((keep == previous ? segment : previous).file());
+                    }
+                } catch (IOException e) {
+                    log.warn("Deleting unreadable ephemeris segment {}: {}", file, e.getMessage());
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        log.info("Loaded {} ephemeris segments from {}", segments.size(), directory.toAbsolutePath());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * The segment for exactly this element set, or {@code null} if there is none (yet).
+     */
+    EphemerisSegment find(TleData tleData) {
+        if (!enabled) {
+            return null;
+        }
+        EphemerisSegment segment = segments.get(tleData.getSatellite().getNoradId());
+        if (segment == null
+                || segment.elementSetKey() != EphemerisSegment.elementSetKey(tleData.getLine1(), tleData.getLine2())) {
+            return null;
+        }
+        return segment;
+    }
+
+    /**
+     * Queues a refresh once the current transaction commits, or right away outside
+     * one. Requests made while a refresh is already queued are folded into it.
+     */
+    public void refreshAfterCommit() {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestRefresh();
+                }
+            });
+        } else {
+            requestRefresh();
+        }
+    }
+
+    private void requestRefresh() {
+        if (refreshQueued.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> {
+                refreshQueued.set(false);
+                try {
+                    refresh();
+                } catch (Exception e) {
+                    log.error("Ephemeris segment refresh failed: {}", e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    public synchronized RefreshResult refresh() throws IOException, InterruptedException {
+        long startTime = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = now.truncatedTo(ChronoUnit.MINUTES);
+        long startMillis = start.toInstant(ZoneOffset.UTC).toEpochMilli();
+        long requiredEndMillis = now.plusDays(predictionDays).toInstant(ZoneOffset.UTC).toEpochMilli();
+        int count = (int) (horizonDays * 86_400L / stepSeconds) + 1;
+
+        List<TleData> active = new ArrayList<>();
+        Set<Integer> activeIds = new HashSet<>();
+        int reused = 0;
+        for (TleData tle : tleDataRepository.findAllWithSatellite()) {
+            if (tle.getEpoch() != null
+                    && ChronoUnit.DAYS.between(tle.getEpoch(), now) > propagationService.getMaxTleAgeDays()) {
+                continue;
+            }
+            if (!filterService.extractOrbitalElements(tle).isLeo()) {
+                continue;
+            }
+            activeIds.add(tle.getSatellite().getNoradId());
+            EphemerisSegment current = find(tle);
+            if (current != null && current.endMillis() >= requiredEndMillis) {
+                reused++;
+            } else {
+                active.add(tle);
+            }
+        }
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "ephemeris-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int generated = 0;
+        int failed = 0;
+        try {
+            List<Future<EphemerisSegment>> futures = new ArrayList<>(active.size());
+            for (TleData tle : active) {
+                Integer noradId = tle.getSatellite().getNoradId();
+                String line1 = tle.getLine1();
+                String line2 = tle.getLine2();
+                futures.add(pool.submit(() -> generate(noradId, line1, line2, start, startMillis, count)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    EphemerisSegment segment = futures.get(i).get();
+                    EphemerisSegment previous = segments.put(segment.noradId(), segment);
+                    if (previous != null && !previous.file().equals(segment.file())) {
+                        Files.deleteIfExists(previous.file());
+                    }
+                    generated++;
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.debug("Could not generate ephemeris for NORAD {}: {}",
+                            active.get(i).getSatellite().getNoradId(), e.getCause().getMessage());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int deleted = 0;
+        for (EphemerisSegment segment : List.copyOf(segments.values())) {
+            if (!activeIds.contains(segment.noradId()) && segments.remove(segment.noradId(), segment)) {
+                Files.deleteIfExists(segment.file());
+                deleted++;
+            }
+        }
+
+        RefreshResult result = new RefreshResult(generated, reused, deleted, failed,
+                System.currentTimeMillis() - startTime);
+        log.info("Ephemeris segments refreshed: {} generated, {} reused, {} deleted, {} failed in {} ms",
+                result.generated(), result.reused(), result.deleted(), result.failed(), result.durationMs());
+        return result;
+    }
+
+    /**
+     * Writes to a temporary file and renames it into place, so readers only ever map
+     * complete segments. Mappings of a replaced file stay valid until they are dropped.
+     */
+    private EphemerisSegment generate(Integer noradId, String line1, String line2,
+                                      LocalDateTime start, long startMillis, int count) throws IOException {
+        TLEPropagator propagator = propagationService.createPropagator(new TLE(line1, line2));
+        int key = EphemerisSegment.elementSetKey(line1, line2);
+        Path file = directory.resolve(String.format("%d-%08x-%d%s",
+                noradId, key, startMillis / 1000, EphemerisSegment.EXTENSION));
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        try {
+            EphemerisSegment.write(temporary, noradId, key, propagator,
+                    propagationService.toAbsoluteDate(start), startMillis, stepSeconds, count);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return EphemerisSegment.open(file, propagationService);
+    }
+}
@@ -0,0 +1,119 @@
+package com.orbit.service;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Starts, dumps and stops a Flight Recorder recording from the API, so a slow analysis
+ * can be profiled on a running instance without a restart or shell access. Recordings
+ * use the JDK's low-overhead {@code default} settings plus the {@link ScreeningEvents}
+ * and keep the last {@code profiling.jfr.max-age-minutes} in a bounded on-disk buffer;
+ * dumps go to {@code profiling.jfr.directory}. A recording started with
+ * {@code -XX:StartFlightRecording} captures the screening events as well.
+ */
+@Service
+@Slf4j
+public class FlightRecordingService {
+
+    private static final DateTimeFormatter DUMP_NAME = DateTimeFormatter.ofPattern("'orbit-'yyyyMMdd-HHmmss'.jfr'");
+
+    @Value("${profiling.jfr.directory:recordings}")
+    private Path directory;
+
+    @Value("${profiling.jfr.max-age-minutes:30}")
+    private long maxAgeMinutes;
+
+    @Value("${profiling.jfr.max-size-mb:100}")
+    private long maxSizeMb;
+
+    private Recording recording;
+    private Path lastDump;
+
+    public record Status(String state, Instant startTime, Duration duration, long sizeBytes, String lastDump) {}
+
+    /**
+     * Starts a recording that runs until stopped, or for {@code duration} if given.
+     */
+    public synchronized Status start(Duration duration) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running since " + recording.getStartTime());
+        }
+        closeRecording();
+
+        Recording newRecording = new Recording(Configuration.getConfiguration("default"));
+        newRecording.setName("orbit-screening");
+        newRecording.enable(ScreeningEvents.ScreenPair.class);
+        newRecording.enable(ScreeningEvents.CoarseScan.class);
+        newRecording.enable(ScreeningEvents.FineRefinement.class);
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+        newRecording.setMaxSize(maxSizeMb * 1024 * 1024);
+        if (duration != null) {
+            newRecording.setDuration(duration);
+        }
+        newRecording.start();
+        recording = newRecording;
+        log.info("Started flight recording (duration: {}, max age {} min, max size {} MB)",
+                duration != null ? duration : "until stopped", maxAgeMinutes, maxSizeMb);
+        return status();
+    }
+
+    /**
+     * Writes what the current or last recording holds to a new file; the recording
+     * keeps running.
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            throw new IllegalStateException("No flight recording to dump; start one first");
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve(LocalDateTime.now().format(DUMP_NAME)).toAbsolutePath();
+        recording.dump(file);
+        lastDump = file;
+        log.info("Dumped flight recording to {} ({} KB)", file, Files.size(file) / 1024);
+        return file;
+    }
+
+    public synchronized Status stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No flight recording is running");
+        }
+        recording.stop();
+        log.info("Stopped flight recording");
+        return status();
+    }
+
+    public synchronized Status status() {
+        if (recording == null) {
+            return new Status("NONE", null, null, 0, lastDumpName());
+        }
+        return new Status(recording.getState().name(), recording.getStartTime(), recording.getDuration(),
+                recording.getSize(), lastDumpName());
+    }
+
+    private String lastDumpName() {
+        return lastDump != null ? lastDump.toString() : null;
+    }
+
+    @PreDestroy
+    synchronized void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.orbit.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only memory mapping of a (possibly multi-gigabyte) file as a sequence of
+ * windows. Lines are handed out as byte ranges of the mapped buffer, so callers can
+ * parse fixed columns or delimited fields without copying them into Strings.
+ */
+final class MappedFileReader implements Closeable {
+
+    static final long DEFAULT_WINDOW_SIZE = 1L << 28;
+
+    @FunctionalInterface
+    interface LineVisitor {
+        /**
+         * @param buffer the current window; only read between {@code start} and {@code end}
+         * @param start  index of the first byte of the line
+         * @param end    index just past the last byte, excluding the line terminator
+         * @param offset file offset of the first byte of the line
+         */
+        void line(ByteBuffer buffer, int start, int end, long offset) throws IOException;
+    }
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+
+    MappedFileReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileReader(Path path, long windowSize) throws IOException {
+        if (windowSize < 1 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window size out of range: " + windowSize);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * Visits every line in file order. Windows always start at a line boundary, so a
+     * line never spans two mappings; {@code \n} and {@code \r\n} terminators are accepted.
+     */
+    void forEachLine(LineVisitor visitor) throws IOException {
+        long position = 0;
+        while (position < size) {
+            int length = (int) Math.min(windowSize, size - position);
+            boolean lastWindow = position + length == size;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+            int lineStart = 0;
+            for (int i = 0; i < length; i++) {
+                if (window.get(i) == '\n') {
+                    visitor.line(window, lineStart, trimCarriageReturn(window, lineStart, i), position + lineStart);
+                    lineStart = i + 1;
+                }
+            }
+
+            if (lastWindow) {
+                if (lineStart < length) {
+                    visitor.line(window, lineStart, trimCarriageReturn(window, lineStart, length), position + lineStart);
+                }
+                position = size;
+            } else if (lineStart == 0) {
+                throw new IOException("Line at offset " + position + " is longer than the " + windowSize + " byte mapping window");
+            } else {
+                position += lineStart;
+            }
+        }
+    }
+
+    /**
+     * Streams the mapped file, for parsers that need an {@link InputStream}. Byte
+     * offsets reported by such a parser are file offsets.
+     */
+    InputStream inputStream() {
+        return new InputStream() {
+            private MappedByteBuffer window;
+            private long windowStart;
+
+            @Override
+            public int read() throws IOException {
+                return ensureWindow() ? window.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] target, int off, int len) throws IOException {
+                if (len == 0) {
+                    return 0;
+                }
+                if (!ensureWindow()) {
+                    return -1;
+                }
+                int count = Math.min(len, window.remaining());
+                window.get(target, off, count);
+                return count;
+            }
+
+            private boolean ensureWindow() throws IOException {
+                if (window != null && window.hasRemaining()) {
+                    return true;
+                }
+                long next = window == null ? 0 : windowStart + window.capacity();
+                if (next >= size) {
+                    return false;
+                }
+                windowStart = next;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, next, Math.min(windowSize, size - next));
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int trimCarriageReturn(ByteBuffer buffer, int start, int end) {
+        return end > start && buffer.get(end - 1) == '\r' ? end - 1 : end;
+    }
+}
@@ -0,0 +1,141 @@
+package com.orbit.service;
+
+import com.orbit.dto.SpaceTrackTleDto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads OMM / Space-Track GP CSV with a header row. The scan pass walks each mapped
+ * line once, tracking quotes, and parses only the NORAD_CAT_ID and EPOCH columns in place.
+ */
+class OmmCsvFileReader implements CatalogFileReader {
+
+    @Override
+    public long scan(MappedFileReader file, RecordIndex index) throws IOException {
+        CatalogRecords.AsciiSlice slice = new CatalogRecords.AsciiSlice();
+        long[] records = {0};
+        int[] columns = {-1, -1};
+        file.forEachLine((buffer, start, end, offset) -> {
+            if (start == end) {
+                return;
+            }
+            if (columns[0] < 0) {
+                List<String> header = header(buffer, start, end);
+                columns[0] = header.indexOf("NORAD_CAT_ID");
+                columns[1] = header.indexOf("EPOCH");
+                if (columns[0] < 0 || columns[1] < 0) {
+                    throw new IOException("CSV header must contain NORAD_CAT_ID and EPOCH columns");
+                }
+                return;
+            }
+
+            records[0]++;
+            int noradId = -1;
+            long epochMicros = Long.MIN_VALUE;
+            int column = 0;
+            int fieldStart = start;
+            boolean quoted = false;
+            for (int i = start; i <= end; i++) {
+                byte b = i < end ? buffer.get(i) : (byte) ',';
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (b == ',' && !quoted) {
+                    if (column == columns[0]) {
+                        noradId = CatalogRecords.parseInt(slice.set(buffer, fieldStart, i));
+                    } else if (column == columns[1]) {
+                        epochMicros = CatalogRecords.parseIsoEpochMicros(unquote(slice, buffer, fieldStart, i));
+                    }
+                    column++;
+                    fieldStart = i + 1;
+                }
+            }
+            if (noradId >= 0 && epochMicros != Long.MIN_VALUE) {
+                index.record(noradId, epochMicros, offset);
+            }
+        });
+        return records[0];
+    }
+
+    @Override
+    public void read(MappedFileReader file, long[] offsets, Consumer<SpaceTrackTleDto> sink) throws IOException {
+        List<List<String>> header = new ArrayList<>(1);
+        int[] next = {0};
+        file.forEachLine((buffer, start, end, offset) -> {
+            if (start == end) {
+                return;
+            }
+            if (header.isEmpty()) {
+                header.add(header(buffer, start, end));
+                return;
+            }
+            if (next[0] >= offsets.length || offsets[next[0]] != offset) {
+                return;
+            }
+            List<String> names = header.get(0);
+            List<String> values = fields(buffer, start, end);
+            Map<String, String> record = new HashMap<>();
+            for (int i = 0; i < names.size() && i < values.size(); i++) {
+                if (!values.get(i).isEmpty()) {
+                    record.put(names.get(i), values.get(i));
+                }
+            }
+            sink.accept(CatalogRecords.fromOmm(record));
+            next[0]++;
+        });
+    }
+
+    private static List<String> header(ByteBuffer buffer, int start, int end) {
+        List<String> names = fields(buffer, start, end);
+        names.replaceAll(name -> name.trim().toUpperCase(Locale.ROOT));
+        if (!names.isEmpty() && names.get(0).startsWith("\uFEFF")) {
+            names.set(0, names.get(0).substring(1));
+        }
+        return names;
+    }
+
+    /**
+     * Splits one CSV line into unquoted values, honouring {@code ""} escapes.
+     */
+    private static List<String> fields(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        String line = new String(bytes, StandardCharsets.UTF_8);
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static CharSequence unquote(CatalogRecords.AsciiSlice slice, ByteBuffer buffer, int start, int end) {
+        if (end - start >= 2 && buffer.get(start) == '"' && buffer.get(end - 1) == '"') {
+            return slice.set(buffer, start + 1, end - 1);
+        }
+        return slice.set(buffer, start, end);
+    }
+}
@@ -0,0 +1,92 @@
+package com.orbit.service;
+
+import com.orbit.dto.SpaceTrackTleDto;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads an OMM / Space-Track GP JSON array. The scan pass walks the token stream over
+ * the mapped file and only looks at NORAD_CAT_ID and EPOCH, reading their values from
+ * the parser's character buffer; the record's byte offset identifies it in the read pass.
+ */
+class OmmJsonFileReader implements CatalogFileReader {
+
+    private final ObjectMapper objectMapper;
+
+    OmmJsonFileReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public long scan(MappedFileReader file, RecordIndex index) throws IOException {
+        long records = 0;
+        try (JsonParser parser = openArray(file)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                long offset = parser.currentTokenLocation().getByteOffset();
+                int noradId = -1;
+                long epochMicros = Long.MIN_VALUE;
+                while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if (value.isStructStart()) {
+                        parser.skipChildren();
+                    } else if ("NORAD_CAT_ID".equals(field)) {
+                        noradId = CatalogRecords.parseInt(text(parser));
+                    } else if ("EPOCH".equals(field)) {
+                        epochMicros = CatalogRecords.parseIsoEpochMicros(text(parser));
+                    }
+                }
+                records++;
+                if (noradId >= 0 && epochMicros != Long.MIN_VALUE) {
+                    index.record(noradId, epochMicros, offset);
+                }
+            }
+        }
+        return records;
+    }
+
+    @Override
+    public void read(MappedFileReader file, long[] offsets, Consumer<SpaceTrackTleDto> sink) throws IOException {
+        int next = 0;
+        try (JsonParser parser = openArray(file)) {
+            while (next < offsets.length && parser.nextToken() == JsonToken.START_OBJECT) {
+                if (parser.currentTokenLocation().getByteOffset() != offsets[next]) {
+                    parser.skipChildren();
+                    continue;
+                }
+                Map<String, String> fields = new HashMap<>();
+                while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if (value.isStructStart()) {
+                        parser.skipChildren();
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        fields.put(field, parser.getString());
+                    }
+                }
+                sink.accept(CatalogRecords.fromOmm(fields));
+                next++;
+            }
+        }
+    }
+
+    private JsonParser openArray(MappedFileReader file) throws IOException {
+        JsonParser parser = objectMapper.createParser(file.inputStream());
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("Expected a JSON array of OMM records");
+        }
+        return parser;
+    }
+
+    private static CharSequence text(JsonParser parser) {
+        return CharBuffer.wrap(parser.getStringCharacters(), parser.getStringOffset(), parser.getStringLength());
+    }
+}
@@ -22,39 +22,39 @@ import java.time.temporal.ChronoUnit;
 @Service
 @Slf4j
 public class PropagationService {
-    public static final double LEO_MIN_SPEED_MS = 6_500.0;
-    public static final double LEO_MAX_SPEED_MS = 8_200.0;
-
     @Getter
     private final Frame frame;
     private final TimeScale utc;
+    private final ValidationPolicy validationPolicy;
 
     @Getter
     @Value("${tle.max-age-days:30}")
     private int maxTleAgeDays;
 
-    public PropagationService() {
+    public PropagationService(ValidationPolicy validationPolicy) {
+        this.validationPolicy = validationPolicy;
         this.frame = FramesFactory.getTEME();
         this.utc = TimeScalesFactory.getUTC();
     }
 
     public TLE createTLE(TleData tleData) {
+        return createTLE(tleData, new ValidationPolicy.Tally());
+    }
+
+    /** Parses the element set, recording a stale or missing epoch in {@code validation}. */
+    public TLE createTLE(TleData tleData, ValidationPolicy.Tally validation) {
         try {
             LocalDateTime epoch = tleData.getEpoch();
             if (epoch != null) {
                 long agedays = ChronoUnit.DAYS.between(epoch, LocalDateTime.now(ZoneOffset.UTC));
                 if (agedays > maxTleAgeDays) {
-                    log.warn("TLE for NORAD {} is {} days old (epoch {}). "
-                                    + "SGP4 accuracy is significantly degraded beyond {} days. "
-                                    + "Results should not be trusted for conjunction screening.",
-                            tleData.getSatellite().getNoradId(), agedays, epoch, maxTleAgeDays);
+                    validationPolicy.recordStaleTle(tleData.getSatellite().getNoradId(), agedays, validation);
                 } else if (agedays > 7) {
                     log.debug("TLE for NORAD {} is {} days old (epoch {}) — accuracy may be reduced.",
                             tleData.getSatellite().getNoradId(), agedays, epoch);
                 }
             } else {
-                log.warn("TLE for NORAD {} has a null epoch — cannot validate staleness.",
-                        tleData.getSatellite().getNoradId());
+                validationPolicy.recordMissingEpoch(tleData.getSatellite().getNoradId());
             }
             return new TLE(tleData.getLine1(), tleData.getLine2());
         } catch (Exception e) {
@@ -90,16 +90,11 @@ public class PropagationService {
         }
     }
 
-    public PVCoordinates propagateToPV(TLEPropagator propagator, AbsoluteDate date){
+    public PVCoordinates propagateToPV(TLEPropagator propagator, AbsoluteDate date,
+                                       ValidationPolicy.Tally validation){
         try{
             PVCoordinates pv = propagator.propagate(date).getPVCoordinates(frame);
-            double speed = pv.getVelocity().getNorm(); // m/s
-            if (speed < LEO_MIN_SPEED_MS || speed > LEO_MAX_SPEED_MS) {
-                log.warn("Unusual orbital speed {} m/s at {} — expected {}-{} m/s for LEO. "
-                                + "TLE may be corrupt or satellite is not in LEO.",
-                        String.format("%.0f", speed), date,
-                        (int) LEO_MIN_SPEED_MS, (int) LEO_MAX_SPEED_MS);
-            }
+            validationPolicy.checkState(propagator, pv, date, validation);
             return pv;
         } catch(Exception e) {
             log.error("Propagation to PV failed at {}: {}", date, e.getMessage());
@@ -0,0 +1,100 @@
+package com.orbit.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder events of conjunction screening, one per pair and one per coarse or
+ * refinement scan, so a slow run can be broken down by pair in JDK Mission Control
+ * (group by {@code secondaryNoradId}, sort by duration). Stack traces are off and
+ * fields are only filled in after {@link Event#shouldCommit()}, so with no recording
+ * running an event costs an allocation that escape analysis usually removes.
+ */
+final class ScreeningEvents {
+
+    private ScreeningEvents() {
+    }
+
+    @Name("com.orbit.ScreenPair")
+    @Label("Screen Pair")
+    @Category({"Orbit", "Screening"})
+    @Description("Coarse scan and refinement of one primary/secondary pair")
+    @StackTrace(false)
+    static final class ScreenPair extends Event {
+        @Label("Primary NORAD ID")
+        int primaryNoradId;
+
+        @Label("Secondary NORAD ID")
+        int secondaryNoradId;
+
+        @Label("Coarse Source")
+        @Description("segments if the coarse scan read precomputed ephemerides, otherwise sgp4")
+        String coarseSource;
+
+        @Label("Outcome")
+        @Description("conjunction, rejected or error")
+        String outcome;
+
+        @Label("Miss Distance (m)")
+        @Description("Refined miss distance, or the coarse minimum if the pair was rejected before refinement")
+        double missDistanceMeters;
+    }
+
+    @Name("com.orbit.CoarseScan")
+    @Label("Coarse Scan")
+    @Category({"Orbit", "Screening"})
+    @Description("Fixed-step scan of the whole screening window for the closest approach")
+    @StackTrace(false)
+    static final class CoarseScan extends Event {
+        @Label("Primary NORAD ID")
+        int primaryNoradId;
+
+        @Label("Secondary NORAD ID")
+        int secondaryNoradId;
+
+        @Label("Source")
+        String source;
+
+        @Label("Steps")
+        int steps;
+
+        @Label("Failed Steps")
+        @Description("Steps skipped because a propagation threw")
+        int failedSteps;
+
+        @Label("Minimum Distance (m)")
+        double minDistanceMeters;
+    }
+
+    @Name("com.orbit.FineRefinement")
+    @Label("Fine Refinement")
+    @Category({"Orbit", "Screening"})
+    @Description("SGP4 scan of a short window around the coarse or fine time of closest approach")
+    @StackTrace(false)
+    static final class FineRefinement extends Event {
+        @Label("Primary NORAD ID")
+        int primaryNoradId;
+
+        @Label("Secondary NORAD ID")
+        int secondaryNoradId;
+
+        @Label("Window (s)")
+        int windowSeconds;
+
+        @Label("Step (s)")
+        double stepSeconds;
+
+        @Label("Steps")
+        int steps;
+
+        @Label("Failed Steps")
+        int failedSteps;
+
+        @Label("Minimum Distance (m)")
+        double minDistanceMeters;
+    }
+}
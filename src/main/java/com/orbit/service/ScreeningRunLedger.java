@@ -0,0 +1,144 @@
+package com.orbit.service;
+
+import com.orbit.dto.ScreeningRunTrend;
+import com.orbit.entity.ScreeningRun;
+import com.orbit.repository.ScreeningRunRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Records every conjunction analysis in {@code screening_runs}, failed ones included. The
+ * row is saved once the analysis has finished. The analysis itself holds no transaction
+ * by then: its read phase and its event write each commit or roll back on their own. The
+ * save still runs in a new transaction, so the row does not join, and is not rolled back
+ * with, any transaction the caller of the analysis may have open.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScreeningRunLedger {
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ScreeningRunRepository screeningRunRepository;
+
+    @Value("${conjunction.prediction.days:7}")
+    private int predictionDays;
+
+    @Value("${conjunction.time.step.seconds:30}")
+    private int coarseStepSeconds;
+
+    @Value("${conjunction.min.distance.km:50.0}")
+    private double minDistanceKm;
+
+    @Value("${conjunction.refinement.fine.step.seconds:1}")
+    private int fineStepSeconds;
+
+    @Value("${conjunction.refinement.polish.step.seconds:0.1}")
+    private double polishStepSeconds;
+
+    @Value("${conjunction.refinement.threshold.km:100.0}")
+    private double refinementThresholdKm;
+
+    @Value("${conjunction.filter.altitude.tolerance.km:150.0}")
+    private double altitudeToleranceKm;
+
+    @Value("${conjunction.filter.inclination.tolerance.deg:30.0}")
+    private double inclinationToleranceDeg;
+
+    @Value("${conjunction.filter.raan.enabled:true}")
+    private boolean raanFilterEnabled;
+
+    @Value("${conjunction.filter.raan.tolerance.deg:45.0}")
+    private double raanToleranceDeg;
+
+    @Value("${ephemeris.enabled:false}")
+    private boolean ephemerisEnabled;
+
+    /**
+     * A new, unsaved run of {@code primaryNoradId} starting now, with the current
+     * configuration filled in.
+     */
+    public ScreeningRun begin(Integer primaryNoradId) {
+        ScreeningRun run = new ScreeningRun();
+        run.setPrimaryNoradId(primaryNoradId);
+        run.setStartedAt(LocalDateTime.now());
+        run.setPredictionDays(predictionDays);
+        run.setCoarseStepSeconds(coarseStepSeconds);
+        run.setMinDistanceKm(minDistanceKm);
+        run.setFineStepSeconds(fineStepSeconds);
+        run.setPolishStepSeconds(polishStepSeconds);
+        run.setRefinementThresholdKm(refinementThresholdKm);
+        run.setAltitudeToleranceKm(altitudeToleranceKm);
+        run.setInclinationToleranceDeg(inclinationToleranceDeg);
+        run.setRaanFilterEnabled(raanFilterEnabled);
+        run.setRaanToleranceDeg(raanToleranceDeg);
+        run.setEphemerisEnabled(ephemerisEnabled);
+        run.setConfigFingerprint(fingerprint(run));
+        return run;
+    }
+
+    /**
+     * Marks {@code run} finished ({@code error} null on success) and saves it.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public ScreeningRun finish(ScreeningRun run, Exception error) {
+        LocalDateTime finishedAt = LocalDateTime.now();
+        run.setFinishedAt(finishedAt);
+        run.setTotalMs(Duration.between(run.getStartedAt(), finishedAt).toMillis());
+        if (error == null) {
+            run.setStatus(ScreeningRun.Status.SUCCEEDED);
+        } else {
+            run.setStatus(ScreeningRun.Status.FAILED);
+            String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+            run.setErrorMessage(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        }
+        ScreeningRun saved = screeningRunRepository.save(run);
+        log.info("Screening run {} for NORAD {} {} in {} ms ({} pairs at {} pairs/sec, config {})",
+                saved.getRunId(), saved.getPrimaryNoradId(), saved.getStatus(), saved.getTotalMs(),
+                saved.getPairsScreened(),
+                saved.getPairsPerSecond() != null ? String.format("%.1f", saved.getPairsPerSecond()) : "-",
+                saved.getConfigFingerprint());
+        return saved;
+    }
+
+    public List<ScreeningRun> findRuns(Integer noradId, LocalDateTime from, LocalDateTime to, int limit) {
+        return screeningRunRepository.findRuns(noradId, from, to, PageRequest.of(0, limit));
+    }
+
+    public List<ScreeningRunTrend> findDailyTrend(Integer noradId, LocalDateTime from, LocalDateTime to) {
+        return screeningRunRepository.findDailyTrend(noradId, from, to);
+    }
+
+    private static String fingerprint(ScreeningRun run) {
+        String config = String.join("|",
+                String.valueOf(run.getPredictionDays()),
+                String.valueOf(run.getCoarseStepSeconds()),
+                String.valueOf(run.getMinDistanceKm()),
+                String.valueOf(run.getFineStepSeconds()),
+                String.valueOf(run.getPolishStepSeconds()),
+                String.valueOf(run.getRefinementThresholdKm()),
+                String.valueOf(run.getAltitudeToleranceKm()),
+                String.valueOf(run.getInclinationToleranceDeg()),
+                String.valueOf(run.getRaanFilterEnabled()),
+                String.valueOf(run.getRaanToleranceDeg()),
+                String.valueOf(run.getEphemerisEnabled()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(config.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.orbit.service;
+
+/**
+ * What one {@link ConjunctionScreeningService#screenMultiplePairs} call did, for the
+ * screening run ledger, and what the validation checks found along the way.
+ */
+final class ScreeningStats {
+    int staleTles;
+    int failedTles;
+    int pairsScreened;
+    int segmentPairs;
+    /** Pairs that could not be screened: no step propagated, refinement got no state, or screening threw. */
+    int failedPairs;
+    /** Pairs dropped for a near-zero relative velocity at their closest approach. */
+    int coLocatedPairs;
+    long durationMs;
+    final ValidationPolicy.Tally validation = new ValidationPolicy.Tally();
+
+    double pairsPerSecond() {
+        return durationMs > 0 ? pairsScreened * 1000.0 / durationMs : 0;
+    }
+}
@@ -0,0 +1,180 @@
+package com.orbit.service;
+
+import com.orbit.config.SpaceTrackConfig;
+import com.orbit.config.TleHistoryConfig;
+import com.orbit.dto.SpaceTrackTleDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Downloads GP catalog queries and hands the reduced records to a sink in chunks.
+ * With {@code spacetrack.ingest.partition-boundaries} set, the query is split into
+ * NORAD_CAT_ID ranges that are downloaded and parsed concurrently (still within the
+ * client's rate limit). Chunks are passed through a bounded queue and the sink always
+ * runs on the calling thread, so persistence stays inside the caller's transaction
+ * while later ranges are still arriving. {@code maxGpId} is the highest GP_ID read
+ * across all ranges, 0 when the responses carried none.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpaceTrackCatalogFetcher {
+
+    public record Result(long bytesTransferred, long recordsRead, int requests, long maxGpId) {}
+
+    private static final String ORDER_AND_FORMAT = "/orderby/NORAD_CAT_ID,EPOCH/format/json";
+
+    private final SpaceTrackConfig config;
+    private final SpaceTrackClient spaceTrackClient;
+    private final TleHistoryConfig historyConfig;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private sealed interface Message permits Chunk, Finished {}
+
+    private record Chunk(List<SpaceTrackTleDto> records) implements Message {}
+
+    private record Finished(String range, long bytesTransferred, long recordsRead, long maxGpId, Throwable failure)
+            implements Message {}
+
+    /**
+     * Fetches every GP record matching {@code predicates} (e.g. {@code "EPOCH/%3Enow-30"}),
+     * reduced to the latest epoch per NORAD ID unless the TLE history is being kept.
+     */
+    public Result fetch(String predicates, Consumer<List<SpaceTrackTleDto>> sink)
+            throws IOException, InterruptedException {
+        List<String> ranges = noradRanges(config.getIngest().getPartitionBoundaries());
+        if (ranges.isEmpty()) {
+            SpaceTrackTleStreamParser parser = newParser();
+            SpaceTrackClient.Response<SpaceTrackTleStreamParser.Result> response = spaceTrackClient.queryGp(
+                    predicates + ORDER_AND_FORMAT, body -> parser.parse(body, sink));
+            return new Result(response.bytesTransferred(), response.body().recordsRead(), 1,
+                    response.body().maxGpId());
+        }
+        return fetchPartitioned(ranges, predicates, sink);
+    }
+
+    private Result fetchPartitioned(List<String> ranges, String predicates, Consumer<List<SpaceTrackTleDto>> sink)
+            throws IOException, InterruptedException {
+        int threads = Math.min(ranges.size(), Math.max(1, config.getIngest().getDownloadConcurrency()));
+        log.info("Downloading catalog in {} NORAD ranges with {} concurrent requests", ranges.size(), threads);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "spacetrack-download-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        BlockingQueue<Message> queue = new ArrayBlockingQueue<>(threads * 2);
+
+        try {
+            for (String range : ranges) {
+                executor.execute(() -> downloadRange(range, predicates, queue));
+            }
+
+            long bytes = 0;
+            long recordsRead = 0;
+            long maxGpId = 0;
+            int remaining = ranges.size();
+            while (remaining > 0) {
+                Message message = queue.take();
+                if (message instanceof Chunk chunk) {
+                    sink.accept(chunk.records());
+                } else if (message instanceof Finished finished) {
+                    remaining--;
+                    if (finished.failure() != null) {
+                        throw rangeFailure(finished);
+                    }
+                    bytes += finished.bytesTransferred();
+                    recordsRead += finished.recordsRead();
+                    maxGpId = Math.max(maxGpId, finished.maxGpId());
+                    log.debug("NORAD range {} done ({} records, {} bytes), {} ranges outstanding",
+                            finished.range(), finished.recordsRead(), finished.bytesTransferred(), remaining);
+                }
+            }
+            return new Result(bytes, recordsRead, ranges.size(), maxGpId);
+        } finally {
+            // Unblocks producers stuck on a full queue if persistence failed part-way.
+            executor.shutdownNow();
+        }
+    }
+
+    private void downloadRange(String range, String predicates, BlockingQueue<Message> queue) {
+        Finished finished;
+        try {
+            SpaceTrackTleStreamParser parser = newParser();
+            SpaceTrackClient.Response<SpaceTrackTleStreamParser.Result> response = spaceTrackClient.queryGp(
+                    "NORAD_CAT_ID/" + range + "/" + predicates + ORDER_AND_FORMAT,
+                    body -> parser.parse(body, chunk -> put(queue, new Chunk(chunk))));
+            finished = new Finished(range, response.bytesTransferred(), response.body().recordsRead(),
+                    response.body().maxGpId(), null);
+        } catch (Throwable e) {
+            if (e instanceof InterruptedException || e instanceof CancellationException) {
+                return;
+            }
+            finished = new Finished(range, 0, 0, 0, e);
+        }
+        try {
+            put(queue, finished);
+        } catch (CancellationException ignored) {
+            // The consumer has already given up.
+        }
+    }
+
+    private static void put(BlockingQueue<Message> queue, Message message) {
+        try {
+            queue.put(message);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Catalog download cancelled");
+        }
+    }
+
+    private static IOException rangeFailure(Finished finished) {
+        Throwable failure = finished.failure();
+        if (failure instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new IOException("Download of NORAD range " + finished.range() + " failed", failure);
+    }
+
+    private SpaceTrackTleStreamParser newParser() {
+        return new SpaceTrackTleStreamParser(objectMapper, config.getIngest().getChunkSize(), !historyConfig.isEnabled());
+    }
+
+    /**
+     * Turns ascending upper bounds into contiguous Space-Track range predicates covering
+     * every NORAD ID: {@code 0--b1}, {@code (b1+1)--b2}, ..., {@code >bn}.
+     */
+    static List<String> noradRanges(List<Integer> boundaries) {
+        List<Integer> bounds = boundaries == null ? List.of() : boundaries.stream().distinct().sorted().toList();
+        List<String> ranges = new ArrayList<>(bounds.size() + 1);
+        int lower = 0;
+        for (Integer upper : bounds) {
+            if (upper < lower) {
+                throw new IllegalArgumentException("Partition boundaries must be non-negative: " + boundaries);
+            }
+            ranges.add(lower + "--" + upper);
+            lower = upper + 1;
+        }
+        if (!bounds.isEmpty()) {
+            ranges.add("%3E" + bounds.get(bounds.size() - 1));
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,227 @@
+package com.orbit.service;
+
+import com.orbit.config.SpaceTrackConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * HTTP client for the Space-Track API. Keeps one session cookie and logs in again
+ * only when it has expired or been rejected, enforces the per-minute and per-hour
+ * request limits with token buckets, and retries transient failures with
+ * exponential backoff. Response bodies are streamed to the caller's handler.
+ */
+@Component
+@Slf4j
+public class SpaceTrackClient {
+
+    @FunctionalInterface
+    public interface ResponseHandler<T> {
+        T handle(InputStream body) throws IOException;
+    }
+
+    public record Response<T>(T body, long bytesTransferred) {}
+
+    private static final String LOGIN_PATH = "/ajaxauth/login";
+    private static final String GP_PATH = "/basicspacedata/query/class/gp/";
+
+    private final SpaceTrackConfig config;
+    private final HttpClient httpClient;
+    private final TokenBucket minuteBucket;
+    private final TokenBucket hourBucket;
+
+    private final Object sessionLock = new Object();
+    private volatile String sessionCookie;
+    private volatile long sessionEstablishedNanos;
+
+    public SpaceTrackClient(SpaceTrackConfig config) {
+        this.config = config;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(config.getTimeout().getConnect()))
+                .build();
+        this.minuteBucket = new TokenBucket(config.getRateLimit().getRequestsPerMinute(), Duration.ofMinutes(1));
+        this.hourBucket = new TokenBucket(config.getRateLimit().getRequestsPerHour(), Duration.ofHours(1));
+    }
+
+    /**
+     * Runs a GP class query, e.g. {@code "EPOCH/%3Enow-30/orderby/NORAD_CAT_ID,EPOCH/format/json"}.
+     */
+    public <T> Response<T> queryGp(String predicates, ResponseHandler<T> handler)
+            throws IOException, InterruptedException {
+        return query(GP_PATH + predicates, handler);
+    }
+
+    /**
+     * Fetches the current GP element set of each NORAD ID, folding the IDs into
+     * comma-list queries of at most {@code spacetrack.max-ids-per-query} IDs.
+     */
+    public <T> List<Response<T>> queryGpByNoradIds(Collection<Integer> noradIds, ResponseHandler<T> handler)
+            throws IOException, InterruptedException {
+        List<Integer> ids = noradIds.stream().distinct().sorted().toList();
+        int batchSize = Math.max(1, config.getMaxIdsPerQuery());
+        List<Response<T>> responses = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            String idList = ids.subList(from, Math.min(ids.size(), from + batchSize)).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            responses.add(queryGp("NORAD_CAT_ID/" + idList + "/orderby/NORAD_CAT_ID/format/json", handler));
+        }
+        return responses;
+    }
+
+    public <T> Response<T> query(String path, ResponseHandler<T> handler) throws IOException, InterruptedException {
+        int maxAttempts = Math.max(1, config.getRetry().getMaxAttempts());
+        long backoffMs = config.getRetry().getInitialBackoffMs();
+        boolean reauthenticated = false;
+
+        for (int attempt = 1; ; attempt++) {
+            String cookie = currentSession();
+            HttpRequest.Builder request = HttpRequest.newBuilder()
+                    .uri(URI.create(config.getBaseUrl() + path))
+                    .timeout(Duration.ofSeconds(config.getTimeout().getRead()))
+                    .header("Cookie", cookie)
+                    .GET();
+            if (config.getIngest().isCompression()) {
+                request.header("Accept-Encoding", "gzip");
+            }
+
+            HttpResponse<InputStream> response;
+            try {
+                response = send(request.build());
+            } catch (IOException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("Space-Track request failed ({}), retrying in {} ms (attempt {}/{})",
+                        e.getMessage(), backoffMs, attempt, maxAttempts);
+                Thread.sleep(backoffMs);
+                backoffMs = nextBackoff(backoffMs);
+                continue;
+            }
+
+            int status = response.statusCode();
+            if (status == 200) {
+                try (CountingInputStream wire = new CountingInputStream(response.body());
+                     InputStream body = isGzipEncoded(response) ? new GZIPInputStream(wire) : wire) {
+                    T result = handler.handle(body);
+                    return new Response<>(result, wire.getCount());
+                }
+            }
+            response.body().close();
+
+            if (status == 401 && !reauthenticated) {
+                log.info("Space-Track session rejected, logging in again");
+                invalidateSession(cookie);
+                reauthenticated = true;
+                attempt--;
+                continue;
+            }
+            if (!isRetryable(status) || attempt >= maxAttempts) {
+                throw new RuntimeException("Space-Track request failed: " + status);
+            }
+
+            long waitMs = retryAfterMs(response).orElse(backoffMs);
+            log.warn("Space-Track returned {}, retrying in {} ms (attempt {}/{})",
+                    status, waitMs, attempt, maxAttempts);
+            Thread.sleep(waitMs);
+            backoffMs = nextBackoff(backoffMs);
+        }
+    }
+
+    private String currentSession() throws IOException, InterruptedException {
+        String cookie = sessionCookie;
+        if (cookie != null && !isSessionExpired()) {
+            return cookie;
+        }
+        synchronized (sessionLock) {
+            if (sessionCookie == null || isSessionExpired()) {
+                login();
+            }
+            return sessionCookie;
+        }
+    }
+
+    private boolean isSessionExpired() {
+        return System.nanoTime() - sessionEstablishedNanos > Duration.ofMinutes(config.getSessionTtlMinutes()).toNanos();
+    }
+
+    private void invalidateSession(String rejectedCookie) {
+        synchronized (sessionLock) {
+            if (rejectedCookie != null && rejectedCookie.equals(sessionCookie)) {
+                sessionCookie = null;
+            }
+        }
+    }
+
+    private void login() throws IOException, InterruptedException {
+        String credentials = String.format("identity=%s&password=%s",
+                URLEncoder.encode(config.getUsername(), StandardCharsets.UTF_8),
+                URLEncoder.encode(config.getPassword(), StandardCharsets.UTF_8));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(config.getBaseUrl() + LOGIN_PATH))
+                .timeout(Duration.ofSeconds(config.getTimeout().getRead()))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials))
+                .build();
+
+        minuteBucket.acquire();
+        hourBucket.acquire();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() != 200 || response.body().contains("\"Login\":\"Failed\"")) {
+            throw new RuntimeException("Authentication failed: " + response.statusCode());
+        }
+        sessionCookie = response.headers().allValues("Set-Cookie").stream()
+                .map(value -> value.split(";", 2)[0])
+                .collect(Collectors.joining("; "));
+        sessionEstablishedNanos = System.nanoTime();
+        log.info("Successfully authenticated with Space-Track");
+    }
+
+    private HttpResponse<InputStream> send(HttpRequest request) throws IOException, InterruptedException {
+        minuteBucket.acquire();
+        hourBucket.acquire();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private long nextBackoff(long backoffMs) {
+        return Math.min(backoffMs * 2, config.getRetry().getMaxBackoffMs());
+    }
+
+    private static boolean isRetryable(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    private static Optional<Long> retryAfterMs(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After")
+                .flatMap(value -> {
+                    try {
+                        return Optional.of(Long.parseLong(value.trim()) * 1000);
+                    } catch (NumberFormatException e) {
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    private static boolean isGzipEncoded(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+    }
+}
@@ -1,232 +1,257 @@
 package com.orbit.service;
 
 import com.orbit.config.SpaceTrackConfig;
+import com.orbit.config.TleHistoryConfig;
+import com.orbit.dto.IngestReport;
 import com.orbit.dto.SpaceTrackTleDto;
-import com.orbit.entity.Satellite;
-import com.orbit.entity.TleData;
-import com.orbit.repository.SatelliteRepository;
-import com.orbit.repository.TleDataRepository;
+import com.orbit.entity.IngestWatermark;
+import com.orbit.repository.IngestWatermarkRepository;
+import com.orbit.repository.TleBulkUpsertRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import tools.jackson.core.type.TypeReference;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import tools.jackson.databind.ObjectMapper;
 import java.io.IOException;
-import java.net.URI;
-import java.net.URLEncoder;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SpaceTrackService {
     private final SpaceTrackConfig config;
-    private final HttpClient httpClient = HttpClient.newHttpClient();
-    private final SatelliteRepository satelliteRepository;
-    private final TleDataRepository tleDataRepository;
-    private String authCookie;
+    private final SpaceTrackClient spaceTrackClient;
+    private final SpaceTrackCatalogFetcher catalogFetcher;
+    private final IngestWatermarkRepository ingestWatermarkRepository;
+    private final TleBulkUpsertRepository tleBulkUpsertRepository;
+    private final EphemerisSegmentStore ephemerisSegmentStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TleHistoryConfig historyConfig;
     private final ObjectMapper objectMapper = new ObjectMapper();
-
-    private void authenticate() throws IOException, InterruptedException {
-        String loginUrl = config.getBaseUrl() + "/ajaxauth/login";
-        String credentials = String.format("identity=%s&password=%s",
-                URLEncoder.encode(config.getUsername(), StandardCharsets.UTF_8),
-                URLEncoder.encode(config.getPassword(), StandardCharsets.UTF_8));
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(loginUrl))
-                .header("Content-Type", "application/x-www-form-urlencoded")
-                .POST(HttpRequest.BodyPublishers.ofString(credentials))
-                .build();
-
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-        if(response.statusCode() == 200) {
-            authCookie = response.headers().firstValue("Set-Cookie").orElse("");
-            log.info("Successfully authenticated with Space-Track");
-        } else{
-            throw new RuntimeException("Authentication failed: " + response.statusCode());
-        }
-    }
+    private final AtomicInteger activeIngests = new AtomicInteger();
 
     @Transactional
-    public void fetchAndSaveLatestTles() throws IOException, InterruptedException {
-        log.info("Starting to fetch TLE data from Space-Track...");
-        authenticate();
-        String query = config.getBaseUrl() +
-                "/basicspacedata/query/class/gp/EPOCH/%3Enow-30/orderby/NORAD_CAT_ID,EPOCH/format/json";
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(query))
-                .header("Cookie", authCookie)
-                .GET()
-                .build();
-
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-        if(response.statusCode() == 200) {
-            List<SpaceTrackTleDto> tleList = objectMapper.readValue(
-                    response.body(),
-                    new TypeReference<>() {
-                    }
-            );
-            log.info("Fetched {} TLE records from Space-Track", tleList.size());
-            saveTleDataInBatch(tleList);
-        } else {
-            throw new RuntimeException("Failed to fetch TLE data: " + response.statusCode());
-        }
+    public IngestReport fetchAndSaveLatestTles() throws IOException, InterruptedException {
+        return fetchAndSaveLatestTles(config.getIngest().getMode());
     }
 
+    /**
+     * Fetches the catalog and merges it. A delta run asks only for element sets published
+     * after the stored GP_ID watermark, whatever their epoch, so sets published late with
+     * an epoch older than the newest one stored are still picked up. Both modes leave out
+     * element sets older than 30 days and advance the watermark to the highest GP_ID read.
+     */
     @Transactional
-    public void fetchAndSaveTleByNoradId(Integer noradId) throws IOException, InterruptedException {
-        log.info("Fetching TLE data for NORAD ID: {}", noradId);
-        authenticate();
-        String query = config.getBaseUrl() +
-                String.format("/basicspacedata/query/class/gp/NORAD_CAT_ID/%d/orderby/EPOCH desc/limit/1/format/json", noradId);
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(query))
-                .header("Cookie", authCookie)
-                .GET()
-                .build();
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        if(response.statusCode() == 200) {
-            List<SpaceTrackTleDto> tleList = objectMapper.readValue(
-                    response.body(),
-                    new TypeReference<>() {
-                    }
-            );
-            if(!tleList.isEmpty()) {
-                saveTleDataInBatch(tleList);
-                log.info("Successfully saved TLE for NORAD ID: {}", noradId);
-            } else {
-                log.warn("No TLE data found for NORAD ID: {}", noradId);
-            }
-        } else{
-            throw new RuntimeException("Failed to fetch TLE data: " + response.statusCode());
+    public IngestReport fetchAndSaveLatestTles(IngestReport.Mode requestedMode) throws IOException, InterruptedException {
+        long startTime = System.currentTimeMillis();
+        beginIngest();
+        Optional<IngestWatermark> stored = ingestWatermarkRepository.findById(IngestWatermark.SPACETRACK_GP);
+        Long watermark = requestedMode == IngestReport.Mode.DELTA
+                ? stored.map(IngestWatermark::getGpId).orElse(null)
+                : null;
+        IngestReport.Mode mode = watermark != null ? IngestReport.Mode.DELTA : IngestReport.Mode.FULL;
+        if (requestedMode == IngestReport.Mode.DELTA && watermark == null) {
+            log.info("No GP_ID watermark stored yet, falling back to a full resync");
         }
-    }
-
-    private void saveTleDataInBatch(List<SpaceTrackTleDto> dtoList) {
-        log.info("Processing {} records in optimized batch mode...", dtoList.size());
 
-        Map<Integer, SpaceTrackTleDto> latestTleByNorad = dtoList.stream()
-                .collect(Collectors.groupingBy(
-                        SpaceTrackTleDto::getNoradCatId,
-                        Collectors.collectingAndThen(
-                                Collectors.maxBy(Comparator.comparing(SpaceTrackTleDto::getEpoch)),
-                                opt -> opt.orElse(null)
-                        )
-                ));
-
-        log.info("Filtered to {} unique satellites with latest TLE data", latestTleByNorad.size());
-
-        Set<Integer> noradIds = latestTleByNorad.keySet();
+        String predicate;
+        if (mode == IngestReport.Mode.DELTA) {
+            predicate = "GP_ID/%3E" + watermark + "/EPOCH/%3Enow-30";
+            log.info("Starting delta TLE fetch from Space-Track (element sets published after GP_ID {})", watermark);
+        } else {
+            predicate = "EPOCH/%3Enow-30";
+            log.info("Starting full TLE fetch from Space-Track...");
+        }
 
-        List<Satellite> existingSatellites = satelliteRepository.findAllByNoradIdIn(noradIds);
-        Map<Integer, Satellite> satelliteMap = existingSatellites.stream()
-                .collect(Collectors.toMap(Satellite::getNoradId, s -> s));
+        IngestTotals totals = new IngestTotals();
+        SpaceTrackCatalogFetcher.Result result = catalogFetcher.fetch(predicate, totals::accept);
+        advanceWatermark(stored, result.maxGpId());
 
-        log.info("Found {} existing satellites in database", existingSatellites.size());
+        IngestReport report = totals.toReport(mode, watermark, result.bytesTransferred(),
+                result.recordsRead(), startTime);
+        log.info("TLE ingest complete: {}", report);
+        ephemerisSegmentStore.refreshAfterCommit();
+        publishAfterCommit(report, totals.changedNoradIds());
+        return report;
+    }
 
-        List<Satellite> newSatellites = new ArrayList<>();
-        for (Integer noradId : noradIds) {
-            if (!satelliteMap.containsKey(noradId)) {
-                SpaceTrackTleDto dto = latestTleByNorad.get(noradId);
-                Satellite newSat = createSatelliteFromDto(dto);
-                newSatellites.add(newSat);
-            }
+    /**
+     * Moves the stored GP_ID watermark forward, never back; it commits or rolls back with
+     * the rows it covers.
+     */
+    private void advanceWatermark(Optional<IngestWatermark> stored, long maxGpId) {
+        if (maxGpId <= 0) {
+            return;
         }
-
-        if (!newSatellites.isEmpty()) {
-            log.info("Inserting {} new satellites in batch...", newSatellites.size());
-            List<Satellite> savedNewSats = satelliteRepository.saveAll(newSatellites);
-            savedNewSats.forEach(s -> satelliteMap.put(s.getNoradId(), s));
+        IngestWatermark watermark = stored.orElseGet(() -> new IngestWatermark(IngestWatermark.SPACETRACK_GP));
+        if (watermark.getGpId() != null && watermark.getGpId() >= maxGpId) {
+            return;
         }
+        watermark.setGpId(maxGpId);
+        watermark.setUpdatedAt(LocalDateTime.now());
+        ingestWatermarkRepository.save(watermark);
+    }
 
-        Set<Satellite> satellites = new HashSet<>(satelliteMap.values());
+    /**
+     * Fetches the current element set of each given satellite with as few comma-list
+     * queries as {@code spacetrack.max-ids-per-query} allows, reusing the client session.
+     */
+    @Transactional
+    public IngestReport fetchAndSaveTlesByNoradIds(Collection<Integer> noradIds) throws IOException, InterruptedException {
+        long startTime = System.currentTimeMillis();
+        log.info("Fetching TLE data for {} NORAD IDs", noradIds.size());
+        beginIngest();
+
+        IngestTotals totals = new IngestTotals();
+        long bytes = 0;
+        long recordsRead = 0;
+        for (SpaceTrackClient.Response<SpaceTrackTleStreamParser.Result> response :
+                spaceTrackClient.queryGpByNoradIds(noradIds, totals::parse)) {
+            bytes += response.bytesTransferred();
+            recordsRead += response.body().recordsRead();
+        }
 
-        List<TleData> existingTles = tleDataRepository.findAllBySatelliteIn(satellites);
-        Map<Long, TleData> existingTleMap = existingTles.stream()
-                .collect(Collectors.toMap(tle -> tle.getSatellite().getSatelliteId(), t -> t, (t1, t2) -> t1));
+        IngestReport report = totals.toReport(IngestReport.Mode.TARGETED, null, bytes, recordsRead, startTime);
+        log.info("Targeted TLE fetch complete: {}", report);
+        ephemerisSegmentStore.refreshAfterCommit();
+        publishAfterCommit(report, totals.changedNoradIds());
+        return report;
+    }
 
-        log.info("Found {} existing TLE records in database", existingTles.size());
+    @Transactional
+    public void fetchAndSaveTleByNoradId(Integer noradId) throws IOException, InterruptedException {
+        IngestReport report = fetchAndSaveTlesByNoradIds(List.of(noradId));
+        if (report.recordsRead() == 0) {
+            log.warn("No TLE data found for NORAD ID: {}", noradId);
+        } else {
+            log.info("Successfully saved TLE for NORAD ID: {}", noradId);
+        }
+    }
 
-        List<TleData> tlesToSave = new ArrayList<>();
-        int updatedCount = 0;
-        int createdCount = 0;
+    /** Whether a fetch or import transaction is still writing {@code tle_data}. */
+    public boolean isIngestInProgress() {
+        return activeIngests.get() > 0;
+    }
 
-        for (Map.Entry<Integer, SpaceTrackTleDto> entry : latestTleByNorad.entrySet()) {
-            Satellite satellite = satelliteMap.get(entry.getKey());
-            if (satellite != null) {
-                TleData existingTle = existingTleMap.get(satellite.getSatelliteId());
+    /**
+     * Counts an ingest as running until the surrounding transaction commits or rolls back.
+     */
+    void beginIngest() {
+        activeIngests.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    activeIngests.decrementAndGet();
+                }
+            });
+        } else {
+            activeIngests.decrementAndGet();
+        }
+    }
 
-                if (existingTle != null) {
-                    updateTleDataFromDto(existingTle, entry.getValue());
-                    tlesToSave.add(existingTle);
-                    updatedCount++;
-                } else {
-                    TleData newTle = createTleDataFromDto(entry.getValue(), satellite);
-                    tlesToSave.add(newTle);
-                    createdCount++;
+    /**
+     * Publishes a {@link TleIngestCompletedEvent} once the surrounding transaction has
+     * committed, so listeners never see the catalog half-written; nothing is published
+     * on rollback.
+     */
+    void publishAfterCommit(IngestReport report, int[] changedNoradIds) {
+        TleIngestCompletedEvent event = TleIngestCompletedEvent.of(report, changedNoradIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventPublisher.publishEvent(event);
                 }
+            });
+        } else {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    /**
+     * Streams GP responses into the bulk upsert and sums the per-chunk results. While
+     * every epoch is kept, one object's element sets can span chunks, so per-object
+     * counts (updated, unchanged, changed IDs) are worked out once for the whole run.
+     */
+    private class IngestTotals {
+        private final AtomicReference<TleBulkUpsertRepository.UpsertResult> saved =
+                new AtomicReference<>(TleBulkUpsertRepository.UpsertResult.EMPTY);
+        private final BitSet seen = new BitSet();
+
+        SpaceTrackTleStreamParser.Result parse(InputStream body) throws IOException {
+            SpaceTrackTleStreamParser parser = new SpaceTrackTleStreamParser(
+                    objectMapper, config.getIngest().getChunkSize(), !historyConfig.isEnabled());
+            return parser.parse(body, this::accept);
+        }
 
-                if (tlesToSave.size() % 1000 == 0) {
-                    log.info("Prepared {}/{} TLE records...", tlesToSave.size(), latestTleByNorad.size());
+        void accept(List<SpaceTrackTleDto> chunk) {
+            for (SpaceTrackTleDto dto : chunk) {
+                if (isPersistable(dto)) {
+                    seen.set(dto.getNoradCatId());
                 }
             }
+            TleBulkUpsertRepository.UpsertResult total =
+                    saved.accumulateAndGet(saveTleDataInBatch(chunk), TleBulkUpsertRepository.UpsertResult::plus);
+            log.info("Processed {} TLE records so far ({} written)...", total.processed(), total.written());
         }
 
-        log.info("Saving {} TLE records ({} updates, {} new)...", tlesToSave.size(), updatedCount, createdCount);
-        tleDataRepository.saveAll(tlesToSave);
-
-        log.info("Successfully saved {} TLE records to database ({} updated, {} created)",
-                tlesToSave.size(), updatedCount, createdCount);
-    }
+        /** Each object whose current element set was created or replaced, once, in merge order. */
+        int[] changedNoradIds() {
+            return Arrays.stream(saved.get().changedNoradIds()).distinct().toArray();
+        }
 
-    private Satellite createSatelliteFromDto(SpaceTrackTleDto dto) {
-        Satellite satellite = new Satellite();
-        satellite.setName(dto.getObjectName());
-        satellite.setNoradId(dto.getNoradCatId());
-        satellite.setInternationalDesignator(dto.getIntldes());
-        satellite.setObjectType(dto.getObjectType());
-        satellite.setCountry(dto.getCountryCode());
-        satellite.setIsActive(true);
-        return satellite;
+        IngestReport toReport(IngestReport.Mode mode, Long watermark, long bytes, long recordsRead, long startTime) {
+            TleBulkUpsertRepository.UpsertResult total = saved.get();
+            // An object is inserted at most once; any later change to it in the run is an update.
+            int changed = changedNoradIds().length;
+            return new IngestReport(
+                    mode,
+                    watermark,
+                    bytes,
+                    recordsRead,
+                    total.satellitesCreated(),
+                    total.tlesCreated(),
+                    changed - total.tlesCreated(),
+                    seen.cardinality() - changed,
+                    total.historyAppended(),
+                    System.currentTimeMillis() - startTime
+            );
+        }
     }
 
-    private TleData createTleDataFromDto(SpaceTrackTleDto dto, Satellite satellite) {
-        TleData tleData = new TleData();
-        tleData.setSatellite(satellite);
-        populateTleFields(tleData, dto);
-        return tleData;
-    }
+    /**
+     * Persists GP records through the set-based upsert; must run inside a transaction.
+     * Shared by the Space-Track fetches and the offline file import.
+     */
+    public TleBulkUpsertRepository.UpsertResult saveTleDataInBatch(List<SpaceTrackTleDto> dtoList) {
+        log.debug("Processing {} records in set-based batch mode...", dtoList.size());
+
+        List<SpaceTrackTleDto> valid = dtoList.stream()
+                .filter(this::isPersistable)
+                .toList();
+        if (valid.size() < dtoList.size()) {
+            log.warn("Skipping {} GP records without NORAD ID, epoch or TLE lines", dtoList.size() - valid.size());
+        }
 
-    private void updateTleDataFromDto(TleData existingTle, SpaceTrackTleDto dto) {
-        populateTleFields(existingTle, dto);
+        TleBulkUpsertRepository.UpsertResult result = tleBulkUpsertRepository.upsert(valid);
+        log.debug("Upserted {} GP records ({} new satellites, {} TLEs created, {} updated, {} unchanged)",
+                valid.size(), result.satellitesCreated(), result.tlesCreated(),
+                result.tlesUpdated(), result.tlesUnchanged());
+        return result;
     }
 
-    private void populateTleFields(TleData tleData, SpaceTrackTleDto dto) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
-        LocalDateTime epochDate = LocalDateTime.parse(dto.getEpoch(), formatter);
-
-        tleData.setLine1(dto.getTleLine1());
-        tleData.setLine2(dto.getTleLine2());
-        tleData.setEpoch(epochDate);
-        tleData.setMeanMotion(dto.getMeanMotion());
-        tleData.setEccentricity(dto.getEccentricity());
-        tleData.setInclination(dto.getInclination());
-        tleData.setRaan(dto.getRaOfAscNode());
-        tleData.setArgumentOfPerigee(dto.getArgOfPericenter());
-        tleData.setMeanAnomaly(dto.getMeanAnomaly());
-        tleData.setClassification(dto.getClassificationType());
-        tleData.setElementSetNumber(dto.getElementSetNo());
+    private boolean isPersistable(SpaceTrackTleDto dto) {
+        return dto.getNoradCatId() != null
+                && dto.getEpoch() != null
+                && dto.getTleLine1() != null
+                && dto.getTleLine2() != null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.orbit.service;
+
+import com.orbit.dto.SpaceTrackTleDto;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streams a Space-Track GP JSON array record by record. Responses are ordered by
+ * NORAD_CAT_ID, so only the element set currently being reduced is held in memory;
+ * the latest epoch per object is handed to the sink in chunks of at most
+ * {@code chunkSize} records. With {@code latestOnly} off every record is passed on,
+ * for callers that also keep the element set history. The highest GP_ID read is
+ * reported whether or not its record was passed on.
+ */
+@Slf4j
+public class SpaceTrackTleStreamParser {
+
+    public record Result(long recordsRead, long recordsEmitted, long maxGpId) {}
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader recordReader;
+    private final int chunkSize;
+    private final boolean latestOnly;
+
+    public SpaceTrackTleStreamParser(ObjectMapper objectMapper, int chunkSize) {
+        this(objectMapper, chunkSize, true);
+    }
+
+    public SpaceTrackTleStreamParser(ObjectMapper objectMapper, int chunkSize, boolean latestOnly) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.objectMapper = objectMapper;
+        // Each element is bound on its own while the parser is still inside the array.
+        this.recordReader = objectMapper.readerFor(SpaceTrackTleDto.class)
+                .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.chunkSize = chunkSize;
+        this.latestOnly = latestOnly;
+    }
+
+    public Result parse(InputStream body, Consumer<List<SpaceTrackTleDto>> sink) {
+        long recordsRead = 0;
+        long recordsEmitted = 0;
+        long maxGpId = 0;
+        List<SpaceTrackTleDto> chunk = new ArrayList<>(chunkSize);
+        SpaceTrackTleDto current = null;
+
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Expected a JSON array of GP records, got " + parser.currentToken());
+            }
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                SpaceTrackTleDto dto = recordReader.readValue(parser);
+                recordsRead++;
+                if (dto.getGpId() != null) {
+                    maxGpId = Math.max(maxGpId, dto.getGpId());
+                }
+
+                if (dto.getNoradCatId() == null || dto.getEpoch() == null) {
+                    log.debug("Skipping GP record without NORAD ID or epoch: {}", dto);
+                    continue;
+                }
+
+                if (latestOnly && current != null && current.getNoradCatId().equals(dto.getNoradCatId())) {
+                    if (dto.getEpoch().compareTo(current.getEpoch()) > 0) {
+                        current = dto;
+                    }
+                    continue;
+                }
+
+                if (current != null) {
+                    chunk.add(current);
+                    recordsEmitted++;
+                    if (chunk.size() >= chunkSize) {
+                        sink.accept(chunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+                current = dto;
+            }
+        }
+
+        if (current != null) {
+            chunk.add(current);
+            recordsEmitted++;
+        }
+        if (!chunk.isEmpty()) {
+            sink.accept(chunk);
+        }
+        return new Result(recordsRead, recordsEmitted, maxGpId);
+    }
+}
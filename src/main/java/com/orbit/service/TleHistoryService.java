@@ -0,0 +1,58 @@
+package com.orbit.service;
+
+import com.orbit.config.TleHistoryConfig;
+import com.orbit.dto.HistoricalTle;
+import com.orbit.repository.TleHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Time-travel reads over the append-only TLE history, e.g. reconstructing the catalog
+ * as it was known at the time of a past screening run.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TleHistoryService {
+    private final TleHistoryRepository tleHistoryRepository;
+    private final TleHistoryConfig config;
+
+    /**
+     * The latest element set of every object at {@code asOf}, ignoring element sets
+     * older than {@code tle.history.lookback-days} (the same staleness cut-off the
+     * live catalog uses).
+     */
+    public List<HistoricalTle> catalogAsOf(LocalDateTime asOf) {
+        requireEnabled();
+        long startTime = System.currentTimeMillis();
+        List<HistoricalTle> catalog = tleHistoryRepository.findCatalogAsOf(asOf, config.getLookbackDays());
+        log.info("Reconstructed catalog as of {}: {} element sets in {} ms",
+                asOf, catalog.size(), System.currentTimeMillis() - startTime);
+        return catalog;
+    }
+
+    public List<HistoricalTle> history(int noradId, LocalDateTime from, LocalDateTime to) {
+        requireEnabled();
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        return tleHistoryRepository.findByNoradId(noradId, from, to);
+    }
+
+    /**
+     * Creates the coming months' partitions ahead of the ingests that will write them.
+     */
+    public void createUpcomingPartitions() {
+        tleHistoryRepository.createUpcomingPartitions();
+    }
+
+    private void requireEnabled() {
+        if (!config.isEnabled()) {
+            throw new IllegalStateException("TLE history is disabled (tle.history.enabled=false)");
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.orbit.service;
+
+import com.orbit.config.SpaceTrackConfig;
+import com.orbit.dto.IngestReport;
+import com.orbit.dto.SpaceTrackTleDto;
+import com.orbit.repository.TleBulkUpsertRepository;
+import com.orbit.repository.TleHistoryRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.LongStream;
+
+/**
+ * Offline import of catalog dumps (3LE text, OMM JSON, OMM CSV) for air-gapped and
+ * disaster-recovery use. Files are memory-mapped and scanned once to find the latest
+ * element set per NORAD ID, then only those records are materialized and persisted
+ * through the same bulk upsert as the Space-Track ingest. With the TLE history
+ * enabled, the superseded element sets are materialized too and only appended to the
+ * history, which makes a historical dump a history backfill.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TleImportService {
+    private final SpaceTrackConfig config;
+    private final SpaceTrackService spaceTrackService;
+    private final TleBulkUpsertRepository tleBulkUpsertRepository;
+    private final TleHistoryRepository tleHistoryRepository;
+    private final EphemerisSegmentStore ephemerisSegmentStore;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${tle.import.directory:imports}")
+    private String importDirectory;
+
+    public enum Format {
+        /** Two- or three-line element sets. */
+        TLE,
+        OMM_JSON,
+        OMM_CSV;
+
+        public static Format fromFileName(String fileName) {
+            String name = fileName.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".json")) {
+                return OMM_JSON;
+            }
+            if (name.endsWith(".csv")) {
+                return OMM_CSV;
+            }
+            if (name.endsWith(".tle") || name.endsWith(".3le") || name.endsWith(".2le") || name.endsWith(".txt")) {
+                return TLE;
+            }
+            throw new IllegalArgumentException("Cannot infer catalog format from file name: " + fileName);
+        }
+    }
+
+    /**
+     * Resolves a file name against {@code tle.import.directory}, rejecting paths that
+     * escape it. Used for requests coming over HTTP.
+     */
+    public Path resolveImportFile(String fileName) {
+        Path directory = Path.of(importDirectory).toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory)) {
+            throw new IllegalArgumentException("Import file must be inside " + directory);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Import file not found: " + fileName);
+        }
+        return file;
+    }
+
+    @Transactional
+    public IngestReport importFile(Path path, Format format) throws IOException {
+        long startTime = System.currentTimeMillis();
+        spaceTrackService.beginIngest();
+        Format resolved = format != null ? format : Format.fromFileName(path.getFileName().toString());
+        CatalogFileReader reader = switch (resolved) {
+            case TLE -> new TleTextFileReader();
+            case OMM_JSON -> new OmmJsonFileReader(objectMapper);
+            case OMM_CSV -> new OmmCsvFileReader();
+        };
+
+        try (MappedFileReader file = new MappedFileReader(path)) {
+            log.info("Importing {} catalog file {} ({} bytes)", resolved, path, file.size());
+
+            boolean backfillHistory = tleHistoryRepository.isEnabled();
+            LatestEpochIndex latest = new LatestEpochIndex(backfillHistory);
+            long recordsRead = reader.scan(file, latest::offer);
+            long[] winners = latest.offsets();
+            long[] offsets = backfillHistory ? latest.allOffsets() : winners;
+            long scanMs = System.currentTimeMillis() - startTime;
+            log.info("Scanned {} records in {} ms ({} objects, {} records with unsupported NORAD IDs)",
+                    recordsRead, scanMs, winners.length, latest.outOfRange);
+
+            int chunkSize = config.getIngest().getChunkSize();
+            List<SpaceTrackTleDto> chunk = new ArrayList<>(chunkSize);
+            List<SpaceTrackTleDto> superseded = new ArrayList<>(chunkSize);
+            TleBulkUpsertRepository.UpsertResult[] saved = {TleBulkUpsertRepository.UpsertResult.EMPTY};
+            int[] supersededAppended = {0};
+            int[] position = {0, 0};
+            reader.read(file, offsets, dto -> {
+                // Records arrive in offset order, so the winners are found by a merge walk.
+                long offset = offsets[position[0]++];
+                if (position[1] < winners.length && winners[position[1]] == offset) {
+                    position[1]++;
+                    chunk.add(dto);
+                    if (chunk.size() >= chunkSize) {
+                        saved[0] = saved[0].plus(spaceTrackService.saveTleDataInBatch(chunk));
+                        chunk.clear();
+                    }
+                } else {
+                    superseded.add(dto);
+                    if (superseded.size() >= chunkSize) {
+                        supersededAppended[0] += tleBulkUpsertRepository.appendHistory(superseded);
+                        superseded.clear();
+                    }
+                }
+            });
+            if (!chunk.isEmpty()) {
+                saved[0] = saved[0].plus(spaceTrackService.saveTleDataInBatch(chunk));
+            }
+            if (!superseded.isEmpty()) {
+                supersededAppended[0] += tleBulkUpsertRepository.appendHistory(superseded);
+            }
+
+            long durationMs = System.currentTimeMillis() - startTime;
+            IngestReport report = new IngestReport(
+                    IngestReport.Mode.IMPORT,
+                    null,
+                    file.size(),
+                    recordsRead,
+                    saved[0].satellitesCreated(),
+                    saved[0].tlesCreated(),
+                    saved[0].tlesUpdated(),
+                    saved[0].tlesUnchanged(),
+                    saved[0].historyAppended() + supersededAppended[0],
+                    durationMs
+            );
+            log.info("Catalog import complete: {} ({} records/s, {} MB/s scan)", report,
+                    durationMs == 0 ? recordsRead : recordsRead * 1000 / durationMs,
+                    scanMs == 0 ? 0 : String.format("%.1f", file.size() / 1048.576 / scanMs));
+            ephemerisSegmentStore.refreshAfterCommit();
+            spaceTrackService.publishAfterCommit(report, saved[0].changedNoradIds());
+            return report;
+        }
+    }
+
+    /**
+     * Latest epoch and record offset per NORAD ID, held in flat arrays indexed by
+     * catalog number so the scan pass allocates nothing per record. Optionally also
+     * collects the offset of every record, in file order.
+     */
+    private static final class LatestEpochIndex {
+        private final long[] epochs = new long[CatalogRecords.MAX_NORAD_ID + 1];
+        private final long[] offsets = new long[CatalogRecords.MAX_NORAD_ID + 1];
+        private final LongStream.Builder all;
+        private int count;
+        private long outOfRange;
+
+        LatestEpochIndex(boolean keepAll) {
+            Arrays.fill(epochs, Long.MIN_VALUE);
+            all = keepAll ? LongStream.builder() : null;
+        }
+
+        void offer(int noradId, long epochMicros, long offset) {
+            if (noradId < 1 || noradId > CatalogRecords.MAX_NORAD_ID) {
+                outOfRange++;
+                return;
+            }
+            if (all != null) {
+                all.add(offset);
+            }
+            if (epochs[noradId] == Long.MIN_VALUE) {
+                count++;
+            } else if (epochMicros <= epochs[noradId]) {
+                return;
+            }
+            epochs[noradId] = epochMicros;
+            offsets[noradId] = offset;
+        }
+
+        long[] offsets() {
+            long[] selected = new long[count];
+            int i = 0;
+            for (int noradId = 1; noradId < epochs.length; noradId++) {
+                if (epochs[noradId] != Long.MIN_VALUE) {
+                    selected[i++] = offsets[noradId];
+                }
+            }
+            Arrays.sort(selected);
+            return selected;
+        }
+
+        long[] allOffsets() {
+            return all.build().toArray();
+        }
+    }
+}
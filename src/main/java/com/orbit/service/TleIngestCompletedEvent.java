@@ -0,0 +1,22 @@
+package com.orbit.service;
+
+import com.orbit.dto.IngestReport;
+
+import java.util.Arrays;
+
+/**
+ * Published once the transaction of a Space-Track fetch or a catalog import has
+ * committed, so listeners read the element sets it wrote. {@code changedNoradIds} holds,
+ * sorted and without duplicates, the objects whose current element set was created or
+ * replaced; it is empty when the ingest found nothing newer than what was stored.
+ */
+public record TleIngestCompletedEvent(IngestReport report, int[] changedNoradIds) {
+
+    public static TleIngestCompletedEvent of(IngestReport report, int[] changedNoradIds) {
+        return new TleIngestCompletedEvent(report, Arrays.stream(changedNoradIds).sorted().distinct().toArray());
+    }
+
+    public boolean hasChanges() {
+        return changedNoradIds.length > 0;
+    }
+}
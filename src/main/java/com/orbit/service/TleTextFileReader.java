@@ -0,0 +1,127 @@
+package com.orbit.service;
+
+import com.orbit.dto.SpaceTrackTleDto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * Reads 2LE and 3LE text files (optionally with Space-Track's {@code "0 "} name
+ * prefix). Catalog number and epoch are read from fixed columns of the mapped line.
+ */
+@Slf4j
+class TleTextFileReader implements CatalogFileReader {
+
+    private static final int MIN_LINE_LENGTH = 68;
+
+    @Override
+    public long scan(MappedFileReader file, RecordIndex index) throws IOException {
+        RecordScanner scanner = new RecordScanner(index, null, null);
+        file.forEachLine(scanner::line);
+        if (scanner.malformed > 0) {
+            log.warn("Skipped {} malformed element sets", scanner.malformed);
+        }
+        return scanner.records;
+    }
+
+    @Override
+    public void read(MappedFileReader file, long[] offsets, Consumer<SpaceTrackTleDto> sink) throws IOException {
+        RecordScanner scanner = new RecordScanner(null, offsets, sink);
+        file.forEachLine(scanner::line);
+        if (scanner.malformed > 0) {
+            log.warn("Skipped {} element sets that could not be read", scanner.malformed);
+        }
+    }
+
+    /**
+     * Line state machine shared by both passes: a record is an optional name line,
+     * a line 1 and a matching line 2. In the read pass, Strings are only created for
+     * the lines of records whose start offset is the next wanted offset.
+     */
+    private static final class RecordScanner {
+        private final RecordIndex index;
+        private final long[] wanted;
+        private final Consumer<SpaceTrackTleDto> sink;
+        private final CatalogRecords.AsciiSlice slice = new CatalogRecords.AsciiSlice();
+        private int next;
+        private long records;
+        private long malformed;
+
+        private long nameOffset = -1;
+        private String name;
+        private long recordOffset = -1;
+        private int noradId;
+        private long epochMicros;
+        private String line1;
+
+        RecordScanner(RecordIndex index, long[] wanted, Consumer<SpaceTrackTleDto> sink) {
+            this.index = index;
+            this.wanted = wanted;
+            this.sink = sink;
+        }
+
+        void line(ByteBuffer buffer, int start, int end, long offset) {
+            CharSequence line = slice.set(buffer, start, end);
+            if (isElementLine(buffer, start, end, '1')) {
+                recordOffset = nameOffset >= 0 ? nameOffset : offset;
+                noradId = CatalogRecords.parseTleNoradId(line, 2);
+                epochMicros = CatalogRecords.parseTleEpochMicros(line, 18);
+                line1 = isWanted(recordOffset) ? line.toString() : null;
+                if (nameOffset < 0) {
+                    name = null;
+                }
+                nameOffset = -1;
+            } else if (isElementLine(buffer, start, end, '2') && recordOffset >= 0) {
+                if (noradId < 0 || epochMicros == Long.MIN_VALUE
+                        || CatalogRecords.parseTleNoradId(line, 2) != noradId) {
+                    malformed++;
+                } else if (wanted == null) {
+                    records++;
+                    index.record(noradId, epochMicros, recordOffset);
+                } else if (isWanted(recordOffset)) {
+                    accept(line.toString());
+                    next++;
+                }
+                recordOffset = -1;
+                name = null;
+                line1 = null;
+            } else if (!isBlank(buffer, start, end)) {
+                nameOffset = offset;
+                recordOffset = -1;
+                name = isWanted(offset) ? line.toString() : null;
+            }
+        }
+
+        /** One unreadable record is skipped rather than failing the whole import. */
+        private void accept(String line2) {
+            SpaceTrackTleDto dto;
+            try {
+                dto = CatalogRecords.fromTle(name, line1, line2);
+            } catch (RuntimeException e) {
+                malformed++;
+                log.debug("Skipping element set of NORAD {}: {}", noradId, e.getMessage());
+                return;
+            }
+            sink.accept(dto);
+        }
+
+        private boolean isWanted(long offset) {
+            return wanted != null && next < wanted.length && wanted[next] == offset;
+        }
+
+        private static boolean isElementLine(ByteBuffer buffer, int start, int end, char lineNumber) {
+            return end - start >= MIN_LINE_LENGTH && buffer.get(start) == lineNumber && buffer.get(start + 1) == ' ';
+        }
+
+        private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (buffer.get(i) > ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
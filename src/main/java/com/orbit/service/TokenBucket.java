@@ -0,0 +1,55 @@
+package com.orbit.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket refilled continuously at {@code capacity} tokens per {@code period}.
+ * Starts full, so a burst of up to {@code capacity} requests goes through at once.
+ */
+class TokenBucket {
+    private final int capacity;
+    private final double nanosPerToken;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(int capacity, Duration period) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Bucket capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = (double) period.toNanos() / capacity;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    void acquire() throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (tokens >= 1.0) {
+                    tokens -= 1.0;
+                    return;
+                }
+                waitNanos = (long) Math.ceil((1.0 - tokens) * nanosPerToken);
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return true;
+        }
+        return false;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / nanosPerToken);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,158 @@
+package com.orbit.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.orekit.propagation.analytical.tle.TLEPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Sanity checks on propagation results and TLE ages, kept out of the screening loops'
+ * way: anomalies are counted per NORAD ID in the analysis's own {@link Tally} instead of
+ * logged one by one, and the analysis logs a single summary of them ({@link #logSummary}).
+ * {@code validation.mode} is {@code OFF} (no checks), {@code SAMPLED} (one propagation in
+ * {@code validation.sample-rate} is checked; TLE ages always are) or {@code STRICT} (every
+ * propagation is checked and each anomaly is also logged at DEBUG).
+ */
+@Service
+@Slf4j
+public class ValidationPolicy {
+    public static final double LEO_MIN_SPEED_MS = 6_500.0;
+    public static final double LEO_MAX_SPEED_MS = 8_200.0;
+
+    private static final int SUMMARY_WORST_OBJECTS = 5;
+
+    public enum Mode {
+        OFF,
+        SAMPLED,
+        STRICT
+    }
+
+    @Getter
+    @Value("${validation.mode:SAMPLED}")
+    private Mode mode = Mode.SAMPLED;
+
+    @Value("${validation.sample-rate:64}")
+    private int sampleRate = 64;
+
+    private final AnalysisMetrics metrics;
+    private final Counter unusualSpeedCounter;
+    private final Counter staleTleCounter;
+    private final Counter missingEpochCounter;
+
+    /**
+     * What the checks found during one analysis. Each analysis passes its own to the checks
+     * it triggers, so concurrent analyses do not report each other's anomalies. Used only by
+     * the thread running that analysis.
+     */
+    public static final class Tally {
+        private long stateChecks;
+        private final Map<Integer, Long> unusualSpeeds = new HashMap<>();
+        private final Map<Integer, Long> staleTleAgeDays = new HashMap<>();
+    }
+
+    public ValidationPolicy(MeterRegistry registry, AnalysisMetrics metrics) {
+        this.metrics = metrics;
+        unusualSpeedCounter = anomalyCounter(registry, "unusual_speed");
+        staleTleCounter = anomalyCounter(registry, "stale_tle");
+        missingEpochCounter = anomalyCounter(registry, "missing_epoch");
+    }
+
+    private static Counter anomalyCounter(MeterRegistry registry, String type) {
+        return Counter.builder("orbit.validation.anomalies")
+                .description("Propagation results and element sets that failed a sanity check")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    /**
+     * Checks that {@code pv} moves at a LEO speed, subject to the mode's sampling.
+     */
+    public void checkState(TLEPropagator propagator, PVCoordinates pv, AbsoluteDate date, Tally tally) {
+        if (mode == Mode.OFF
+                || (mode == Mode.SAMPLED && sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0)) {
+            return;
+        }
+        tally.stateChecks++;
+        double speed = pv.getVelocity().getNorm();
+        if (speed >= LEO_MIN_SPEED_MS && speed <= LEO_MAX_SPEED_MS) {
+            return;
+        }
+        int noradId = propagator.getTLE().getSatelliteNumber();
+        tally.unusualSpeeds.merge(noradId, 1L, Long::sum);
+        count(unusualSpeedCounter);
+        if (mode == Mode.STRICT && log.isDebugEnabled()) {
+            log.debug("Unusual orbital speed {} m/s for NORAD {} at {}", Math.round(speed), noradId, date);
+        }
+    }
+
+    /** Records an element set older than {@code tle.max-age-days} being used. */
+    public void recordStaleTle(int noradId, long ageDays, Tally tally) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        tally.staleTleAgeDays.merge(noradId, ageDays, Math::max);
+        count(staleTleCounter);
+    }
+
+    public void recordMissingEpoch(int noradId) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        count(missingEpochCounter);
+        log.debug("TLE for NORAD {} has a null epoch, staleness not validated", noradId);
+    }
+
+    /** Screening excluded from the meters ({@link AnalysisMetrics#withoutRecording}) still fills its tally. */
+    private void count(Counter counter) {
+        if (metrics.isRecording()) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * Logs what {@code tally} recorded in one line, or nothing if there was nothing to
+     * report.
+     */
+    public void logSummary(String context, Tally tally) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        Map<Integer, Long> speeds = tally.unusualSpeeds;
+        Map<Integer, Long> stale = tally.staleTleAgeDays;
+        if (speeds.isEmpty() && stale.isEmpty()) {
+            log.debug("Validation ({}, {}): {} propagations checked, no anomalies", mode, context, tally.stateChecks);
+            return;
+        }
+        log.warn("Validation ({}{}, {}): {} of {} checked propagations outside the LEO speed band "
+                        + "in {} objects (worst: {}); {} objects with TLEs older than the age limit (oldest: {}). "
+                        + "Their conjunction results should not be trusted.",
+                mode, mode == Mode.SAMPLED ? " 1/" + sampleRate : "", context,
+                speeds.values().stream().mapToLong(Long::longValue).sum(), tally.stateChecks, speeds.size(),
+                worst(speeds, ""), stale.size(), worst(stale, " days"));
+    }
+
+    private static String worst(Map<Integer, Long> values, String unit) {
+        if (values.isEmpty()) {
+            return "none";
+        }
+        List<Map.Entry<Integer, Long>> entries = values.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(SUMMARY_WORST_OBJECTS)
+                .toList();
+        return entries.stream()
+                .map(entry -> "NORAD " + entry.getKey() + " (" + entry.getValue() + unit + ")")
+                .collect(Collectors.joining(", "));
+    }
+}
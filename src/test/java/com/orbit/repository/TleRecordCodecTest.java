@@ -0,0 +1,60 @@
+package com.orbit.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TleRecordCodecTest {
+
+    private static final String ISS_LINE1 = "1 25544U 98067A   08264.51782528 -.00002182  00000-0 -11606-4 0  2927";
+    private static final String ISS_LINE2 = "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.72125391563537";
+
+    /** Alpha-5 catalog number, positive exponent and a five-digit revolution number. */
+    private static final String ALPHA5_LINE1 = "1 A0001U 24001A   24001.50000000  .00001234  12345+1  23456-4 0  9999";
+    private static final String ALPHA5_LINE2 = "2 A0001  97.4000 120.5000 0012345  90.1234 270.4321 15.12345678 12346";
+
+    @Test
+    void decodeRebuildsBothLinesExactly() {
+        byte[] record = TleRecordCodec.encode(ISS_LINE1, ISS_LINE2);
+
+        assertThat(record).hasSize(TleRecordCodec.RECORD_SIZE);
+        assertThat(TleRecordCodec.decode(25544, TleRecordCodec.lineEpoch(ISS_LINE1), record))
+                .containsExactly(ISS_LINE1, ISS_LINE2);
+    }
+
+    @Test
+    void alpha5CatalogNumbersRoundTrip() {
+        byte[] record = TleRecordCodec.encode(ALPHA5_LINE1, ALPHA5_LINE2);
+
+        assertThat(TleRecordCodec.decode(100001, TleRecordCodec.lineEpoch(ALPHA5_LINE1), record))
+                .containsExactly(ALPHA5_LINE1, ALPHA5_LINE2);
+    }
+
+    @Test
+    void lineEpochIsTheExactInstantOfTheEpochField() {
+        assertThat(TleRecordCodec.lineEpoch(ISS_LINE1)).isEqualTo(LocalDateTime.of(2008, 9, 20, 12, 25, 40, 104_192_000));
+        assertThat(TleRecordCodec.lineEpoch(ALPHA5_LINE1)).isEqualTo(LocalDateTime.of(2024, 1, 1, 12, 0));
+    }
+
+    @Test
+    void rejectsMalformedLines() {
+        assertThatThrownBy(() -> TleRecordCodec.encode(ISS_LINE2, ISS_LINE1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TleRecordCodec.encode(ISS_LINE1.replace("-11606-4", "-11X06-4"), ISS_LINE2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TleRecordCodec.encode(ISS_LINE1, ISS_LINE2.replace("51.6416", "51.6X16")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsUnknownRecordVersion() {
+        byte[] record = TleRecordCodec.encode(ISS_LINE1, ISS_LINE2);
+        record[0] = 99;
+
+        assertThatThrownBy(() -> TleRecordCodec.decode(25544, TleRecordCodec.lineEpoch(ISS_LINE1), record))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,157 @@
+package com.orbit.service;
+
+import com.orbit.entity.ConjunctionEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalysisSingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AnalysisMetrics metrics = new AnalysisMetrics(registry);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void stopCallers() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersForOnePrimaryShareOneRun() throws Exception {
+        AnalysisSingleFlight singleFlight = new AnalysisSingleFlight(metrics, 2);
+        AtomicInteger runs = new AtomicInteger();
+        Supplier<List<ConjunctionEvent>> analysis = blocking(runs, List.of(new ConjunctionEvent()));
+
+        Future<List<ConjunctionEvent>> first = callers.submit(() -> singleFlight.run(25544, analysis));
+        waitUntil(() -> runs.get() == 1);
+        Future<List<ConjunctionEvent>> second = callers.submit(() -> singleFlight.run(25544, analysis));
+        Future<List<ConjunctionEvent>> third = callers.submit(() -> singleFlight.run(25544, analysis));
+        waitUntil(() -> coalesced() == 2);
+        release.countDown();
+
+        List<ConjunctionEvent> result = first.get(5, TimeUnit.SECONDS);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        assertThat(third.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        assertThat(runs).hasValue(1);
+        assertThatThrownBy(() -> result.add(new ConjunctionEvent())).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void aFinishedRunIsNotReused() {
+        AnalysisSingleFlight singleFlight = new AnalysisSingleFlight(metrics, 2);
+        AtomicInteger runs = new AtomicInteger();
+
+        singleFlight.run(25544, () -> List.of(new ConjunctionEvent(), new ConjunctionEvent()));
+        singleFlight.run(25544, () -> {
+            runs.incrementAndGet();
+            return List.of();
+        });
+
+        assertThat(runs).hasValue(1);
+        assertThat(coalesced()).isZero();
+    }
+
+    @Test
+    void joinedCallersGetTheSameFailure() throws Exception {
+        AnalysisSingleFlight singleFlight = new AnalysisSingleFlight(metrics, 2);
+        AtomicInteger runs = new AtomicInteger();
+        IllegalArgumentException failure = new IllegalArgumentException("Primary satellite not found: 25544");
+        Supplier<List<ConjunctionEvent>> analysis = () -> {
+            blocking(runs, List.of()).get();
+            throw failure;
+        };
+
+        Future<List<ConjunctionEvent>> first = callers.submit(() -> singleFlight.run(25544, analysis));
+        waitUntil(() -> runs.get() == 1);
+        Future<List<ConjunctionEvent>> second = callers.submit(() -> singleFlight.run(25544, analysis));
+        waitUntil(() -> coalesced() == 1);
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void analysesOfDifferentPrimariesWaitForAFreeSlot() throws Exception {
+        AnalysisSingleFlight singleFlight = new AnalysisSingleFlight(metrics, 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger runs = new AtomicInteger();
+        Supplier<List<ConjunctionEvent>> analysis = () -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                return blocking(runs, List.of()).get();
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+
+        List<Future<List<ConjunctionEvent>>> results = new ArrayList<>();
+        for (int primary = 1; primary <= 4; primary++) {
+            int noradId = primary;
+            results.add(callers.submit(() -> singleFlight.run(noradId, analysis)));
+        }
+        waitUntil(() -> runs.get() == 2 && queued() == 2);
+        assertThat(running).hasValue(2);
+        release.countDown();
+
+        for (Future<List<ConjunctionEvent>> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(runs).hasValue(4);
+        assertThat(peak).hasValue(2);
+        assertThat(queued()).isZero();
+        assertThat(registry.get("orbit.analysis.queue.wait").timer().count()).isEqualTo(2);
+    }
+
+    /** An analysis that counts its start, then returns {@code result} once {@link #release} opens. */
+    private Supplier<List<ConjunctionEvent>> blocking(AtomicInteger runs, List<ConjunctionEvent> result) {
+        return () -> {
+            runs.incrementAndGet();
+            try {
+                if (!release.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Test analysis was never released");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return result;
+        };
+    }
+
+    private double coalesced() {
+        return registry.get("orbit.analysis.coalesced").counter().count();
+    }
+
+    private double queued() {
+        return registry.get("orbit.analysis.queued").gauge().value();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not reached within 5 s");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
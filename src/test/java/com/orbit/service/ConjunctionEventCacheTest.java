@@ -0,0 +1,43 @@
+package com.orbit.service;
+
+import com.orbit.dto.EventPage;
+import com.orbit.dto.EventQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConjunctionEventCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConjunctionEventCache cache = new ConjunctionEventCache(registry);
+    private final EventQuery query = new EventQuery(EventQuery.EventSort.TCA, null, null, 7, null, null, null, 50);
+    private final EventPage page = new EventPage(List.of(), null);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 1);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 30L);
+    }
+
+    @Test
+    void statsAreExportedAsMeters() {
+        cache.getOrLoad(25544, query, () -> page);
+        cache.getOrLoad(25544, query, () -> page);
+        cache.getOrLoad(25544, query, () -> page);
+        cache.getOrLoad(43013, query, () -> page);
+        cache.invalidate(43013);
+
+        assertThat(registry.get("orbit.event.cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("orbit.event.cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("orbit.event.cache.evictions").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("orbit.event.cache.invalidations").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("orbit.event.cache.size").gauge().value()).isZero();
+        assertThat(registry.get("orbit.event.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+}
@@ -0,0 +1,182 @@
+package com.orbit.service;
+
+import com.orbit.dto.ConjunctionResult;
+import com.orbit.entity.ConjunctionEvent;
+import com.orbit.entity.ConjunctionEvent.RiskLevel;
+import com.orbit.entity.Satellite;
+import com.orbit.entity.TleData;
+import com.orbit.repository.ConjunctionEventRepository;
+import com.orbit.repository.SatelliteRepository;
+import com.orbit.repository.TleDataRepository;
+import com.orbit.service.ConjunctionWatchlistService.Outcome;
+import com.orbit.service.ConjunctionWatchlistService.Rescreen;
+import com.orbit.service.ConjunctionWatchlistService.WatchedPair;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConjunctionWatchlistServiceTest {
+
+    private static final int PRIMARY = 25544;
+    private static final int SECONDARY = 48274;
+
+    private final ConjunctionEventRepository eventRepository = mock(ConjunctionEventRepository.class);
+    private final SatelliteRepository satelliteRepository = mock(SatelliteRepository.class);
+    private final TleDataRepository tleDataRepository = mock(TleDataRepository.class);
+    private final ConjunctionScreeningService screeningService = mock(ConjunctionScreeningService.class);
+    private final RiskAssessmentService riskAssessmentService = mock(RiskAssessmentService.class);
+    private final ConjunctionEventCache eventCache = mock(ConjunctionEventCache.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConjunctionWatchlistService service = new ConjunctionWatchlistService(eventRepository,
+            satelliteRepository, tleDataRepository, screeningService, riskAssessmentService,
+            mock(PropagationService.class), eventCache, registry);
+
+    private final LocalDateTime tca = LocalDateTime.now().plusHours(6);
+    private final WatchedPair pair = new WatchedPair(PRIMARY, SECONDARY, tca, RiskLevel.HIGH,
+            LocalDateTime.now().minusHours(1), 42L);
+
+    private Satellite primary;
+    private Satellite secondary;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "windowMinutes", 20L);
+        ReflectionTestUtils.setField(service, "criticalIntervalMinutes", 15L);
+        ReflectionTestUtils.setField(service, "highIntervalMinutes", 30L);
+        ReflectionTestUtils.setField(service, "mediumIntervalMinutes", 360L);
+        ReflectionTestUtils.setField(service, "lowIntervalMinutes", 1440L);
+        ReflectionTestUtils.setField(service, "minIntervalMinutes", 10L);
+        ReflectionTestUtils.setField(service, "coarseTimeStepSeconds", 30);
+        primary = stored(PRIMARY);
+        secondary = stored(SECONDARY);
+        when(riskAssessmentService.assessRisk(any(), any())).thenReturn(RiskLevel.MEDIUM);
+        when(eventRepository.save(any(ConjunctionEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void noApproachInTheWindowClearsThePairsEvents() {
+        screening(stats -> null);
+
+        assertThat(service.rescreen(pair).outcome()).isEqualTo(Outcome.CLEARED);
+        verify(eventRepository).markCleared(eq(primary), eq(secondary), eq(tca.minusMinutes(20)),
+                eq(tca.plusMinutes(20)), any(LocalDateTime.class));
+        verify(eventCache).invalidateAfterCommit(PRIMARY);
+        verify(eventRepository, never()).save(any());
+    }
+
+    @Test
+    void aPairThatCouldNotBePropagatedFailsInsteadOfClearing() {
+        screening(stats -> {
+            stats.failedPairs++;
+            return null;
+        });
+
+        assertThat(service.rescreen(pair).outcome()).isEqualTo(Outcome.FAILED);
+        assertThat(rescreens(Outcome.FAILED)).isEqualTo(1);
+        assertThat(rescreens(Outcome.CLEARED)).isZero();
+        verify(eventRepository, never()).save(any());
+        verify(eventRepository, never()).markCleared(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void aNearZeroRelativeVelocityFailsInsteadOfClearing() {
+        screening(stats -> {
+            stats.coLocatedPairs++;
+            return null;
+        });
+
+        assertThat(service.rescreen(pair).outcome()).isEqualTo(Outcome.FAILED);
+    }
+
+    @Test
+    void anApproachAtTheWindowEdgeHasMoved() {
+        screening(stats -> result(tca.plusMinutes(20)));
+
+        assertThat(service.rescreen(pair).outcome()).isEqualTo(Outcome.MOVED);
+        verify(eventRepository, never()).save(any());
+    }
+
+    @Test
+    void aConfirmedApproachUpdatesTheWatchedEvent() {
+        ConjunctionEvent watched = new ConjunctionEvent();
+        watched.setEventId(42L);
+        watched.setTca(tca);
+        watched.setRiskLevel(RiskLevel.HIGH);
+        when(eventRepository.findById(42L)).thenReturn(Optional.of(watched));
+        screening(stats -> result(tca.plusSeconds(3)));
+
+        Rescreen rescreen = service.rescreen(pair);
+
+        assertThat(rescreen.outcome()).isEqualTo(Outcome.CONFIRMED);
+        assertThat(rescreen.event()).isSameAs(watched);
+        assertThat(watched.getTca()).isEqualTo(tca.plusSeconds(3));
+        assertThat(watched.getMissDistance()).isEqualTo(1_200.0);
+        assertThat(watched.getRiskLevel()).isEqualTo(RiskLevel.MEDIUM);
+        assertThat(rescreen.pair().eventId()).isEqualTo(42L);
+        assertThat(rescreen.pair().riskLevel()).isEqualTo(RiskLevel.MEDIUM);
+        verify(eventRepository).save(watched);
+    }
+
+    @Test
+    void aConfirmedApproachWhoseEventWasDeletedIsSavedAsNew() {
+        when(eventRepository.findById(42L)).thenReturn(Optional.empty());
+        screening(stats -> result(tca.plusSeconds(3)));
+
+        Rescreen rescreen = service.rescreen(pair);
+
+        assertThat(rescreen.outcome()).isEqualTo(Outcome.CONFIRMED);
+        assertThat(rescreen.event().getEventId()).isNull();
+        assertThat(rescreen.event().getSecondarySatellite().getNoradId()).isEqualTo(SECONDARY);
+    }
+
+    @Test
+    void intervalFollowsTheRiskLevelUntilTheTcaIsClose() {
+        assertThat(service.rescreenInterval(RiskLevel.CRITICAL, Duration.ofHours(10))).isEqualTo(Duration.ofMinutes(15));
+        assertThat(service.rescreenInterval(RiskLevel.LOW, Duration.ofDays(7))).isEqualTo(Duration.ofMinutes(1440));
+        assertThat(service.rescreenInterval(RiskLevel.LOW, Duration.ofHours(2))).isEqualTo(Duration.ofMinutes(30));
+        assertThat(service.rescreenInterval(RiskLevel.HIGH, Duration.ofMinutes(100))).isEqualTo(Duration.ofMinutes(25));
+        assertThat(service.rescreenInterval(RiskLevel.MEDIUM, Duration.ofMinutes(20))).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    private Satellite stored(int noradId) {
+        Satellite satellite = new Satellite();
+        satellite.setNoradId(noradId);
+        TleData tle = new TleData();
+        tle.setSatellite(satellite);
+        when(satelliteRepository.findByNoradId(noradId)).thenReturn(Optional.of(satellite));
+        when(tleDataRepository.findBySatellite(satellite)).thenReturn(Optional.of(tle));
+        return satellite;
+    }
+
+    private interface Screening {
+        ConjunctionResult screen(ScreeningStats stats);
+    }
+
+    private void screening(Screening screening) {
+        Answer<ConjunctionResult> answer = invocation -> screening.screen(invocation.getArgument(6));
+        when(screeningService.screenPairInWindow(any(), any(), eq(PRIMARY), eq(SECONDARY), any(), any(),
+                any(ScreeningStats.class))).thenAnswer(answer);
+    }
+
+    private static ConjunctionResult result(LocalDateTime resultTca) {
+        return new ConjunctionResult(PRIMARY, SECONDARY, resultTca, 1_200.0, 9_500.0, 410.0, 412.0);
+    }
+
+    private double rescreens(Outcome outcome) {
+        return registry.get("orbit.watchlist.rescreens").tag("outcome", outcome.name().toLowerCase()).counter().count();
+    }
+}
@@ -0,0 +1,190 @@
+package com.orbit.service;
+
+import com.orbit.config.SpaceTrackConfig;
+import com.orbit.config.TleHistoryConfig;
+import com.orbit.dto.SpaceTrackTleDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpaceTrackCatalogFetcherTest {
+
+    private static final Pattern NORAD_PREDICATE = Pattern.compile("/NORAD_CAT_ID/([^/]+)");
+    private static final int RESPONSE_DELAY_MS = 150;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Map<String, Object>> catalog = syntheticCatalog(2000);
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private SpaceTrackConfig config;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile String failingRange;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.createContext("/ajaxauth/login", exchange -> {
+            exchange.getResponseHeaders().add("Set-Cookie", "chocolatechip=session; path=/");
+            respond(exchange, 200, "\"\"".getBytes(StandardCharsets.UTF_8));
+        });
+        server.createContext("/basicspacedata/query/class/gp/", this::serveGp);
+        server.start();
+
+        config = new SpaceTrackConfig();
+        config.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        config.setUsername("user");
+        config.setPassword("secret");
+        config.getIngest().setCompression(false);
+        config.getIngest().setChunkSize(100);
+        config.getRetry().setMaxAttempts(1);
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void partitionedDownloadMatchesSingleRequest() throws Exception {
+        List<SpaceTrackTleDto> single = new ArrayList<>();
+        SpaceTrackCatalogFetcher.Result singleResult = newFetcher().fetch("EPOCH/%3Enow-30", single::addAll);
+
+        config.getIngest().setPartitionBoundaries(List.of(20000, 40000, 50000, 60000));
+        config.getIngest().setDownloadConcurrency(4);
+        List<SpaceTrackTleDto> partitioned = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        SpaceTrackCatalogFetcher.Result partitionedResult = newFetcher().fetch("EPOCH/%3Enow-30", chunk -> {
+            assertThat(Thread.currentThread()).isSameAs(caller);
+            partitioned.addAll(chunk);
+        });
+
+        assertThat(singleResult.requests()).isEqualTo(1);
+        assertThat(partitionedResult.requests()).isEqualTo(5);
+        assertThat(partitionedResult.recordsRead()).isEqualTo(singleResult.recordsRead()).isEqualTo(catalog.size());
+        assertThat(single).hasSize(catalog.size() / 2);
+
+        partitioned.sort(Comparator.comparing(SpaceTrackTleDto::getNoradCatId));
+        assertThat(partitioned).isEqualTo(single);
+        assertThat(maxInFlight.get()).isGreaterThan(1);
+    }
+
+    @Test
+    void failedRangeFailsTheWholeFetch() {
+        config.getIngest().setPartitionBoundaries(List.of(20000, 40000));
+        failingRange = "20001--40000";
+
+        assertThatThrownBy(() -> newFetcher().fetch("EPOCH/%3Enow-30", chunk -> { }))
+                .hasMessageContaining("400");
+    }
+
+    @Test
+    void boundariesCoverEveryNoradId() {
+        assertThat(SpaceTrackCatalogFetcher.noradRanges(List.of())).isEmpty();
+        assertThat(SpaceTrackCatalogFetcher.noradRanges(List.of(40000, 20000, 20000)))
+                .containsExactly("0--20000", "20001--40000", "%3E40000");
+    }
+
+    private SpaceTrackCatalogFetcher newFetcher() {
+        TleHistoryConfig historyConfig = new TleHistoryConfig();
+        historyConfig.setEnabled(false);
+        return new SpaceTrackCatalogFetcher(config, new SpaceTrackClient(config), historyConfig);
+    }
+
+    private void serveGp(HttpExchange exchange) throws IOException {
+        int now = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(now, Math::max);
+        try {
+            String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8);
+            Matcher matcher = NORAD_PREDICATE.matcher(path);
+            String range = matcher.find() ? matcher.group(1) : null;
+            if (range != null && range.equals(failingRange)) {
+                respond(exchange, 400, new byte[0]);
+                return;
+            }
+
+            IntPredicate selected = noradFilter(range);
+            List<Map<String, Object>> records = catalog.stream()
+                    .filter(record -> selected.test((Integer) record.get("NORAD_CAT_ID")))
+                    .toList();
+            Thread.sleep(RESPONSE_DELAY_MS);
+            respond(exchange, 200, objectMapper.writeValueAsBytes(records));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static IntPredicate noradFilter(String range) {
+        if (range == null) {
+            return id -> true;
+        }
+        if (range.startsWith(">")) {
+            int lower = Integer.parseInt(range.substring(1));
+            return id -> id > lower;
+        }
+        String[] bounds = range.split("--");
+        int lower = Integer.parseInt(bounds[0]);
+        int upper = Integer.parseInt(bounds[1]);
+        return id -> id >= lower && id <= upper;
+    }
+
+    /** Two element sets per object, ordered by NORAD ID then epoch like Space-Track's response. */
+    private static List<Map<String, Object>> syntheticCatalog(int objects) {
+        Random random = new Random(42);
+        List<Map<String, Object>> records = new ArrayList<>();
+        int noradId = 0;
+        for (int i = 0; i < objects / 2; i++) {
+            noradId += 1 + random.nextInt(120);
+            for (int day = 1; day <= 2; day++) {
+                Map<String, Object> record = new LinkedHashMap<>();
+                record.put("NORAD_CAT_ID", noradId);
+                record.put("OBJECT_NAME", "OBJECT " + noradId);
+                record.put("EPOCH", String.format("2026-10-%02dT%02d:00:00.000000", day, random.nextInt(24)));
+                record.put("MEAN_MOTION", 15.0 + random.nextDouble());
+                record.put("ELEMENT_SET_NO", 990 + day);
+                record.put("TLE_LINE1", "1 " + noradId + " line1 " + day);
+                record.put("TLE_LINE2", "2 " + noradId + " line2 " + day);
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.orbit.service;
+
+import com.orbit.config.SpaceTrackConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpaceTrackClientTest {
+
+    private HttpServer server;
+    private SpaceTrackConfig config;
+
+    private final AtomicInteger logins = new AtomicInteger();
+    private final Queue<String> queries = new ConcurrentLinkedQueue<>();
+    /** Status codes returned, in order, before the stub starts answering 200. */
+    private final Queue<Integer> queuedFailures = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ajaxauth/login", exchange -> {
+            int session = logins.incrementAndGet();
+            exchange.getResponseHeaders().add("Set-Cookie", "chocolatechip=session-" + session + "; path=/");
+            respond(exchange, 200, "\"\"");
+        });
+        server.createContext("/basicspacedata/query/class/gp/", exchange -> {
+            queries.add(exchange.getRequestURI().getRawPath());
+            String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+            Integer failure = queuedFailures.poll();
+            if (failure != null) {
+                respond(exchange, failure, "");
+            } else if (cookie == null || !cookie.equals("chocolatechip=session-" + logins.get())) {
+                respond(exchange, 401, "");
+            } else {
+                respond(exchange, 200, "[]");
+            }
+        });
+        server.start();
+
+        config = new SpaceTrackConfig();
+        config.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        config.setUsername("user");
+        config.setPassword("secret");
+        config.getIngest().setCompression(false);
+        config.getRetry().setInitialBackoffMs(1);
+        config.getRetry().setMaxBackoffMs(5);
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void reusesOneSessionAcrossQueries() throws Exception {
+        SpaceTrackClient client = new SpaceTrackClient(config);
+
+        for (int i = 0; i < 3; i++) {
+            client.queryGp("EPOCH/%3Enow-30/format/json", body -> body.readAllBytes().length);
+        }
+
+        assertThat(logins.get()).isEqualTo(1);
+        assertThat(queries).hasSize(3);
+    }
+
+    @Test
+    void logsInAgainWhenSessionIsRejected() throws Exception {
+        SpaceTrackClient client = new SpaceTrackClient(config);
+        client.queryGp("EPOCH/%3Enow-30/format/json", body -> null);
+
+        // Simulate a server-side session expiry: the next query carries a stale cookie.
+        logins.incrementAndGet();
+        SpaceTrackClient.Response<Integer> response =
+                client.queryGp("EPOCH/%3Enow-30/format/json", body -> body.readAllBytes().length);
+
+        assertThat(response.body()).isEqualTo(2);
+        assertThat(logins.get()).isEqualTo(3);
+    }
+
+    @Test
+    void retriesTransientFailures() throws Exception {
+        queuedFailures.addAll(List.of(503, 429));
+        SpaceTrackClient client = new SpaceTrackClient(config);
+
+        SpaceTrackClient.Response<Integer> response =
+                client.queryGp("EPOCH/%3Enow-30/format/json", body -> body.readAllBytes().length);
+
+        assertThat(response.body()).isEqualTo(2);
+        assertThat(response.bytesTransferred()).isEqualTo(2);
+        assertThat(queries).hasSize(3);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        queuedFailures.addAll(List.of(500, 500, 500));
+        SpaceTrackClient client = new SpaceTrackClient(config);
+
+        assertThatThrownBy(() -> client.queryGp("EPOCH/%3Enow-30/format/json", body -> null))
+                .hasMessageContaining("500");
+        assertThat(queries).hasSize(3);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        queuedFailures.add(400);
+        SpaceTrackClient client = new SpaceTrackClient(config);
+
+        assertThatThrownBy(() -> client.queryGp("EPOCH/%3Enow-30/format/json", body -> null))
+                .hasMessageContaining("400");
+        assertThat(queries).hasSize(1);
+    }
+
+    @Test
+    void foldsNoradIdsIntoCommaListQueries() throws Exception {
+        config.setMaxIdsPerQuery(2);
+        SpaceTrackClient client = new SpaceTrackClient(config);
+
+        List<SpaceTrackClient.Response<Object>> responses =
+                client.queryGpByNoradIds(List.of(43013, 25544, 48274, 25544), body -> null);
+
+        assertThat(responses).hasSize(2);
+        assertThat(queries).containsExactly(
+                "/basicspacedata/query/class/gp/NORAD_CAT_ID/25544,43013/orderby/NORAD_CAT_ID/format/json",
+                "/basicspacedata/query/class/gp/NORAD_CAT_ID/48274/orderby/NORAD_CAT_ID/format/json");
+        assertThat(logins.get()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenBucketLimitsBurstToCapacity() {
+        TokenBucket bucket = new TokenBucket(5, Duration.ofHours(1));
+
+        long granted = IntStream.range(0, 10).filter(i -> bucket.tryAcquire()).count();
+
+        assertThat(granted).isEqualTo(5);
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
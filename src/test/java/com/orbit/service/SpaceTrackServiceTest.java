@@ -0,0 +1,233 @@
+package com.orbit.service;
+
+import com.orbit.config.SpaceTrackConfig;
+import com.orbit.config.TleHistoryConfig;
+import com.orbit.dto.IngestReport;
+import com.orbit.dto.SpaceTrackTleDto;
+import com.orbit.entity.IngestWatermark;
+import com.orbit.repository.IngestWatermarkRepository;
+import com.orbit.repository.TleBulkUpsertRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SpaceTrackServiceTest {
+
+    private static final DateTimeFormatter GP_EPOCH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+    private static final Pattern GP_ID_PREDICATE = Pattern.compile("/GP_ID/>(\\d+)");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+    private final List<Map<String, Object>> catalog = new ArrayList<>();
+    private final Queue<String> queries = new ConcurrentLinkedQueue<>();
+    private final List<SpaceTrackTleDto> upserted = new ArrayList<>();
+
+    private HttpServer server;
+    private SpaceTrackConfig config;
+    private IngestWatermarkRepository watermarkRepository;
+    private TleBulkUpsertRepository bulkUpsertRepository;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ajaxauth/login", exchange -> {
+            exchange.getResponseHeaders().add("Set-Cookie", "chocolatechip=session; path=/");
+            respond(exchange, "\"\"".getBytes(StandardCharsets.UTF_8));
+        });
+        server.createContext("/basicspacedata/query/class/gp/", this::serveGp);
+        server.start();
+
+        config = new SpaceTrackConfig();
+        config.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        config.setUsername("user");
+        config.setPassword("secret");
+        config.getIngest().setCompression(false);
+        config.getRetry().setMaxAttempts(1);
+
+        watermarkRepository = mock(IngestWatermarkRepository.class);
+        bulkUpsertRepository = mock(TleBulkUpsertRepository.class);
+        when(bulkUpsertRepository.upsert(any())).thenAnswer(invocation -> {
+            List<SpaceTrackTleDto> records = invocation.getArgument(0);
+            upserted.addAll(records);
+            return new TleBulkUpsertRepository.UpsertResult(0, records.size(), 0, 0, 0, new int[0]);
+        });
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void deltaFetchPicksUpLatePublishedOlderEpoch() throws Exception {
+        // Already ingested: GP_IDs up to 500, newest epoch an hour ago.
+        addRecord(490, 25544, now.minusHours(1));
+        addRecord(500, 43013, now.minusHours(2));
+        // Published after the last run, with an epoch days older than anything stored.
+        addRecord(501, 48274, now.minusDays(3));
+        addRecord(502, 25544, now.minusMinutes(10));
+        storedWatermark(500L);
+
+        IngestReport report = newService().fetchAndSaveLatestTles(IngestReport.Mode.DELTA);
+
+        assertThat(report.mode()).isEqualTo(IngestReport.Mode.DELTA);
+        assertThat(report.gpIdWatermark()).isEqualTo(500L);
+        assertThat(queries).singleElement().asString().contains("/GP_ID/>500/");
+        assertThat(upserted).extracting(SpaceTrackTleDto::getNoradCatId).containsExactlyInAnyOrder(25544, 48274);
+        assertThat(upserted).filteredOn(dto -> dto.getNoradCatId() == 48274)
+                .extracting(SpaceTrackTleDto::getGpId).containsExactly(501L);
+        assertThat(savedWatermark().getGpId()).isEqualTo(502L);
+    }
+
+    @Test
+    void deltaWithoutWatermarkFallsBackToFullAndStoresOne() throws Exception {
+        addRecord(7, 25544, now.minusDays(1));
+        addRecord(9, 43013, now.minusDays(2));
+        storedWatermark(null);
+
+        IngestReport report = newService().fetchAndSaveLatestTles(IngestReport.Mode.DELTA);
+
+        assertThat(report.mode()).isEqualTo(IngestReport.Mode.FULL);
+        assertThat(queries).singleElement().asString().doesNotContain("GP_ID");
+        assertThat(upserted).hasSize(2);
+        assertThat(savedWatermark().getGpId()).isEqualTo(9L);
+    }
+
+    @Test
+    void watermarkNeverMovesBack() throws Exception {
+        addRecord(300, 25544, now.minusDays(1));
+        storedWatermark(500L);
+
+        newService().fetchAndSaveLatestTles(IngestReport.Mode.FULL);
+
+        assertThat(upserted).hasSize(1);
+        verify(watermarkRepository, never()).save(any(IngestWatermark.class));
+    }
+
+    @Test
+    void perObjectCountsAreTakenOverTheWholeRun() throws Exception {
+        // Every epoch is kept and each chunk holds one record, so 25544's two sets land in different chunks.
+        addRecord(1, 25544, now.minusDays(2));
+        addRecord(2, 25544, now.minusDays(1));
+        addRecord(3, 43013, now.minusDays(1));
+        addRecord(4, 48274, now.minusDays(1));
+        storedWatermark(null);
+        config.getIngest().setChunkSize(1);
+        Set<Integer> stored = new HashSet<>(Set.of(48274));
+        when(bulkUpsertRepository.upsert(any())).thenAnswer(invocation -> {
+            List<SpaceTrackTleDto> records = invocation.getArgument(0);
+            int noradId = records.get(0).getNoradCatId();
+            if (noradId == 48274) {
+                return new TleBulkUpsertRepository.UpsertResult(0, 0, 0, 1, 1, new int[0]);
+            }
+            boolean created = stored.add(noradId);
+            return new TleBulkUpsertRepository.UpsertResult(created ? 1 : 0, created ? 1 : 0, created ? 0 : 1, 0, 1,
+                    new int[]{noradId});
+        });
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+
+        IngestReport report = newService(true, publisher).fetchAndSaveLatestTles(IngestReport.Mode.FULL);
+
+        assertThat(report.recordsRead()).isEqualTo(4);
+        assertThat(report.tlesCreated()).isEqualTo(2);
+        assertThat(report.tlesUpdated()).isZero();
+        assertThat(report.tlesUnchanged()).isEqualTo(1);
+        assertThat(report.historyAppended()).isEqualTo(4);
+        ArgumentCaptor<TleIngestCompletedEvent> event = ArgumentCaptor.forClass(TleIngestCompletedEvent.class);
+        verify(publisher).publishEvent(event.capture());
+        assertThat(event.getValue().changedNoradIds()).containsExactly(25544, 43013);
+    }
+
+    private SpaceTrackService newService() {
+        return newService(false, mock(ApplicationEventPublisher.class));
+    }
+
+    private SpaceTrackService newService(boolean keepHistory, ApplicationEventPublisher publisher) {
+        TleHistoryConfig historyConfig = new TleHistoryConfig();
+        historyConfig.setEnabled(keepHistory);
+        SpaceTrackClient client = new SpaceTrackClient(config);
+        return new SpaceTrackService(config, client, new SpaceTrackCatalogFetcher(config, client, historyConfig),
+                watermarkRepository, bulkUpsertRepository, mock(EphemerisSegmentStore.class), publisher,
+                historyConfig);
+    }
+
+    private void storedWatermark(Long gpId) {
+        if (gpId == null) {
+            when(watermarkRepository.findById(IngestWatermark.SPACETRACK_GP)).thenReturn(Optional.empty());
+            return;
+        }
+        IngestWatermark watermark = new IngestWatermark(IngestWatermark.SPACETRACK_GP);
+        watermark.setGpId(gpId);
+        watermark.setUpdatedAt(now);
+        when(watermarkRepository.findById(IngestWatermark.SPACETRACK_GP)).thenReturn(Optional.of(watermark));
+    }
+
+    private IngestWatermark savedWatermark() {
+        ArgumentCaptor<IngestWatermark> captor = ArgumentCaptor.forClass(IngestWatermark.class);
+        verify(watermarkRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private void addRecord(long gpId, int noradId, LocalDateTime epoch) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("GP_ID", gpId);
+        record.put("NORAD_CAT_ID", noradId);
+        record.put("OBJECT_NAME", "OBJECT " + noradId);
+        record.put("EPOCH", epoch.format(GP_EPOCH_FORMAT));
+        record.put("TLE_LINE1", "1 " + noradId + " line1 " + gpId);
+        record.put("TLE_LINE2", "2 " + noradId + " line2 " + gpId);
+        catalog.add(record);
+    }
+
+    /** Honours GP_ID/>n; the EPOCH/>now-30 bound never excludes the records used here. */
+    private void serveGp(HttpExchange exchange) throws IOException {
+        String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8);
+        queries.add(path);
+        Matcher matcher = GP_ID_PREDICATE.matcher(path);
+        long above = matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+        List<Map<String, Object>> records = catalog.stream()
+                .filter(record -> (Long) record.get("GP_ID") > above)
+                .sorted((a, b) -> Integer.compare((Integer) a.get("NORAD_CAT_ID"), (Integer) b.get("NORAD_CAT_ID")))
+                .toList();
+        respond(exchange, objectMapper.writeValueAsBytes(records));
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.orbit.service;
+
+import com.orbit.config.TleHistoryConfig;
+import com.orbit.dto.HistoricalTle;
+import com.orbit.repository.TleHistoryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TleHistoryServiceTest {
+
+    private final TleHistoryRepository repository = mock(TleHistoryRepository.class);
+    private final TleHistoryConfig config = new TleHistoryConfig();
+    private final TleHistoryService service = new TleHistoryService(repository, config);
+
+    private final LocalDateTime asOf = LocalDateTime.of(2026, 10, 1, 0, 0);
+
+    @Test
+    void catalogAsOfUsesTheConfiguredLookback() {
+        config.setLookbackDays(10);
+        HistoricalTle tle = new HistoricalTle(25544, asOf.minusHours(3), "line1", "line2");
+        when(repository.findCatalogAsOf(asOf, 10)).thenReturn(List.of(tle));
+
+        assertThat(service.catalogAsOf(asOf)).containsExactly(tle);
+        verify(repository).findCatalogAsOf(asOf, 10);
+    }
+
+    @Test
+    void historyRejectsAnInvertedWindow() {
+        assertThatThrownBy(() -> service.history(25544, asOf, asOf.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void disabledHistoryIsNotQueried() {
+        config.setEnabled(false);
+
+        assertThatThrownBy(() -> service.catalogAsOf(asOf)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> service.history(25544, asOf.minusDays(1), asOf))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(repository);
+    }
+}
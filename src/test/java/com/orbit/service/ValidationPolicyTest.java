@@ -0,0 +1,32 @@
+package com.orbit.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationPolicyTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AnalysisMetrics metrics = new AnalysisMetrics(registry);
+    private final ValidationPolicy validationPolicy = new ValidationPolicy(registry, metrics);
+
+    @Test
+    void anomaliesOfUnrecordedScreeningAreNotCounted() {
+        ValidationPolicy.Tally tally = new ValidationPolicy.Tally();
+
+        metrics.withoutRecording(() -> {
+            validationPolicy.recordStaleTle(25544, 45, tally);
+            validationPolicy.recordMissingEpoch(43013);
+            return null;
+        });
+        validationPolicy.recordStaleTle(48274, 60, tally);
+
+        assertThat(anomalies("stale_tle")).isEqualTo(1);
+        assertThat(anomalies("missing_epoch")).isZero();
+    }
+
+    private double anomalies(String type) {
+        return registry.get("orbit.validation.anomalies").tag("type", type).counter().count();
+    }
+}